@@ -1,6 +1,6 @@
 import axios from 'axios';
 import { toast } from 'sonner';
-import type { Transaction, PortfolioSnapshot, Asset, DashboardSummary, FireProfile, FireProjection, AuthUser } from './types';
+import type { Transaction, TransactionQuery, TransactionPage, PortfolioSnapshot, SnapshotQuery, SnapshotPage, SnapshotImportReport, PortfolioSeries, AlignedPortfolioSeries, PortfolioReturns, PortfolioRisk, EntryType, Asset, DashboardSummary, FireProfile, FireProjection, FireProjectionComparison, AuthUser, SyncChanges } from './types';
 
 const TOKEN_KEY = 'zesfin_token';
 
@@ -27,6 +27,44 @@ api.interceptors.response.use(
   }
 );
 
+// Delta sync: an in-memory copy of the user's snapshots, transactions and
+// assets, brought up to date with only the rows changed since its version
+interface Replica {
+  token: string | null;
+  version: number;
+  snapshots: Map<number, PortfolioSnapshot>;
+  transactions: Map<number, Transaction>;
+  assets: Map<number, Asset>;
+}
+
+let replica: Replica | null = null;
+
+export const fetchChanges = (since?: number) =>
+  api.get<SyncChanges>('/sync', { params: { since } }).then(r => r.data);
+
+const applyChanges = <T extends { id?: number }>(rows: Map<number, T>, changed: T[], deleted: number[]) => {
+  deleted.forEach(id => rows.delete(id));
+  changed.forEach(row => rows.set(row.id!, row));
+};
+
+const syncReplica = async (): Promise<Replica> => {
+  const token = localStorage.getItem(TOKEN_KEY);
+  const current = replica?.token === token ? replica : null;
+  const changes = await fetchChanges(current?.version);
+  // A slower, older response must not roll back a newer replica
+  if (replica && replica.token === token && changes.version < replica.version) return replica;
+
+  const next: Replica = changes.full || !current
+    ? { token, version: 0, snapshots: new Map(), transactions: new Map(), assets: new Map() }
+    : current;
+  applyChanges(next.snapshots, changes.snapshots, changes.deleted.snapshots);
+  applyChanges(next.transactions, changes.transactions, changes.deleted.transactions);
+  applyChanges(next.assets, changes.assets, changes.deleted.assets);
+  next.version = changes.version;
+  replica = next;
+  return next;
+};
+
 // Auth
 export const fetchCurrentUser = () =>
   api.get<AuthUser>('/auth/me').then(r => r.data);
@@ -37,7 +75,13 @@ export const fetchDashboardSummary = () =>
 
 // Transactions
 export const fetchTransactions = () =>
-  api.get<Transaction[]>('/transactions').then(r => r.data);
+  syncReplica().then(r => [...r.transactions.values()].sort((a, b) => b.date.localeCompare(a.date)));
+
+export const fetchTransactionPage = (query: TransactionQuery) =>
+  api.get<Transaction[]>('/transactions', { params: query }).then(r => ({
+    items: r.data,
+    nextCursor: r.headers['x-next-cursor'] ?? null,
+  }) as TransactionPage);
 
 export const createTransaction = (tx: Transaction) =>
   api.post<Transaction>('/transactions', tx).then(r => r.data);
@@ -47,7 +91,34 @@ export const deleteTransaction = (id: number) =>
 
 // Portfolio Snapshots
 export const fetchSnapshots = () =>
-  api.get<PortfolioSnapshot[]>('/portfolio/snapshots').then(r => r.data);
+  syncReplica().then(r => [...r.snapshots.values()].sort((a, b) => a.date.localeCompare(b.date)));
+
+export const fetchSnapshotPage = (query: SnapshotQuery) =>
+  api.get<PortfolioSnapshot[]>('/portfolio/snapshots', { params: query }).then(r => ({
+    items: r.data,
+    nextCursor: r.headers['x-next-cursor'] ?? null,
+  }) as SnapshotPage);
+
+export const fetchPortfolioSeries = (points: number, entryType?: EntryType[], from?: string, to?: string) =>
+  api.get<PortfolioSeries>('/portfolio/series', {
+    params: { points, entryType: entryType?.join(','), from, to },
+  }).then(r => r.data);
+
+export const fetchAlignedSeries = (
+  interval: AlignedPortfolioSeries['interval'] = 'MONTHLY',
+  fill: AlignedPortfolioSeries['fill'] = 'CARRY_FORWARD',
+  from?: string,
+  to?: string,
+) =>
+  api.get<AlignedPortfolioSeries>('/portfolio/series/aligned', {
+    params: { interval, fill, from, to },
+  }).then(r => r.data);
+
+export const fetchPortfolioReturns = (from?: string, to?: string) =>
+  api.get<PortfolioReturns>('/portfolio/returns', { params: { from, to } }).then(r => r.data);
+
+export const fetchPortfolioRisk = (from?: string, to?: string, riskFreeRate = 0) =>
+  api.get<PortfolioRisk>('/portfolio/risk', { params: { from, to, riskFreeRate } }).then(r => r.data);
 
 export const fetchLatestSnapshot = () =>
   api.get<PortfolioSnapshot>('/portfolio/snapshots/latest').then(r => r.data);
@@ -88,12 +159,31 @@ export const updateSnapshot = async (id: number, snapshot: PortfolioSnapshot) =>
   }
 };
 
+export const upsertSnapshot = async (snapshot: PortfolioSnapshot) => {
+  const { date, entryType, value, monthlyContribution, fixedIncomePercentage } = snapshot;
+  try {
+    const response = await api.put<PortfolioSnapshot>(`/portfolio/snapshots/${date}/${entryType}`,
+      { value, monthlyContribution, fixedIncomePercentage });
+    toast.success('Entry saved successfully');
+    return response.data;
+  } catch (error) {
+    toast.error('Failed to save entry');
+    throw error;
+  }
+};
+
 export const deleteSnapshot = (id: number) =>
   api.delete(`/portfolio/snapshots/${id}`);
 
+export const importSnapshots = (file: File, onDuplicate: 'SKIP' | 'OVERWRITE' = 'SKIP') =>
+  api.post<SnapshotImportReport>('/portfolio/snapshots/import', file, {
+    params: { onDuplicate },
+    headers: { 'Content-Type': file.name.endsWith('.ndjson') ? 'application/x-ndjson' : 'text/csv' },
+  }).then(r => r.data);
+
 // Assets
 export const fetchAssets = () =>
-  api.get<Asset[]>('/assets').then(r => r.data);
+  syncReplica().then(r => [...r.assets.values()].sort((a, b) => a.id! - b.id!));
 
 export const createAsset = (asset: Asset) =>
   api.post<Asset>('/assets', asset).then(r => r.data);
@@ -117,5 +207,8 @@ export const updateFireProfile = (id: number, profile: FireProfile) =>
 export const fetchFireProjection = (profileId: number) =>
   api.get<FireProjection>(`/fire/projection/${profileId}`).then(r => r.data);
 
+export const fetchFireProjections = () =>
+  api.get<FireProjectionComparison>('/fire/projections').then(r => r.data);
+
 export const simulateFireProjection = (profile: FireProfile) =>
   api.post<FireProjection>('/fire/projection/simulate', profile).then(r => r.data);
@@ -1,7 +1,7 @@
 import { useEffect, useState } from 'react'
 import { Plus, Trash2, ArrowUpCircle, ArrowDownCircle, X } from 'lucide-react'
 import { motion, AnimatePresence } from 'framer-motion'
-import { fetchTransactions, createTransaction, deleteTransaction } from '../api'
+import { fetchTransactionPage, createTransaction, deleteTransaction } from '../api'
 import type { Transaction } from '../types'
 import {
   Select,
@@ -32,9 +32,13 @@ const CATEGORIES = [
   'Other',
 ]
 
+const PAGE_SIZE = 50
+
 export default function Transactions() {
   const [transactions, setTransactions] = useState<Transaction[]>([])
   const [loading, setLoading] = useState(true)
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [showModal, setShowModal] = useState(false)
   const [form, setForm] = useState<Transaction>({
     amount: 0,
@@ -49,12 +53,27 @@ export default function Transactions() {
 
   const load = () => {
     setLoading(true)
-    fetchTransactions()
-      .then(setTransactions)
+    fetchTransactionPage({ limit: PAGE_SIZE })
+      .then((page) => {
+        setTransactions(page.items)
+        setNextCursor(page.nextCursor)
+      })
       .catch(console.error)
       .finally(() => setLoading(false))
   }
 
+  const loadMore = () => {
+    if (!nextCursor) return
+    setLoadingMore(true)
+    fetchTransactionPage({ limit: PAGE_SIZE, cursor: nextCursor })
+      .then((page) => {
+        setTransactions((loaded) => [...loaded, ...page.items])
+        setNextCursor(page.nextCursor)
+      })
+      .catch(console.error)
+      .finally(() => setLoadingMore(false))
+  }
+
   useEffect(load, [])
 
   const handleSubmit = async (e: React.FormEvent) => {
@@ -179,6 +198,17 @@ export default function Transactions() {
             </tbody>
           </table>
         </div>
+        {nextCursor && (
+          <div className="flex justify-center border-t border-white/[0.06] px-5 py-3">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="px-4 py-1.5 text-sm text-slate-300 hover:text-white hover:bg-white/[0.06] rounded-xl transition-all duration-150 disabled:opacity-50"
+            >
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
 
       {/* Modal */}
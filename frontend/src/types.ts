@@ -17,6 +17,22 @@ export interface Transaction {
   nextExecutionDate?: string;
 }
 
+export interface TransactionQuery {
+  from?: string;
+  to?: string;
+  type?: Transaction['type'];
+  category?: string;
+  minAmount?: number;
+  maxAmount?: number;
+  cursor?: string;
+  limit?: number;
+}
+
+export interface TransactionPage {
+  items: Transaction[];
+  nextCursor: string | null;
+}
+
 export type EntryType = 'TOTAL_INVESTED' | 'PORTFOLIO_VALUE' | 'NET_WORTH' | 'LIQUID_ASSETS';
 
 export interface PortfolioSnapshot {
@@ -28,6 +44,81 @@ export interface PortfolioSnapshot {
   fixedIncomePercentage?: number;
 }
 
+export interface SnapshotQuery {
+  from?: string;
+  to?: string;
+  entryType?: EntryType;
+  cursor?: string;
+  limit?: number;
+}
+
+export interface SnapshotPage {
+  items: PortfolioSnapshot[];
+  nextCursor: string | null;
+}
+
+export interface EntryTypeSeries {
+  entryType: EntryType;
+  totalPoints: number;
+  dates: string[];
+  values: number[];
+}
+
+export interface PortfolioSeries {
+  points: number;
+  series: EntryTypeSeries[];
+}
+
+export interface AlignedPortfolioSeries {
+  interval: 'DAILY' | 'WEEKLY' | 'MONTHLY';
+  fill: 'CARRY_FORWARD' | 'LINEAR';
+  dates: string[];
+  series: Record<EntryType, (number | null)[]>;
+  yield: (number | null)[];
+}
+
+export interface SnapshotImportReport {
+  rowsRead: number;
+  inserted: number;
+  updated: number;
+  skipped: number;
+  rejected: number;
+  errors: { line: number; message: string }[];
+  errorsTruncated: boolean;
+  durationMillis: number;
+}
+
+export interface PortfolioReturns {
+  startDate: string | null;
+  endDate: string | null;
+  periods: number;
+  startValue: number | null;
+  endValue: number | null;
+  netContributions: number | null;
+  gain: number | null;
+  timeWeightedReturn: number | null;
+  annualizedTimeWeightedReturn: number | null;
+  moneyWeightedReturn: number | null;
+  moneyWeightedMethod: 'NEWTON' | 'BRENT' | null;
+}
+
+export interface PortfolioRisk {
+  startDate: string | null;
+  endDate: string | null;
+  periods: number;
+  maxDrawdown: number | null;
+  drawdownPeakDate: string | null;
+  drawdownTroughDate: string | null;
+  drawdownRecoveryDate: string | null;
+  drawdownDays: number | null;
+  recoveryDays: number | null;
+  longestDrawdownDays: number | null;
+  currentDrawdown: number | null;
+  annualizedVolatility: number | null;
+  riskFreeRate: number;
+  sharpeRatio: number | null;
+}
+
 export interface Asset {
   id?: number;
   name: string;
@@ -40,6 +131,15 @@ export interface Asset {
   unrealizedGain: number;
 }
 
+export interface SyncChanges {
+  version: number;
+  full: boolean;
+  snapshots: PortfolioSnapshot[];
+  transactions: Transaction[];
+  assets: Asset[];
+  deleted: { snapshots: number[]; transactions: number[]; assets: number[] };
+}
+
 export interface DashboardSummary {
   totalPatrimonio: number;
   totalInvested: number;
@@ -83,3 +183,22 @@ export interface FireProjection {
   yearlyProjections: YearlyProjection[];
   fireAchievable: boolean;
 }
+
+export interface FireProfileSeries {
+  profileId: number;
+  currentAge: number;
+  targetRetirementAge: number | null;
+  fireAge: number | null;
+  fireYear: number | null;
+  yearsToFire: number | null;
+  fireAchievable: boolean;
+  fireNumber: number;
+  projectedSavingsAtFire: number;
+  totalSavings: (number | null)[];
+  fireNumbers: (number | null)[];
+}
+
+export interface FireProjectionComparison {
+  years: number[];
+  profiles: FireProfileSeries[];
+}
@@ -0,0 +1,59 @@
+package ces107.zesFin.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and Vector API {@link PathStepper} implementations on
+ * one simulated year for 10k, 100k and 1M paths.
+ *
+ * Run with {@code ./mvnw -Pbenchmark,vector test-compile exec:exec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class PathStepperBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int paths;
+
+    @Param({"scalar", "vector"})
+    private String engine;
+
+    private PathStepper stepper;
+    private double[] savings;
+    private double[] shocks;
+
+    @Setup
+    public void setUp() {
+        stepper = "vector".equals(engine) ? new VectorPathStepper() : new ScalarPathStepper();
+        savings = new double[paths];
+        shocks = new double[paths];
+        final SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < paths; i++) {
+            shocks[i] = random.nextGaussian();
+        }
+    }
+
+    /**
+     * Each lane keeps its shock, so repeated steps would compound it until the
+     * balance underflows to subnormals or overflows; start every call from the
+     * same balances instead.
+     */
+    @Setup(Level.Invocation)
+    public void resetSavings() {
+        Arrays.fill(savings, 50_000);
+    }
+
+    @Benchmark
+    public double[] step() {
+        stepper.step(savings, shocks, paths, 1.0, 0.15, 0.0);
+        return savings;
+    }
+}
@@ -1,25 +1,73 @@
 package ces107.zesFin.controller;
 
+import ces107.zesFin.dto.BacktestResult;
+import ces107.zesFin.dto.DecumulationResult;
+import ces107.zesFin.dto.EfficientFrontier;
 import ces107.zesFin.dto.FireProjection;
+import ces107.zesFin.dto.FireProjectionComparison;
+import ces107.zesFin.dto.FireSweepRequest;
+import ces107.zesFin.dto.FireSweepSlice;
+import ces107.zesFin.dto.GoalSeekResult;
+import ces107.zesFin.dto.MonteCarloProjection;
+import ces107.zesFin.dto.MonthlyFireProjection;
+import ces107.zesFin.dto.MultiAssetRequest;
+import ces107.zesFin.dto.MultiAssetSimulation;
+import ces107.zesFin.dto.SensitivityAnalysis;
+import ces107.zesFin.model.Asset;
 import ces107.zesFin.model.FireProfile;
 import ces107.zesFin.model.User;
+import ces107.zesFin.service.AssetService;
+import ces107.zesFin.service.BacktestService;
+import ces107.zesFin.service.DecumulationService;
+import ces107.zesFin.service.EfficientFrontierService;
 import ces107.zesFin.service.FireCalculatorService;
+import ces107.zesFin.service.FireComputeExecutor;
+import ces107.zesFin.service.FireParameter;
 import ces107.zesFin.service.FireProfileService;
+import ces107.zesFin.service.FireProjectionService;
+import ces107.zesFin.service.FireSweepService;
+import ces107.zesFin.service.GoalSeekService;
+import ces107.zesFin.service.MonteCarloService;
+import ces107.zesFin.service.MultiAssetMonteCarloService;
+import ces107.zesFin.service.SensitivityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InterruptedIOException;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/fire")
 @RequiredArgsConstructor
 public class FireController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final long SWEEP_POLL_MILLIS = 100;
+
     private final FireProfileService profileService;
+    private final FireProjectionService projectionService;
     private final FireCalculatorService calculatorService;
+    private final MonteCarloService monteCarloService;
+    private final MultiAssetMonteCarloService multiAssetService;
+    private final EfficientFrontierService frontierService;
+    private final AssetService assetService;
+    private final BacktestService backtestService;
+    private final DecumulationService decumulationService;
+    private final FireSweepService sweepService;
+    private final GoalSeekService goalSeekService;
+    private final SensitivityService sensitivityService;
+    private final FireComputeExecutor computeExecutor;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/profiles")
     public List<FireProfile> getAll(@AuthenticationPrincipal User user) {
@@ -44,15 +92,177 @@ public class FireController {
         return profileService.update(id, profile, user);
     }
 
+    /** Projects all of the user's profiles in one call, aligned by calendar year. */
+    @GetMapping("/projections")
+    public FireProjectionComparison getAllProjections(@RequestParam(defaultValue = "EXACT") FireCalculatorService.Engine engine,
+                                                      @AuthenticationPrincipal User user) {
+        List<FireProfile> profiles = profileService.findAll(user);
+        return computeExecutor.call(user, () -> projectionService.compare(profiles, engine));
+    }
+
     @GetMapping("/projection/{profileId}")
     public FireProjection getProjection(@PathVariable Long profileId,
+                                        @RequestParam(defaultValue = "EXACT") FireCalculatorService.Engine engine,
                                         @AuthenticationPrincipal User user) {
         FireProfile profile = profileService.findById(profileId, user);
-        return calculatorService.calculate(profile);
+        return computeExecutor.call(user, () -> projectionService.project(profile, engine));
+    }
+
+    @GetMapping("/projection/{profileId}/monthly")
+    public MonthlyFireProjection getMonthlyProjection(@PathVariable Long profileId,
+                                                      @AuthenticationPrincipal User user) {
+        FireProfile profile = profileService.findById(profileId, user);
+        return computeExecutor.call(user, () -> calculatorService.calculateMonthly(profile));
+    }
+
+    @GetMapping("/projection/{profileId}/montecarlo")
+    public MonteCarloProjection getMonteCarlo(@PathVariable Long profileId,
+                                              @RequestParam(defaultValue = "" + MonteCarloService.DEFAULT_PATHS) int paths,
+                                              @RequestParam(required = false) Double mean,
+                                              @RequestParam(defaultValue = "" + MonteCarloService.DEFAULT_VOLATILITY) double volatility,
+                                              @RequestParam(required = false) Long seed,
+                                              @AuthenticationPrincipal User user) {
+        FireProfile profile = profileService.findById(profileId, user);
+        return computeExecutor.call(user, () -> monteCarloService.simulate(profile, paths, mean, volatility, seed));
+    }
+
+    @GetMapping("/projection/{profileId}/multi-asset")
+    public MultiAssetSimulation getMultiAsset(@PathVariable Long profileId,
+                                              @RequestParam(defaultValue = "" + MonteCarloService.DEFAULT_PATHS) int paths,
+                                              @RequestParam(required = false) Long seed,
+                                              @AuthenticationPrincipal User user) {
+        return simulateMultiAsset(profileId, List.of(), paths, seed, user);
+    }
+
+    /** Runs the current allocation alongside candidate allocations on the same scenarios. */
+    @PostMapping("/projection/{profileId}/multi-asset")
+    public MultiAssetSimulation compareMultiAsset(@PathVariable Long profileId,
+                                                  @Valid @RequestBody MultiAssetRequest request,
+                                                  @AuthenticationPrincipal User user) {
+        int paths = request.getPaths() != null ? request.getPaths() : MonteCarloService.DEFAULT_PATHS;
+        List<MultiAssetRequest.Allocation> candidates =
+                request.getAllocations() != null ? request.getAllocations() : List.of();
+        return simulateMultiAsset(profileId, candidates, paths, request.getSeed(), user);
+    }
+
+    @GetMapping("/projection/{profileId}/frontier")
+    public EfficientFrontier getFrontier(@PathVariable Long profileId,
+                                         @RequestParam(defaultValue = "" + EfficientFrontierService.DEFAULT_POINTS) int points,
+                                         @RequestParam(required = false) Double maxVolatility,
+                                         @AuthenticationPrincipal User user) {
+        FireProfile profile = profileService.findById(profileId, user);
+        List<Asset> assets = assetService.findAll(user);
+        return computeExecutor.call(user, () -> frontierService.optimize(profile, assets, points, maxVolatility));
+    }
+
+    private MultiAssetSimulation simulateMultiAsset(Long profileId, List<MultiAssetRequest.Allocation> candidates,
+                                                    int paths, Long seed, User user) {
+        FireProfile profile = profileService.findById(profileId, user);
+        List<Asset> assets = assetService.findAll(user);
+        return computeExecutor.call(user, () -> multiAssetService.simulate(profile, assets, candidates, paths, seed));
+    }
+
+    @GetMapping("/projection/{profileId}/backtest")
+    public BacktestResult getBacktest(@PathVariable Long profileId,
+                                      @RequestParam(defaultValue = "" + BacktestService.DEFAULT_EQUITY_ALLOCATION) double equityAllocation,
+                                      @RequestParam(required = false) Integer years,
+                                      @AuthenticationPrincipal User user) {
+        FireProfile profile = profileService.findById(profileId, user);
+        return computeExecutor.call(user, () -> backtestService.backtest(profile, equityAllocation, years));
+    }
+
+    @GetMapping("/projection/{profileId}/decumulation")
+    public DecumulationResult getDecumulation(@PathVariable Long profileId,
+                                              @RequestParam(defaultValue = "CONSTANT_DOLLAR") DecumulationResult.WithdrawalStrategy strategy,
+                                              @RequestParam(defaultValue = "" + DecumulationService.DEFAULT_PATHS) int paths,
+                                              @RequestParam(required = false) Double mean,
+                                              @RequestParam(defaultValue = "" + DecumulationService.DEFAULT_VOLATILITY) double volatility,
+                                              @RequestParam(required = false) Long seed,
+                                              @RequestParam(required = false) Integer startAge,
+                                              @RequestParam(required = false) Double portfolio,
+                                              @AuthenticationPrincipal User user) {
+        FireProfile profile = profileService.findById(profileId, user);
+        return computeExecutor.call(user, () -> decumulationService.simulate(
+                profile, strategy, paths, mean, volatility, seed, startAge, portfolio));
+    }
+
+    @GetMapping("/projection/{profileId}/sensitivity")
+    public SensitivityAnalysis getSensitivity(@PathVariable Long profileId,
+                                              @RequestParam(defaultValue = "" + SensitivityService.DEFAULT_RATE_DELTA) double rateDelta,
+                                              @RequestParam(defaultValue = "" + SensitivityService.DEFAULT_AMOUNT_DELTA) double amountDelta,
+                                              @AuthenticationPrincipal User user) {
+        FireProfile profile = profileService.findById(profileId, user);
+        return computeExecutor.call(user, () -> sensitivityService.analyze(profile, rateDelta, amountDelta));
     }
 
     @PostMapping("/projection/simulate")
-    public FireProjection simulate(@Valid @RequestBody FireProfile profile) {
-        return calculatorService.calculate(profile);
+    public FireProjection simulate(@Valid @RequestBody FireProfile profile,
+                                   @RequestParam(defaultValue = "EXACT") FireCalculatorService.Engine engine,
+                                   @AuthenticationPrincipal User user) {
+        return computeExecutor.call(user, () -> projectionService.project(profile, engine));
+    }
+
+    @PostMapping("/projection/simulate/monthly")
+    public MonthlyFireProjection simulateMonthly(@Valid @RequestBody FireProfile profile,
+                                                 @AuthenticationPrincipal User user) {
+        return computeExecutor.call(user, () -> calculatorService.calculateMonthly(profile));
+    }
+
+    @PostMapping("/projection/solve")
+    public GoalSeekResult solve(@Valid @RequestBody FireProfile profile,
+                                @RequestParam FireParameter parameter,
+                                @RequestParam(required = false) Integer targetAge,
+                                @AuthenticationPrincipal User user) {
+        return computeExecutor.call(user, () -> goalSeekService.solve(profile, parameter, targetAge));
+    }
+
+    @PostMapping("/projection/sensitivity")
+    public SensitivityAnalysis sensitivity(@Valid @RequestBody FireProfile profile,
+                                           @RequestParam(defaultValue = "" + SensitivityService.DEFAULT_RATE_DELTA) double rateDelta,
+                                           @RequestParam(defaultValue = "" + SensitivityService.DEFAULT_AMOUNT_DELTA) double amountDelta,
+                                           @AuthenticationPrincipal User user) {
+        return computeExecutor.call(user, () -> sensitivityService.analyze(profile, rateDelta, amountDelta));
+    }
+
+    /**
+     * Evaluates a parameter grid and streams it back as NDJSON, one
+     * {@link FireSweepSlice} per line as slices complete.
+     *
+     * The grid is validated and admitted before the response starts, so those
+     * failures still get a proper status. Compute workers only queue slices;
+     * the response is written by the streaming thread, which cancels the sweep
+     * if the client goes away.
+     */
+    @PostMapping("/projection/sweep")
+    public ResponseEntity<StreamingResponseBody> sweep(@Valid @RequestBody FireSweepRequest request,
+                                                       @AuthenticationPrincipal User user) {
+        sweepService.validate(request);
+        BlockingQueue<FireSweepSlice> slices = new LinkedBlockingQueue<>();
+        FireComputeExecutor.Computation<Void> computation = computeExecutor.submit(user, () -> {
+            sweepService.sweep(request, slices::add);
+            return null;
+        });
+
+        StreamingResponseBody body = out -> {
+            try {
+                while (!computation.isDone() || !slices.isEmpty()) {
+                    FireSweepSlice slice = slices.poll(SWEEP_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (slice == null) {
+                        computation.checkTimeout();
+                        continue;
+                    }
+                    out.write(objectMapper.writeValueAsBytes(slice));
+                    out.write('\n');
+                    out.flush();
+                }
+                computation.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Sweep interrupted");
+            } finally {
+                computation.cancel();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 }
@@ -0,0 +1,42 @@
+package ces107.zesFin.controller;
+
+import ces107.zesFin.dto.PortfolioReturns;
+import ces107.zesFin.dto.PortfolioRisk;
+import ces107.zesFin.model.User;
+import ces107.zesFin.service.PortfolioReturnsService;
+import ces107.zesFin.service.PortfolioRiskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/portfolio")
+@RequiredArgsConstructor
+public class PortfolioAnalyticsController {
+
+    private final PortfolioReturnsService returnsService;
+    private final PortfolioRiskService riskService;
+
+    @GetMapping("/returns")
+    public PortfolioReturns getReturns(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return returnsService.returns(user, from, to);
+    }
+
+    @GetMapping("/risk")
+    public PortfolioRisk getRisk(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") double riskFreeRate) {
+        return riskService.risk(user, from, to, riskFreeRate);
+    }
+}
@@ -1,15 +1,26 @@
 package ces107.zesFin.controller;
 
+import ces107.zesFin.dto.SnapshotImportReport;
+import ces107.zesFin.dto.SnapshotPage;
+import ces107.zesFin.dto.SnapshotValues;
 import ces107.zesFin.exception.ResourceNotFoundException;
+import ces107.zesFin.model.EntryType;
 import ces107.zesFin.model.PortfolioSnapshot;
 import ces107.zesFin.model.User;
 import ces107.zesFin.service.PortfolioService;
+import ces107.zesFin.service.SnapshotImportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,11 +28,33 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PortfolioController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final PortfolioService portfolioService;
+    private final SnapshotImportService importService;
 
+    /**
+     * Snapshot history in (date, id) order. Without a {@code limit} the whole
+     * filtered history is returned; with one, the cursor of the next page is
+     * sent in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping
-    public List<PortfolioSnapshot> getAll(@AuthenticationPrincipal User user) {
-        return portfolioService.findAll(user);
+    public ResponseEntity<List<PortfolioSnapshot>> getAll(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) EntryType entryType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (from == null && to == null && entryType == null && cursor == null && limit == null) {
+            return ResponseEntity.ok(portfolioService.findAll(user));
+        }
+        SnapshotPage page = portfolioService.findPage(user, from, to, entryType, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/latest")
@@ -37,12 +70,35 @@ public class PortfolioController {
         return portfolioService.create(snapshot, user);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public SnapshotImportReport importCsv(InputStream body,
+                                          @RequestParam(defaultValue = "SKIP") SnapshotImportService.DuplicatePolicy onDuplicate,
+                                          @AuthenticationPrincipal User user) throws IOException {
+        return importService.importSnapshots(user, body, SnapshotImportService.Format.CSV, onDuplicate);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public SnapshotImportReport importNdjson(InputStream body,
+                                             @RequestParam(defaultValue = "SKIP") SnapshotImportService.DuplicatePolicy onDuplicate,
+                                             @AuthenticationPrincipal User user) throws IOException {
+        return importService.importSnapshots(user, body, SnapshotImportService.Format.NDJSON, onDuplicate);
+    }
+
     @PutMapping("/{id}")
     public PortfolioSnapshot update(@PathVariable Long id, @Valid @RequestBody PortfolioSnapshot snapshot,
                                     @AuthenticationPrincipal User user) {
         return portfolioService.update(id, snapshot, user);
     }
 
+    /** Creates or replaces the entry identified by its natural key. */
+    @PutMapping("/{date}/{entryType}")
+    public PortfolioSnapshot upsert(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                    @PathVariable EntryType entryType,
+                                    @Valid @RequestBody SnapshotValues values,
+                                    @AuthenticationPrincipal User user) {
+        return portfolioService.upsert(date, entryType, values, user);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id, @AuthenticationPrincipal User user) {
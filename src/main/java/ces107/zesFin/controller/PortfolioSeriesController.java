@@ -0,0 +1,45 @@
+package ces107.zesFin.controller;
+
+import ces107.zesFin.dto.AlignedPortfolioSeries;
+import ces107.zesFin.dto.PortfolioSeries;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.service.PortfolioSeriesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/portfolio")
+@RequiredArgsConstructor
+public class PortfolioSeriesController {
+
+    private final PortfolioSeriesService seriesService;
+
+    @GetMapping("/series")
+    public PortfolioSeries getSeries(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) List<EntryType> entryType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "" + PortfolioSeriesService.DEFAULT_POINTS) int points) {
+        return seriesService.series(user, entryType != null ? entryType : List.of(), from, to, points);
+    }
+
+    @GetMapping("/series/aligned")
+    public AlignedPortfolioSeries getAlignedSeries(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "MONTHLY") AlignedPortfolioSeries.Interval interval,
+            @RequestParam(defaultValue = "CARRY_FORWARD") AlignedPortfolioSeries.Fill fill,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return seriesService.aligned(user, interval, fill, from, to);
+    }
+}
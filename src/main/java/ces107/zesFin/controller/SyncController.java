@@ -0,0 +1,25 @@
+package ces107.zesFin.controller;
+
+import ces107.zesFin.dto.SyncChanges;
+import ces107.zesFin.model.User;
+import ces107.zesFin.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public SyncChanges getChanges(@AuthenticationPrincipal User user,
+                                  @RequestParam(required = false) Long since) {
+        return syncService.changes(user, since);
+    }
+}
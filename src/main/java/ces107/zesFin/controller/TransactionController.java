@@ -1,11 +1,15 @@
 package ces107.zesFin.controller;
 
+import ces107.zesFin.dto.TransactionPage;
 import ces107.zesFin.model.Transaction;
+import ces107.zesFin.model.TransactionType;
 import ces107.zesFin.model.User;
 import ces107.zesFin.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,9 +24,33 @@ public class TransactionController {
 
     private final TransactionService transactionService;
 
+    /**
+     * Transactions newest first in (date, id) order. Without any parameter the
+     * whole list is returned; with a {@code limit}, the cursor of the next page
+     * is sent in the {@value PortfolioController#NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping
-    public List<Transaction> getAll(@AuthenticationPrincipal User user) {
-        return transactionService.findAll(user);
+    public ResponseEntity<List<Transaction>> getAll(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (from == null && to == null && type == null && category == null && minAmount == null
+                && maxAmount == null && cursor == null && limit == null) {
+            return ResponseEntity.ok(transactionService.findAll(user));
+        }
+        TransactionPage page = transactionService.findPage(user, from, to, type, category,
+                minAmount, maxAmount, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PortfolioController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/{id}")
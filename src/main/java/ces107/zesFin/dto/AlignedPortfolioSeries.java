@@ -0,0 +1,30 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.EntryType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every entry type resampled onto one regular date grid, in columnar form:
+ * index {@code i} of each array belongs to {@code dates.get(i)}. Values are
+ * null before the first snapshot of their type.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class AlignedPortfolioSeries {
+
+    public enum Interval { DAILY, WEEKLY, MONTHLY }
+
+    /** How a grid date between two snapshots gets its value. */
+    public enum Fill { CARRY_FORWARD, LINEAR }
+
+    private Interval interval;
+    private Fill fill;
+    private List<LocalDate> dates;
+    private Map<EntryType, Double[]> series;
+    private Double[] yield;                 // PORTFOLIO_VALUE - TOTAL_INVESTED where both are known
+}
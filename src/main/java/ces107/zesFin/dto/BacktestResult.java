@@ -0,0 +1,35 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class BacktestResult {
+    private Integer datasetFirstYear;
+    private Integer datasetLastYear;
+    private Integer horizonYears;
+    private Double equityAllocation;
+    private BigDecimal fireNumber; // in today's money; all amounts are inflation-adjusted
+    private Integer startYears;
+    private Double successRate;
+    private Integer worstStartYear;
+    private BigDecimal worstTerminalWealth;
+    private Integer bestStartYear;
+    private BigDecimal bestTerminalWealth;
+    private BigDecimal medianTerminalWealth;
+    private List<Run> runs;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class Run {
+        private Integer startYear;
+        private Integer fireAge;
+        private BigDecimal terminalWealth;
+        private boolean success;
+    }
+}
@@ -0,0 +1,39 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class DecumulationResult {
+
+    public enum WithdrawalStrategy {
+        /** Initial withdrawal held constant in real terms. */
+        CONSTANT_DOLLAR,
+        /** The initial withdrawal rate applied to each year's balance. */
+        PERCENT_OF_PORTFOLIO,
+        /** Constant dollar with Guyton-Klinger inflation, preservation and prosperity rules. */
+        GUARDRAILS
+    }
+
+    private WithdrawalStrategy strategy;
+    private Integer startAge;
+    private Integer endAge;
+    private Integer paths;
+    private Double meanReturn;
+    private Double volatility;
+    private Long seed;
+    private BigDecimal startingPortfolio;
+    private BigDecimal initialWithdrawal;
+    private Double initialWithdrawalRate;
+    private Double depletionProbability;     // share of paths that could not fund a full withdrawal before endAge
+    private Integer medianDepletionAge;      // among depleted paths; null if none deplete
+    private BigDecimal terminalP10;
+    private BigDecimal terminalP50;
+    private BigDecimal terminalP90;
+    private BigDecimal minimumWithdrawalP10; // lowest yearly withdrawal on a path, in starting-year money
+    private BigDecimal minimumWithdrawalP50;
+    private double[] solvencyByYear;         // share of paths still funding withdrawals, index 0 = startAge
+}
@@ -0,0 +1,28 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.AssetCategory;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class EfficientFrontier {
+    private Double maxVolatility;          // risk level used for the recommendation
+    private List<Point> frontier;          // long-only efficient portfolios, by increasing volatility
+    private Point current;                 // null when the user has no assets
+    private Point sameRiskOptimal;         // highest-return frontier portfolio no riskier than current
+    private Point recommended;             // frontier portfolio within maxVolatility that reaches FIRE soonest
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class Point {
+        private Map<AssetCategory, Double> weights;
+        private Double expectedReturn;
+        private Double volatility;
+        private Integer fireAge;           // deterministic projection at expectedReturn; null if not reached
+    }
+}
@@ -0,0 +1,31 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class FireProjectionComparison {
+    private List<Integer> years;            // shared x-axis: calendar years covered by any profile
+    private List<ProfileSeries> profiles;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class ProfileSeries {
+        private Long profileId;
+        private Integer currentAge;
+        private Integer targetRetirementAge;
+        private Integer fireAge;
+        private Integer fireYear;
+        private Integer yearsToFire;
+        private boolean fireAchievable;
+        private BigDecimal fireNumber;
+        private BigDecimal projectedSavingsAtFire;
+        private List<BigDecimal> totalSavings;  // aligned with years; null past the profile's horizon
+        private List<BigDecimal> fireNumbers;   // inflated FIRE number, aligned with years
+    }
+}
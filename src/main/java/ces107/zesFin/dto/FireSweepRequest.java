@@ -0,0 +1,38 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.FireProfile;
+import ces107.zesFin.service.FireParameter;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class FireSweepRequest {
+
+    @Valid
+    @NotNull
+    private FireProfile profile;
+
+    @Valid
+    @NotEmpty
+    @Size(max = 3)
+    private List<Axis> axes;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class Axis {
+        @NotNull
+        private FireParameter parameter;
+
+        @NotEmpty
+        @Size(max = 100)
+        private List<@NotNull Double> values;
+    }
+}
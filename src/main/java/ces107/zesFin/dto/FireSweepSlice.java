@@ -0,0 +1,20 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * One slice of a parameter sweep: all cells sharing the same value of the
+ * first axis. Cells are flattened row-major over the remaining axes, in the
+ * order they were given in the request.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class FireSweepSlice {
+    private Integer index;
+    private Double value;
+    private Integer[] fireAge;
+    private BigDecimal[] savingsAtFire;
+}
@@ -0,0 +1,20 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.service.FireParameter;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class GoalSeekResult {
+    private FireParameter parameter;
+    private Integer targetAge;
+    private BigDecimal currentValue;
+    private BigDecimal requiredValue; // minimum (or maximum, for expenses/inflation) value that reaches FIRE by targetAge
+    private boolean achievable;
+    private Integer fireAge;
+    private BigDecimal savingsAtFire;
+    private Integer evaluations;
+}
@@ -0,0 +1,34 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class MonteCarloProjection {
+    private Integer currentAge;
+    private Integer targetAge;
+    private Integer paths;
+    private Double meanReturn;
+    private Double volatility;
+    private Long seed;
+    private Double successProbability;
+    private Integer medianFireAge;
+    private List<YearlyBand> yearlyBands;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class YearlyBand {
+        private Integer age;
+        private Integer year;
+        private BigDecimal p10;
+        private BigDecimal p50;
+        private BigDecimal p90;
+        private BigDecimal fireNumber;
+        private Double fireProbability; // share of paths that reached FIRE at or before this age
+    }
+}
@@ -0,0 +1,29 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Month-by-month projection in columnar form: one array per metric, where
+ * index {@code m} is the month starting at {@code startDate.plusMonths(m)}.
+ * Amounts are rounded to cents.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class MonthlyFireProjection {
+    private Integer currentAge;
+    private LocalDate startDate;
+    private Integer months;
+    private Integer fireMonth; // index of the first month at or above the FIRE number
+    private Integer fireAge;
+    private BigDecimal fireNumber;
+    private BigDecimal projectedSavingsAtFire;
+    private boolean fireAchievable;
+    private double[] totalSavings;
+    private double[] totalContributions;
+    private double[] fireNumbers;
+    private double[] monthlyContributions;
+}
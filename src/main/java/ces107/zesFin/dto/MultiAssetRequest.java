@@ -0,0 +1,35 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.AssetCategory;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class MultiAssetRequest {
+    private Integer paths;
+    private Long seed;
+
+    @Valid
+    @Size(max = 10)
+    private List<Allocation> allocations; // candidates compared against the user's current allocation
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class Allocation {
+        @NotBlank
+        private String name;
+
+        @NotEmpty
+        private Map<AssetCategory, @NotNull Double> weights; // normalised to sum to 1
+    }
+}
@@ -0,0 +1,34 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.AssetCategory;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class MultiAssetSimulation {
+    private Integer currentAge;
+    private Integer targetAge;
+    private Integer paths;
+    private Long seed;
+    private List<AllocationResult> allocations;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class AllocationResult {
+        private String name;
+        private Map<AssetCategory, Double> weights;
+        private Double expectedReturn;       // nominal, from the capital market assumptions
+        private Double volatility;
+        private Double successProbability;   // FIRE reached by targetAge (or the horizon)
+        private Integer medianFireAge;
+        private BigDecimal savingsP10;       // at targetAge (or the horizon)
+        private BigDecimal savingsP50;
+        private BigDecimal savingsP90;
+    }
+}
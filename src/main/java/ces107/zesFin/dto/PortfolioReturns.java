@@ -0,0 +1,28 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Performance of the portfolio between the first and last
+ * {@code PORTFOLIO_VALUE} snapshots inside the requested window.
+ * Rates are fractions (0.07 = 7%); a rate is null when it cannot be computed.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class PortfolioReturns {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer periods;                // valuation intervals in the window
+    private BigDecimal startValue;
+    private BigDecimal endValue;
+    private BigDecimal netContributions;
+    private BigDecimal gain;                // endValue - startValue - netContributions
+    private Double timeWeightedReturn;      // cumulative, chain-linked Modified Dietz
+    private Double annualizedTimeWeightedReturn; // only for windows of a year or more
+    private Double moneyWeightedReturn;     // annual XIRR
+    private String moneyWeightedMethod;     // NEWTON or BRENT
+}
@@ -0,0 +1,31 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Drawdown and volatility of the portfolio between the first and last
+ * {@code PORTFOLIO_VALUE} snapshots inside the requested window, measured on
+ * contribution-adjusted returns so deposits neither hide nor create losses.
+ * Rates are fractions (0.07 = 7%); a figure is null when it cannot be computed.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class PortfolioRisk {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer periods;                // valuation intervals in the window
+    private Double maxDrawdown;             // deepest fall from a previous peak, as a positive fraction
+    private LocalDate drawdownPeakDate;
+    private LocalDate drawdownTroughDate;
+    private LocalDate drawdownRecoveryDate; // null while still below the peak
+    private Integer drawdownDays;           // peak to recovery, or to endDate if not recovered
+    private Integer recoveryDays;           // trough to recovery; null if not recovered
+    private Integer longestDrawdownDays;    // longest time spent below any previous peak
+    private Double currentDrawdown;
+    private Double annualizedVolatility;    // needs at least two periods
+    private Double riskFreeRate;
+    private Double sharpeRatio;             // annualised mean excess return over volatility
+}
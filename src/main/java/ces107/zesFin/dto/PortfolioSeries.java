@@ -0,0 +1,28 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.EntryType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Chart-ready snapshot history, downsampled to a point budget per entry type.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class PortfolioSeries {
+    private Integer points;                 // requested budget per entry type
+    private List<EntryTypeSeries> series;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class EntryTypeSeries {
+        private EntryType entryType;
+        private Integer totalPoints;        // points in range before downsampling
+        private List<LocalDate> dates;
+        private double[] values;            // aligned with dates
+    }
+}
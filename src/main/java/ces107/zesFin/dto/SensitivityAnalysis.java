@@ -0,0 +1,33 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.service.FireParameter;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SensitivityAnalysis {
+    private Integer currentAge;
+    private Integer baseFireAge;     // null if FIRE is not reached within the horizon
+    private Integer baseYearsToFire;
+    private Double rateDelta;        // absolute change applied to rates
+    private Double amountDelta;      // relative change applied to money amounts
+    private List<Entry> entries;     // ranked by swingYears, largest first
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class Entry {
+        private FireParameter parameter;
+        private Double baseValue;
+        private Double lowValue;
+        private Double highValue;
+        private Integer lowFireAge;
+        private Integer highFireAge;
+        private Integer lowDeltaYears;  // years-to-FIRE change at lowValue; null if either side never reaches FIRE
+        private Integer highDeltaYears;
+        private Integer swingYears;     // |low - high| years-to-FIRE, counting "never" as one year past the horizon
+    }
+}
@@ -0,0 +1,31 @@
+package ces107.zesFin.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk snapshot import. Every data row read is counted in
+ * exactly one of inserted, updated, skipped or rejected.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SnapshotImportReport {
+    private int rowsRead;
+    private int inserted;
+    private int updated;
+    private int skipped;                    // already stored, left untouched
+    private int rejected;
+    private List<RowError> errors;          // first rejections only, see truncated
+    private boolean errorsTruncated;
+    private long durationMillis;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,19 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.PortfolioSnapshot;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of snapshot history in (date, id) order. {@code nextCursor} is
+ * null on the last page.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SnapshotPage {
+
+    private List<PortfolioSnapshot> items;
+    private String nextCursor;
+}
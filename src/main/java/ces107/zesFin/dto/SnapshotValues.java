@@ -0,0 +1,19 @@
+package ces107.zesFin.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Body of a snapshot upsert; the date and entry type come from the URL.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SnapshotValues {
+    @NotNull
+    private BigDecimal value;
+    private BigDecimal monthlyContribution;
+    private Double fixedIncomePercentage;
+}
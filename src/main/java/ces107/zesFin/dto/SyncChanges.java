@@ -0,0 +1,35 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.Asset;
+import ces107.zesFin.model.PortfolioSnapshot;
+import ces107.zesFin.model.Transaction;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Rows changed since a client's last sync. When {@code full} is true the
+ * lists hold every row and replace the client's copy; otherwise they are
+ * upserts by id and {@code deleted} lists the ids to drop. The client sends
+ * {@code version} back as {@code since} on its next sync.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SyncChanges {
+    private long version;
+    private boolean full;
+    private List<PortfolioSnapshot> snapshots;
+    private List<Transaction> transactions;
+    private List<Asset> assets;
+    private Deleted deleted;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @Builder
+    public static class Deleted {
+        private List<Long> snapshots;
+        private List<Long> transactions;
+        private List<Long> assets;
+    }
+}
@@ -0,0 +1,19 @@
+package ces107.zesFin.dto;
+
+import ces107.zesFin.model.Transaction;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of transactions, newest first in (date, id) order.
+ * {@code nextCursor} is null on the last page.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TransactionPage {
+
+    private List<Transaction> items;
+    private String nextCursor;
+}
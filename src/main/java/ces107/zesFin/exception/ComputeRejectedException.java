@@ -0,0 +1,35 @@
+package ces107.zesFin.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a FIRE computation is not admitted to, or does not finish in,
+ * the dedicated compute executor.
+ */
+@Getter
+public class ComputeRejectedException extends RuntimeException {
+
+    public enum Reason {
+        /** The user already has the maximum number of computations in flight. */
+        USER_LIMIT,
+        /** All compute threads are busy and the queue is full. */
+        QUEUE_FULL,
+        /** The computation was admitted but did not finish in time. */
+        TIMEOUT
+    }
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public ComputeRejectedException(final Reason reason, final Duration retryAfter) {
+        super(switch (reason) {
+            case USER_LIMIT -> "Too many concurrent calculations for this user";
+            case QUEUE_FULL -> "The calculation service is busy";
+            case TIMEOUT -> "The calculation did not finish in time";
+        });
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,12 @@
+package ces107.zesFin.exception;
+
+/**
+ * Thrown when request input fails a check the service makes itself, beyond
+ * bean validation; mapped to 400 with the message as the detail.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -7,9 +7,11 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assets")
+@Table(name = "assets",
+        indexes = @Index(name = "idx_asset_user_sync_version", columnList = "user_id, sync_version"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -44,4 +46,17 @@ public class Asset {
     private BigDecimal totalInvested;
 
     private BigDecimal unrealizedGain;
+
+    @JsonIgnore
+    @Column(name = "sync_version", nullable = false)
+    @Builder.Default
+    private Long syncVersion = 0L;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
 }
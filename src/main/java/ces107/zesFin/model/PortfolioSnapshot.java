@@ -7,11 +7,16 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "portfolio_snapshots",
         uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_date_user_type",
-                columnNames = {"date", "user_id", "entry_type"}))
+                columnNames = {"date", "user_id", "entry_type"}),
+        indexes = {
+                @Index(name = "idx_snapshot_user_type_date", columnList = "user_id, entry_type, date"),
+                @Index(name = "idx_snapshot_user_sync_version", columnList = "user_id, sync_version")
+        })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -40,4 +45,17 @@ public class PortfolioSnapshot {
     private BigDecimal monthlyContribution;
 
     private Double fixedIncomePercentage;
+
+    @JsonIgnore
+    @Column(name = "sync_version", nullable = false)
+    @Builder.Default
+    private Long syncVersion = 0L;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
 }
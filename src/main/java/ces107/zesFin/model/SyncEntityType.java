@@ -0,0 +1,7 @@
+package ces107.zesFin.model;
+
+public enum SyncEntityType {
+    SNAPSHOT,
+    TRANSACTION,
+    ASSET
+}
@@ -0,0 +1,45 @@
+package ces107.zesFin.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that a row was deleted, so clients syncing from an earlier version
+ * can drop their copy.
+ */
+@Entity
+@Table(name = "sync_tombstones",
+        indexes = @Index(name = "idx_tombstone_user_sync_version", columnList = "user_id, sync_version"))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "sync_version", nullable = false)
+    private Long syncVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = LocalDateTime.now();
+    }
+}
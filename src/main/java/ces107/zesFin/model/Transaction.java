@@ -8,9 +8,16 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+        indexes = {
+                @Index(name = "idx_transaction_user_sync_version", columnList = "user_id, sync_version"),
+                @Index(name = "idx_transaction_user_date_id", columnList = "user_id, date, id"),
+                @Index(name = "idx_transaction_user_type_date_id", columnList = "user_id, type, date, id"),
+                @Index(name = "idx_transaction_user_category_date_id", columnList = "user_id, category, date, id")
+        })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -48,4 +55,17 @@ public class Transaction {
     private RecurrenceType recurrenceType;
 
     private LocalDate nextExecutionDate;
+
+    @JsonIgnore
+    @Column(name = "sync_version", nullable = false)
+    @Builder.Default
+    private Long syncVersion = 0L;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -1,5 +1,6 @@
 package ces107.zesFin.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -32,6 +33,16 @@ public class User {
 
     private LocalDateTime lastLoginAt;
 
+    /**
+     * Last change version handed out for this user's data. Only ever advanced
+     * by {@code UserRepository.incrementSyncVersion}, so saving a stale User
+     * cannot move it backwards.
+     */
+    @JsonIgnore
+    @Column(name = "sync_version", nullable = false, updatable = false)
+    @Builder.Default
+    private Long syncVersion = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
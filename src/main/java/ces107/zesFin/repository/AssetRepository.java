@@ -20,4 +20,6 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
 
     @Query("SELECT COALESCE(SUM(a.currentValue), 0) FROM Asset a WHERE a.user = :user")
     BigDecimal totalPortfolioValue(@Param("user") User user);
+
+    List<Asset> findAllByUserAndSyncVersionBetween(User user, Long from, Long to);
 }
@@ -4,12 +4,14 @@ import ces107.zesFin.model.EntryType;
 import ces107.zesFin.model.PortfolioSnapshot;
 import ces107.zesFin.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnapshot, Long> {
+public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnapshot, Long>,
+        JpaSpecificationExecutor<PortfolioSnapshot> {
 
     List<PortfolioSnapshot> findAllByUserOrderByDateAsc(User user);
 
@@ -24,4 +26,6 @@ public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnap
     List<PortfolioSnapshot> findAllByUserAndEntryTypeOrderByDateAsc(User user, EntryType entryType);
 
     Optional<PortfolioSnapshot> findTopByUserAndEntryTypeOrderByDateDesc(User user, EntryType entryType);
+
+    List<PortfolioSnapshot> findAllByUserAndSyncVersionBetween(User user, Long from, Long to);
 }
@@ -0,0 +1,174 @@
+package ces107.zesFin.repository;
+
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.PortfolioSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * JDBC writes of portfolio snapshots that bypass the entity manager: batches
+ * for paths that handle too many rows to save one at a time, and
+ * single-statement upserts keyed on {@code uk_snapshot_date_user_type}.
+ * Every write stamps the rows with the caller's sync version and the current
+ * time, like the entity callbacks do for JPA writes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SnapshotBatchRepository {
+
+    /** A snapshot's columns, without id or owner. */
+    public record Row(LocalDate date, EntryType entryType, BigDecimal value,
+                      BigDecimal monthlyContribution, Double fixedIncomePercentage) {}
+
+    private static final String INSERT = "INSERT INTO portfolio_snapshots "
+            + "(user_id, date, entry_type, value, monthly_contribution, fixed_income_percentage, "
+            + "sync_version, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)";
+
+    private static final String UPDATE = "UPDATE portfolio_snapshots "
+            + "SET value = ?, monthly_contribution = ?, fixed_income_percentage = ?, "
+            + "sync_version = ?, updated_at = LOCALTIMESTAMP "
+            + "WHERE user_id = ? AND date = ? AND entry_type = ?";
+
+    private static final String STORED_COLUMNS = "id, date, entry_type, value, monthly_contribution, "
+            + "fixed_income_percentage, sync_version, updated_at";
+
+    // The conflict target is the unique constraint, so concurrent upserts of one key serialise on it
+    private static final String UPSERT_POSTGRESQL = "INSERT INTO portfolio_snapshots "
+            + "(user_id, date, entry_type, value, monthly_contribution, fixed_income_percentage, "
+            + "sync_version, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP) "
+            + "ON CONFLICT (date, user_id, entry_type) DO UPDATE SET value = EXCLUDED.value, "
+            + "monthly_contribution = EXCLUDED.monthly_contribution, "
+            + "fixed_income_percentage = EXCLUDED.fixed_income_percentage, "
+            + "sync_version = EXCLUDED.sync_version, updated_at = EXCLUDED.updated_at "
+            + "RETURNING " + STORED_COLUMNS;
+
+    // VALUE is a keyword in H2 2.x; the H2 URLs set NON_KEYWORDS=VALUE so it can be a column name
+    private static final String UPSERT_H2 = "SELECT " + STORED_COLUMNS + " FROM FINAL TABLE (MERGE INTO portfolio_snapshots "
+            + "(user_id, date, entry_type, value, monthly_contribution, fixed_income_percentage, "
+            + "sync_version, updated_at) "
+            + "KEY (user_id, date, entry_type) VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP))";
+
+    private static final RowMapper<PortfolioSnapshot> STORED = (rs, rowNum) -> {
+        double fixedIncome = rs.getDouble("fixed_income_percentage");
+        Double fixedIncomePercentage = rs.wasNull() ? null : fixedIncome;
+        return PortfolioSnapshot.builder()
+                .id(rs.getLong("id"))
+                .date(rs.getObject("date", LocalDate.class))
+                .entryType(EntryType.valueOf(rs.getString("entry_type")))
+                .value(rs.getBigDecimal("value"))
+                .monthlyContribution(rs.getBigDecimal("monthly_contribution"))
+                .fixedIncomePercentage(fixedIncomePercentage)
+                .syncVersion(rs.getLong("sync_version"))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    };
+
+    private final JdbcTemplate jdbc;
+    private volatile String upsertSql;
+
+    /** Streams the (date, entry type) key of every snapshot the user owns. */
+    public void forEachKey(Long userId, BiConsumer<LocalDate, EntryType> consumer) {
+        jdbc.query("SELECT s.date, s.entry_type FROM portfolio_snapshots s WHERE s.user_id = ?",
+                rs -> {
+                    consumer.accept(rs.getDate(1).toLocalDate(), EntryType.valueOf(rs.getString(2)));
+                }, userId);
+    }
+
+    /** Inserts the rows as one JDBC batch. */
+    public void insert(Long userId, long version, List<Row> rows) {
+        jdbc.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Row row = rows.get(i);
+                ps.setLong(1, userId);
+                ps.setDate(2, Date.valueOf(row.date()));
+                ps.setString(3, row.entryType().name());
+                ps.setBigDecimal(4, row.value());
+                ps.setBigDecimal(5, row.monthlyContribution());
+                setDouble(ps, 6, row.fixedIncomePercentage());
+                ps.setLong(7, version);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    /** Overwrites the values of existing rows, matched on (user, date, entry type), as one JDBC batch. */
+    public void update(Long userId, long version, List<Row> rows) {
+        jdbc.batchUpdate(UPDATE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Row row = rows.get(i);
+                ps.setBigDecimal(1, row.value());
+                ps.setBigDecimal(2, row.monthlyContribution());
+                setDouble(ps, 3, row.fixedIncomePercentage());
+                ps.setLong(4, version);
+                ps.setLong(5, userId);
+                ps.setDate(6, Date.valueOf(row.date()));
+                ps.setString(7, row.entryType().name());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    /**
+     * Inserts the row, or replaces the values of the user's row with the same
+     * date and entry type, in one statement. Returns the stored row as the
+     * database returned it, with values at column precision; the user is not
+     * set.
+     *
+     * @throws IllegalStateException if the database is neither PostgreSQL nor H2
+     */
+    public PortfolioSnapshot upsert(Long userId, long version, Row row) {
+        return jdbc.queryForObject(upsertSql(), STORED,
+                userId, Date.valueOf(row.date()), row.entryType().name(), row.value(),
+                row.monthlyContribution(), row.fixedIncomePercentage(), version);
+    }
+
+
+    /** Picks the upsert statement for the connected database on first use. */
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            sql = switch (product) {
+                case "PostgreSQL" -> UPSERT_POSTGRESQL;
+                case "H2" -> UPSERT_H2;
+                default -> throw new IllegalStateException("Snapshot upsert is not supported on " + product);
+            };
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
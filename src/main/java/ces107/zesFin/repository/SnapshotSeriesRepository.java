@@ -0,0 +1,116 @@
+package ces107.zesFin.repository;
+
+import ces107.zesFin.model.EntryType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only JDBC access to snapshot history as primitive columns.
+ *
+ * Rows are streamed in (entry_type, date) order, which the
+ * {@code idx_snapshot_user_type_date} index serves directly, and appended to
+ * growable arrays per entry type, so no entity or BigDecimal is materialised
+ * per row.
+ */
+@Repository
+public class SnapshotSeriesRepository {
+
+    static final int FETCH_SIZE = 1_000;
+
+    /**
+     * One entry type's history: {@code epochDays[i]} is the date of
+     * {@code values[i]} and {@code monthlyContributions[i]}, ascending.
+     * A missing monthly contribution is NaN.
+     */
+    public record Series(EntryType entryType, int[] epochDays, double[] values, double[] monthlyContributions) {
+
+        public int size() {
+            return epochDays.length;
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public SnapshotSeriesRepository(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Loads the user's snapshot values, one series per entry type that has
+     * at least one row in range. Empty entry types load all of them, and a
+     * null date leaves that end of the range open.
+     */
+    // A transaction lets the PostgreSQL driver honour the fetch size instead of buffering the result
+    @Transactional(readOnly = true)
+    public Map<EntryType, Series> findSeries(Long userId, Collection<EntryType> entryTypes,
+                                             LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT s.entry_type, s.date, s.value, s.monthly_contribution FROM portfolio_snapshots s "
+                        + "WHERE s.user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (!entryTypes.isEmpty()) {
+            sql.append(" AND s.entry_type IN (")
+                    .append(String.join(", ", entryTypes.stream().map(t -> "?").toList()))
+                    .append(')');
+            entryTypes.forEach(t -> args.add(t.name()));
+        }
+        if (from != null) {
+            sql.append(" AND s.date >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND s.date <= ?");
+            args.add(Date.valueOf(to));
+        }
+        sql.append(" ORDER BY s.entry_type, s.date");
+
+        Map<EntryType, ColumnBuffer> buffers = new EnumMap<>(EntryType.class);
+        jdbc.query(sql.toString(), rs -> {
+            EntryType type = EntryType.valueOf(rs.getString(1));
+            double contribution = rs.getDouble(4);
+            buffers.computeIfAbsent(type, t -> new ColumnBuffer())
+                    .add((int) rs.getDate(2).toLocalDate().toEpochDay(), rs.getDouble(3),
+                            rs.wasNull() ? Double.NaN : contribution);
+        }, args.toArray());
+
+        Map<EntryType, Series> series = new EnumMap<>(EntryType.class);
+        buffers.forEach((type, buffer) -> series.put(type, buffer.toSeries(type)));
+        return series;
+    }
+
+    private static final class ColumnBuffer {
+        private int[] days = new int[64];
+        private double[] values = new double[64];
+        private double[] contributions = new double[64];
+        private int size;
+
+        void add(int day, double value, double contribution) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                contributions = Arrays.copyOf(contributions, size * 2);
+            }
+            days[size] = day;
+            values[size] = value;
+            contributions[size++] = contribution;
+        }
+
+        Series toSeries(EntryType type) {
+            return new Series(type, Arrays.copyOf(days, size), Arrays.copyOf(values, size),
+                    Arrays.copyOf(contributions, size));
+        }
+    }
+}
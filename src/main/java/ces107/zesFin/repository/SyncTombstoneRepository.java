@@ -0,0 +1,12 @@
+package ces107.zesFin.repository;
+
+import ces107.zesFin.model.SyncTombstone;
+import ces107.zesFin.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    List<SyncTombstone> findAllByUserAndSyncVersionBetween(User user, Long from, Long to);
+}
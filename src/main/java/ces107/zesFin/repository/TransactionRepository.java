@@ -3,6 +3,7 @@ package ces107.zesFin.repository;
 import ces107.zesFin.model.Transaction;
 import ces107.zesFin.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -11,7 +12,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+        JpaSpecificationExecutor<Transaction> {
 
     List<Transaction> findAllByUserOrderByDateDesc(User user);
 
@@ -25,4 +27,6 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     BigDecimal netCashFlow(@Param("user") User user, @Param("start") LocalDate start, @Param("end") LocalDate end);
 
     List<Transaction> findAllByIsRecurringTrueAndNextExecutionDateLessThanEqual(LocalDate date);
+
+    List<Transaction> findAllByUserAndSyncVersionBetween(User user, Long from, Long to);
 }
@@ -2,10 +2,21 @@ package ces107.zesFin.repository;
 
 import ces107.zesFin.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByGoogleId(String googleId);
+
+    /** Advances the user's change version; the row stays locked until the transaction ends. */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.syncVersion = u.syncVersion + 1 WHERE u.id = :id")
+    int incrementSyncVersion(@Param("id") Long id);
+
+    @Query("SELECT u.syncVersion FROM User u WHERE u.id = :id")
+    long findSyncVersion(@Param("id") Long id);
 }
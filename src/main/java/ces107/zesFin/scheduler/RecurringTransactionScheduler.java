@@ -3,11 +3,13 @@ package ces107.zesFin.scheduler;
 import ces107.zesFin.model.RecurrenceType;
 import ces107.zesFin.model.Transaction;
 import ces107.zesFin.repository.TransactionRepository;
+import ces107.zesFin.service.SyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,10 +21,15 @@ import java.util.List;
 public class RecurringTransactionScheduler {
 
     private final TransactionRepository transactionRepository;
+    private final SyncService syncService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Processes recurring transactions that are due for execution.
      * Runs every 25 minutes by default (configurable via RECURRING_TX_CRON env var).
+     * Each due transaction is executed in its own transaction, so a failing one
+     * is logged and skipped without rolling back the others, and a user's sync
+     * row is only locked while that user's item is written.
      */
     @Scheduled(cron = "${app.scheduler.recurring-transactions.cron:0 */25 * * * *}")
     public void processRecurringTransactions() {
@@ -33,10 +40,26 @@ public class RecurringTransactionScheduler {
 
         log.info("Processing {} recurring transactions", dueTransactions.size());
 
-        dueTransactions.forEach(this::executeRecurringTransaction);
+        for (final Transaction due : dueTransactions) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> transactionRepository.findById(due.getId())
+                        .filter(recurring -> isDue(recurring, today))
+                        .ifPresent(this::executeRecurringTransaction));
+            } catch (RuntimeException e) {
+                log.error("Failed to execute recurring transaction {}", due.getId(), e);
+            }
+        }
+    }
+
+    /** Re-checked on the fresh row, in case it was edited or already run since the query. */
+    private boolean isDue(final Transaction recurring, final LocalDate today) {
+        return Boolean.TRUE.equals(recurring.getIsRecurring())
+                && recurring.getNextExecutionDate() != null
+                && !recurring.getNextExecutionDate().isAfter(today);
     }
 
     private void executeRecurringTransaction(final Transaction recurring) {
+        final long version = syncService.nextVersion(recurring.getUser().getId());
         final Transaction newTx = Transaction.builder()
                 .user(recurring.getUser())
                 .amount(recurring.getAmount())
@@ -45,6 +68,7 @@ public class RecurringTransactionScheduler {
                 .category(recurring.getCategory())
                 .date(recurring.getNextExecutionDate())
                 .isRecurring(false)
+                .syncVersion(version)
                 .build();
 
         transactionRepository.save(newTx);
@@ -54,6 +78,7 @@ public class RecurringTransactionScheduler {
                 recurring.getNextExecutionDate(),
                 recurring.getRecurrenceType()
         ));
+        recurring.setSyncVersion(version);
         transactionRepository.save(recurring);
     }
 
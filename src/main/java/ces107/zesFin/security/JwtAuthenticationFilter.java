@@ -7,7 +7,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,6 +24,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserRepository userRepository;
 
+    /** Emails of the operators allowed to read actuator metrics; none by default. */
+    @Value("${app.security.admin-emails:}")
+    private List<String> adminEmails;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -32,7 +38,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (jwtService.isTokenValid(token)) {
                 Long userId = jwtService.extractUserId(token);
                 userRepository.findById(userId).ifPresent(user -> {
-                    var auth = new UsernamePasswordAuthenticationToken(user, null, List.of());
+                    var authorities = isAdmin(user)
+                            ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                            : List.<SimpleGrantedAuthority>of();
+                    var auth = new UsernamePasswordAuthenticationToken(user, null, authorities);
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 });
             }
@@ -40,4 +49,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean isAdmin(User user) {
+        return user.getEmail() != null
+                && adminEmails.stream().anyMatch(email -> email.strip().equalsIgnoreCase(user.getEmail()));
+    }
 }
@@ -2,10 +2,12 @@ package ces107.zesFin.service;
 
 import ces107.zesFin.exception.ResourceNotFoundException;
 import ces107.zesFin.model.Asset;
+import ces107.zesFin.model.SyncEntityType;
 import ces107.zesFin.model.User;
 import ces107.zesFin.repository.AssetRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -15,6 +17,7 @@ import java.util.List;
 public class AssetService {
 
     private final AssetRepository repository;
+    private final SyncService syncService;
 
     public List<Asset> findAll(User user) {
         return repository.findAllByUser(user);
@@ -25,13 +28,17 @@ public class AssetService {
                 .orElseThrow(() -> new ResourceNotFoundException("Asset", id));
     }
 
+    @Transactional
     public Asset create(Asset asset, User user) {
         asset.setUser(user);
+        asset.setSyncVersion(syncService.nextVersion(user.getId()));
         return repository.save(asset);
     }
 
+    @Transactional
     public Asset update(Long id, Asset updated, User user) {
         Asset existing = findById(id, user);
+        existing.setSyncVersion(syncService.nextVersion(user.getId()));
         existing.setName(updated.getName());
         existing.setIsin(updated.getIsin());
         existing.setCategory(updated.getCategory());
@@ -43,10 +50,12 @@ public class AssetService {
         return repository.save(existing);
     }
 
+    @Transactional
     public void delete(Long id, User user) {
         if (!repository.existsByIdAndUser(id, user)) {
             throw new ResourceNotFoundException("Asset", id);
         }
+        syncService.recordDeletion(user, SyncEntityType.ASSET, id);
         repository.deleteById(id);
     }
 
@@ -0,0 +1,131 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.BacktestResult;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Replays a {@link FireProfile} through every historical start year of the
+ * bundled {@link HistoricalReturnsDataset}.
+ *
+ * Unlike {@link FireCalculatorService}, the backtest works entirely in real
+ * terms: each year's portfolio return is deflated by that year's inflation,
+ * so the FIRE number stays fixed in today's money. The portfolio is rebalanced
+ * to the requested equity/bond split every year.
+ */
+@Service
+@RequiredArgsConstructor
+public class BacktestService {
+
+    public static final double DEFAULT_EQUITY_ALLOCATION = 0.8;
+    static final int DEFAULT_HORIZON_YEARS = 30;
+
+    private final HistoricalReturnsDataset dataset;
+
+    /**
+     * Replays the profile from every start year that has a full horizon of
+     * data, with the given share of equities and the rest in bonds. A null
+     * horizon runs to the profile's target retirement age, or 30 years when
+     * it has none.
+     */
+    public BacktestResult backtest(FireProfile profile, double equityAllocation,
+                                   Integer horizonYears) {
+        if (equityAllocation < 0 || equityAllocation > 1) {
+            throw new InvalidRequestException("equityAllocation must be between 0 and 1");
+        }
+        int horizon = resolveHorizon(profile, horizonYears);
+        if (horizon < 1 || horizon > dataset.size()) {
+            throw new InvalidRequestException(
+                    "horizon must be between 1 and " + dataset.size() + " years");
+        }
+
+        FireInputs inputs = FireInputs.from(profile);
+        double fireNumber = inputs.fireNumber();
+        int starts = dataset.size() - horizon + 1;
+        double[] terminal = new double[starts];
+        int[] fireYear = new int[starts];
+
+        ComputeContext context = ComputeContext.current();
+        context.run(() -> IntStream.range(0, starts).parallel().forEach(start -> {
+            context.checkCancelled();
+            double baseAnnualContribution = inputs.monthlyContribution() * 12;
+            double contributionStep = 1 + inputs.annualContributionIncreaseRate();
+            double savings = inputs.currentSavings();
+            double contributionFactor = 1;
+            int reached = -1;
+
+            for (int k = 0; k < horizon; k++) {
+                if (reached < 0 && savings >= fireNumber) reached = k;
+                int i = start + k;
+                double nominal = equityAllocation * dataset.equity(i)
+                        + (1 - equityAllocation) * dataset.bonds(i);
+                savings = savings * (1 + nominal) / (1 + dataset.inflation(i))
+                        + baseAnnualContribution * contributionFactor;
+                contributionFactor *= contributionStep;
+            }
+            if (reached < 0 && savings >= fireNumber) reached = horizon;
+
+            terminal[start] = savings;
+            fireYear[start] = reached;
+        }));
+
+        return summarize(inputs, equityAllocation, horizon, fireNumber, terminal, fireYear);
+    }
+
+    private BacktestResult summarize(FireInputs inputs, double equityAllocation, int horizon,
+                                     double fireNumber, double[] terminal, int[] fireYear) {
+        int starts = terminal.length;
+        List<BacktestResult.Run> runs = new ArrayList<>(starts);
+        int successes = 0;
+        int worst = 0;
+        int best = 0;
+
+        for (int s = 0; s < starts; s++) {
+            boolean success = fireYear[s] >= 0;
+            if (success) successes++;
+            if (terminal[s] < terminal[worst]) worst = s;
+            if (terminal[s] > terminal[best]) best = s;
+            runs.add(BacktestResult.Run.builder()
+                    .startYear(dataset.firstYear() + s)
+                    .fireAge(success ? inputs.currentAge() + fireYear[s] : null)
+                    .terminalWealth(Numerics.toMoney(terminal[s]))
+                    .success(success)
+                    .build());
+        }
+
+        double[] sorted = terminal.clone();
+        Arrays.sort(sorted);
+        double median = starts % 2 == 1
+                ? sorted[starts / 2]
+                : (sorted[starts / 2 - 1] + sorted[starts / 2]) / 2;
+
+        return BacktestResult.builder()
+                .datasetFirstYear(dataset.firstYear())
+                .datasetLastYear(dataset.lastYear())
+                .horizonYears(horizon)
+                .equityAllocation(equityAllocation)
+                .fireNumber(Numerics.toMoney(fireNumber))
+                .startYears(starts)
+                .successRate((double) successes / starts)
+                .worstStartYear(dataset.firstYear() + worst)
+                .worstTerminalWealth(Numerics.toMoney(terminal[worst]))
+                .bestStartYear(dataset.firstYear() + best)
+                .bestTerminalWealth(Numerics.toMoney(terminal[best]))
+                .medianTerminalWealth(Numerics.toMoney(median))
+                .runs(runs)
+                .build();
+    }
+
+    private static int resolveHorizon(FireProfile profile, Integer horizonYears) {
+        if (horizonYears != null) return horizonYears;
+        Integer target = profile.getTargetRetirementAge();
+        return target != null ? target - profile.getCurrentAge() : DEFAULT_HORIZON_YEARS;
+    }
+}
@@ -0,0 +1,111 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.model.AssetCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nominal annual return assumptions per {@link AssetCategory}: mean,
+ * volatility and pairwise correlation. All arrays are in
+ * {@code AssetCategory.values()} order; correlations are the upper triangle
+ * read row by row (EQUITY-BONDS, EQUITY-CRYPTO, ..., CASH-REAL_ESTATE).
+ *
+ * The covariance matrix is Cholesky-decomposed once at startup, so
+ * simulations draw correlated returns as {@code mean + L z} without
+ * refactoring it per request.
+ */
+@Component
+public class CapitalMarketAssumptions {
+
+    private static final int N = AssetCategory.values().length;
+
+    private final double[] means;
+    private final double[] volatilities;
+    private final double[][] covariance;
+    private final double[][] cholesky;
+
+    public CapitalMarketAssumptions(
+            @Value("${app.fire.cma.means:0.07,0.035,0.08,0.02,0.055}") double[] means,
+            @Value("${app.fire.cma.volatilities:0.16,0.06,0.70,0.01,0.12}") double[] volatilities,
+            @Value("${app.fire.cma.correlations:0.1,0.3,0.0,0.6,0.0,0.2,0.2,0.0,0.2,0.0}") double[] correlations) {
+        if (means.length != N || volatilities.length != N || correlations.length != N * (N - 1) / 2) {
+            throw new IllegalStateException("Capital market assumptions need " + N + " means, " + N
+                    + " volatilities and " + N * (N - 1) / 2 + " correlations");
+        }
+        this.means = means.clone();
+        this.volatilities = volatilities.clone();
+        this.covariance = new double[N][N];
+        int c = 0;
+        for (int i = 0; i < N; i++) {
+            covariance[i][i] = volatilities[i] * volatilities[i];
+            for (int j = i + 1; j < N; j++) {
+                double rho = correlations[c++];
+                if (rho < -1 || rho > 1) {
+                    throw new IllegalStateException("Correlations must be between -1 and 1");
+                }
+                covariance[i][j] = covariance[j][i] = rho * volatilities[i] * volatilities[j];
+            }
+        }
+        this.cholesky = decompose(covariance);
+    }
+
+    public int size() {
+        return N;
+    }
+
+    public double mean(int category) {
+        return means[category];
+    }
+
+    public double volatility(int category) {
+        return volatilities[category];
+    }
+
+    public double covariance(int i, int j) {
+        return covariance[i][j];
+    }
+
+    /** Lower-triangular factor L with L L^T = covariance. Shared; do not modify. */
+    double[][] cholesky() {
+        return cholesky;
+    }
+
+    /** Expected nominal return of a yearly-rebalanced portfolio with these weights. */
+    public double portfolioMean(double[] weights) {
+        double mean = 0;
+        for (int i = 0; i < N; i++) mean += weights[i] * means[i];
+        return mean;
+    }
+
+    /** Standard deviation of the nominal return of a portfolio with these weights. */
+    public double portfolioVolatility(double[] weights) {
+        double variance = 0;
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) variance += weights[i] * weights[j] * covariance[i][j];
+        }
+        return Math.sqrt(Math.max(0, variance));
+    }
+
+    /**
+     * Cholesky-Banachiewicz decomposition. Zero-variance categories (e.g. a
+     * cash volatility of 0) give a zero row instead of failing.
+     */
+    private static double[][] decompose(double[][] a) {
+        double[][] l = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = a[i][j];
+                for (int k = 0; k < j; k++) sum -= l[i][k] * l[j][k];
+                if (i == j) {
+                    if (sum < -1e-12) {
+                        throw new IllegalStateException("Correlation matrix is not positive semi-definite");
+                    }
+                    l[i][i] = Math.sqrt(Math.max(0, sum));
+                } else {
+                    l[i][j] = l[j][j] > 0 ? sum / l[j][j] : 0;
+                }
+            }
+        }
+        return l;
+    }
+}
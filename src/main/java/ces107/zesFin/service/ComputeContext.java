@@ -0,0 +1,90 @@
+package ces107.zesFin.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Fork-join pool and cancellation flag of the calculation running on the
+ * current thread.
+ *
+ * {@link FireComputeExecutor} binds a context around every admitted task, so
+ * parallel stages started by that task run on the bulkhead's own pool rather
+ * than the common one, and stop at the next {@link #checkCancelled()} once the
+ * task has timed out. Code called outside the bulkhead (tests, scheduled jobs)
+ * gets a detached context on the common pool that is never cancelled.
+ *
+ * A context is captured on the calling thread when a stage starts; subtasks
+ * close over it, since they run on pool workers that have no binding.
+ */
+final class ComputeContext {
+
+    private static final ComputeContext DETACHED = new ComputeContext(ForkJoinPool.commonPool());
+    private static final ThreadLocal<ComputeContext> CURRENT = new ThreadLocal<>();
+
+    private final ForkJoinPool pool;
+    private volatile boolean cancelled;
+
+    ComputeContext(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Context bound to this thread, or the detached one. */
+    static ComputeContext current() {
+        ComputeContext context = CURRENT.get();
+        return context != null ? context : DETACHED;
+    }
+
+    /** Runs the task with this context bound to the current thread. */
+    <T> T call(Callable<T> task) throws Exception {
+        ComputeContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) CURRENT.set(previous);
+            else CURRENT.remove();
+        }
+    }
+
+    /** Runs a fork-join task on this context's pool and waits for it. */
+    <T> T invoke(ForkJoinTask<T> task) {
+        checkCancelled();
+        return pool.invoke(task);
+    }
+
+    /**
+     * Runs a parallel stage, typically a parallel stream, on this context's
+     * pool so its subtasks are forked there and not on the common pool.
+     */
+    <T> T invoke(Supplier<T> stage) {
+        return invoke(ForkJoinTask.adapt((Callable<T>) stage::get));
+    }
+
+    void run(Runnable stage) {
+        invoke(ForkJoinTask.adapt(stage));
+    }
+
+    ForkJoinPool pool() {
+        return pool;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Called by subtasks between units of work.
+     *
+     * @throws CancellationException once the calculation has been cancelled
+     */
+    void checkCancelled() {
+        if (cancelled) throw new CancellationException("Calculation cancelled");
+    }
+}
@@ -0,0 +1,103 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.exception.InvalidRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: comma-separated fields, optionally enclosed in
+ * double quotes, with {@code ""} for a literal quote and commas or line
+ * breaks allowed inside quotes. Records are read one at a time, so memory is
+ * bounded by the longest record.
+ */
+final class CsvReader {
+
+    static final int MAX_RECORD_LENGTH = 65_536;
+
+    private final Reader in;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+
+    /** Reads from a source the caller has already buffered. */
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next record's fields, unquoted, or null at the end of input.
+     * A blank line yields a single empty field.
+     *
+     * @throws InvalidRequestException if a quoted field is not closed or a
+     *         record exceeds {@value #MAX_RECORD_LENGTH} characters
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) return null;
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int length = 0;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidRequestException("Unterminated quoted field on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                    field.append('"');
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') pushedBack = following;
+                }
+                if (c != -1) line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new InvalidRequestException("CSV record on line " + recordLine + " is longer than "
+                        + MAX_RECORD_LENGTH + " characters");
+            }
+            c = read();
+        }
+    }
+
+    /** Line on which the last record returned by {@link #next()} started, counting from 1. */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+}
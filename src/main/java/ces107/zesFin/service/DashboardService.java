@@ -2,46 +2,38 @@ package ces107.zesFin.service;
 
 import ces107.zesFin.dto.DashboardSummary;
 import ces107.zesFin.model.EntryType;
-import ces107.zesFin.model.PortfolioSnapshot;
 import ces107.zesFin.model.User;
 import ces107.zesFin.repository.AssetRepository;
-import ces107.zesFin.repository.PortfolioSnapshotRepository;
 import ces107.zesFin.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final PortfolioSnapshotRepository snapshotRepository;
+    private final SnapshotSeriesCache seriesCache;
     private final TransactionRepository transactionRepository;
     private final AssetRepository assetRepository;
 
     /**
      * Builds a dashboard summary for the given user.
-     * Retrieves latest entries of each type independently.
+     * Retrieves latest entries of each type independently, from the
+     * in-memory snapshot series rather than the database.
      *
      * @param user the authenticated user
      * @return aggregated dashboard data
      */
     public DashboardSummary getSummary(final User user) {
-        final Optional<PortfolioSnapshot> latestInvested = snapshotRepository
-                .findTopByUserAndEntryTypeOrderByDateDesc(user, EntryType.TOTAL_INVESTED);
-
-        final Optional<PortfolioSnapshot> latestValue = snapshotRepository
-                .findTopByUserAndEntryTypeOrderByDateDesc(user, EntryType.PORTFOLIO_VALUE);
-
-        final BigDecimal totalInvested = latestInvested
-                .map(PortfolioSnapshot::getValue)
+        final BigDecimal totalInvested = seriesCache
+                .latestValue(user.getId(), EntryType.TOTAL_INVESTED)
                 .orElse(BigDecimal.ZERO);
 
-        final BigDecimal portfolioValue = latestValue
-                .map(PortfolioSnapshot::getValue)
+        final BigDecimal portfolioValue = seriesCache
+                .latestValue(user.getId(), EntryType.PORTFOLIO_VALUE)
                 .orElse(BigDecimal.ZERO);
 
         final BigDecimal yield = portfolioValue.subtract(totalInvested);
@@ -0,0 +1,204 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.DecumulationResult;
+import ces107.zesFin.dto.DecumulationResult.WithdrawalStrategy;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates the withdrawal phase that {@link FireCalculatorService} stops at:
+ * from the FIRE age to 100, the portfolio funds a yearly withdrawal at the
+ * start of each year and then earns that year's return.
+ *
+ * Amounts are in real terms, expressed in money of the first withdrawal year.
+ * The first withdrawal is the profile's annual expenses inflated to that year;
+ * nominal returns are drawn from a normal distribution (volatility 0 gives a
+ * single deterministic path) and deflated by the profile's inflation rate.
+ *
+ * Each path keeps its state in locals, so the inner loop allocates nothing;
+ * per-path outcomes go into primitive arrays shared by the fork-join blocks.
+ */
+@Service
+@RequiredArgsConstructor
+public class DecumulationService {
+
+    public static final double DEFAULT_VOLATILITY = MonteCarloService.DEFAULT_VOLATILITY;
+    public static final int DEFAULT_PATHS = MonteCarloService.DEFAULT_PATHS;
+    static final int END_AGE = 100;
+
+    // Guyton-Klinger guardrails: +-20% around the initial rate, 10% adjustments,
+    // capital preservation suspended in the last 15 years
+    static final double UPPER_GUARDRAIL = 1.2;
+    static final double LOWER_GUARDRAIL = 0.8;
+    static final double GUARDRAIL_ADJUSTMENT = 0.10;
+    static final int PRESERVATION_CUTOFF_YEARS = 15;
+
+    private final FireCalculatorService calculatorService;
+
+    /**
+     * Runs the decumulation simulation over 1,000 to 100,000 return paths,
+     * or a single one when volatility is 0. The profile supplies expenses,
+     * inflation and the default return. Withdrawals start at the projected
+     * FIRE age from the projected savings at that age, unless a start age or
+     * portfolio is given; a null seed uses a random one.
+     */
+    public DecumulationResult simulate(FireProfile profile, WithdrawalStrategy strategy,
+                                       int paths, Double meanReturn, double volatility,
+                                       Long seed, Integer startAge, Double portfolio) {
+        if (volatility < 0 || volatility > 1) {
+            throw new InvalidRequestException("volatility must be between 0 and 1");
+        }
+        if (volatility > 0 && (paths < MonteCarloService.MIN_PATHS || paths > MonteCarloService.MAX_PATHS)) {
+            throw new InvalidRequestException(
+                    "paths must be between " + MonteCarloService.MIN_PATHS + " and " + MonteCarloService.MAX_PATHS);
+        }
+
+        FireInputs inputs = FireInputs.from(profile);
+        int start = resolveStartAge(inputs, startAge);
+        double startingPortfolio = portfolio != null ? portfolio : calculatorService.savingsAtAge(inputs, start);
+        if (startingPortfolio <= 0) {
+            throw new InvalidRequestException("portfolio must be positive");
+        }
+
+        int years = END_AGE - start;
+        int pathCount = volatility == 0 ? 1 : paths;
+        double mean = meanReturn != null ? meanReturn : inputs.expectedReturnRate();
+        long rootSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        double initialWithdrawal = inputs.monthlyExpenses() * 12
+                * Math.pow(1 + inputs.inflationRate(), start - inputs.currentAge());
+
+        double[] terminal = new double[pathCount];
+        double[] minWithdrawal = new double[pathCount];
+        int[] depletedYear = new int[pathCount];
+
+        ParallelPaths.run(pathCount, rootSeed, (from, to, random) -> {
+            for (int p = from; p < to; p++) {
+                simulatePath(strategy, startingPortfolio, initialWithdrawal, mean, volatility,
+                        inputs.inflationRate(), years, random, p, terminal, minWithdrawal, depletedYear);
+            }
+        });
+
+        return summarize(strategy, start, years, mean, volatility, rootSeed, startingPortfolio,
+                initialWithdrawal, terminal, minWithdrawal, depletedYear);
+    }
+
+    /**
+     * One path, entirely in locals. A path is depleted in the first year whose
+     * withdrawal the balance can no longer fund in full; from then on it
+     * withdraws whatever is left.
+     */
+    private static void simulatePath(WithdrawalStrategy strategy, double startingPortfolio,
+                                     double initialWithdrawal, double mean, double volatility,
+                                     double inflationRate, int years, SplittableRandom random,
+                                     int p, double[] terminal, double[] minWithdrawal,
+                                     int[] depletedYear) {
+        double inflationStep = 1 + inflationRate;
+        double initialRate = initialWithdrawal / startingPortfolio;
+        double balance = startingPortfolio;
+        double withdrawal = initialWithdrawal;
+        double lowest = Double.MAX_VALUE;
+        double previousNominal = 0;
+        int depleted = -1;
+
+        for (int y = 0; y < years; y++) {
+            if (strategy == WithdrawalStrategy.PERCENT_OF_PORTFOLIO) {
+                withdrawal = initialRate * balance;
+            } else if (strategy == WithdrawalStrategy.GUARDRAILS && y > 0 && balance > 0) {
+                // Inflation rule: no raise after a losing year when above the initial rate
+                if (previousNominal < 0 && withdrawal / balance > initialRate) {
+                    withdrawal /= inflationStep;
+                }
+                double rate = withdrawal / balance;
+                if (rate > initialRate * UPPER_GUARDRAIL && years - y > PRESERVATION_CUTOFF_YEARS) {
+                    withdrawal *= 1 - GUARDRAIL_ADJUSTMENT;
+                } else if (rate < initialRate * LOWER_GUARDRAIL) {
+                    withdrawal *= 1 + GUARDRAIL_ADJUSTMENT;
+                }
+            }
+
+            double taken = Math.min(withdrawal, balance);
+            if (taken < withdrawal && depleted < 0) depleted = y;
+            if (taken < lowest) lowest = taken;
+            balance -= taken;
+
+            previousNominal = mean + volatility * random.nextGaussian();
+            balance *= Math.max(0, (1 + previousNominal) / inflationStep);
+        }
+
+        terminal[p] = balance;
+        minWithdrawal[p] = years > 0 ? lowest : 0;
+        depletedYear[p] = depleted;
+    }
+
+    private DecumulationResult summarize(WithdrawalStrategy strategy, int startAge, int years,
+                                         double mean, double volatility, long seed,
+                                         double startingPortfolio, double initialWithdrawal,
+                                         double[] terminal, double[] minWithdrawal,
+                                         int[] depletedYear) {
+        int paths = terminal.length;
+
+        int[] depletedAt = new int[years + 1];
+        int depletedPaths = 0;
+        for (int year : depletedYear) {
+            if (year >= 0) {
+                depletedAt[year]++;
+                depletedPaths++;
+            }
+        }
+
+        double[] solvency = new double[years + 1];
+        Integer medianDepletionAge = null;
+        int cumulative = 0;
+        for (int y = 0; y <= years; y++) {
+            cumulative += depletedAt[y];
+            solvency[y] = (double) (paths - cumulative) / paths;
+            if (medianDepletionAge == null && depletedPaths > 0 && cumulative * 2 >= depletedPaths) {
+                medianDepletionAge = startAge + y;
+            }
+        }
+
+        Arrays.sort(terminal);
+        Arrays.sort(minWithdrawal);
+
+        return DecumulationResult.builder()
+                .strategy(strategy)
+                .startAge(startAge)
+                .endAge(END_AGE)
+                .paths(paths)
+                .meanReturn(mean)
+                .volatility(volatility)
+                .seed(seed)
+                .startingPortfolio(Numerics.toMoney(startingPortfolio))
+                .initialWithdrawal(Numerics.toMoney(initialWithdrawal))
+                .initialWithdrawalRate(initialWithdrawal / startingPortfolio)
+                .depletionProbability((double) depletedPaths / paths)
+                .medianDepletionAge(medianDepletionAge)
+                .terminalP10(Numerics.toMoney(Numerics.percentile(terminal, 0.10)))
+                .terminalP50(Numerics.toMoney(Numerics.percentile(terminal, 0.50)))
+                .terminalP90(Numerics.toMoney(Numerics.percentile(terminal, 0.90)))
+                .minimumWithdrawalP10(Numerics.toMoney(Numerics.percentile(minWithdrawal, 0.10)))
+                .minimumWithdrawalP50(Numerics.toMoney(Numerics.percentile(minWithdrawal, 0.50)))
+                .solvencyByYear(solvency)
+                .build();
+    }
+
+    private int resolveStartAge(FireInputs inputs, Integer startAge) {
+        if (startAge != null) {
+            if (startAge < inputs.currentAge() || startAge >= END_AGE) {
+                throw new InvalidRequestException(
+                        "startAge must be between the current age and " + (END_AGE - 1));
+            }
+            return startAge;
+        }
+        FireSummary summary = calculatorService.summarize(inputs);
+        if (!summary.achievable() || summary.fireAge() >= END_AGE) {
+            throw new InvalidRequestException("FIRE is not reached before age " + END_AGE + "; pass startAge");
+        }
+        return summary.fireAge();
+    }
+}
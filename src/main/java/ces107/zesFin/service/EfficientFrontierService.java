@@ -0,0 +1,212 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.EfficientFrontier;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.Asset;
+import ces107.zesFin.model.AssetCategory;
+import ces107.zesFin.model.FireProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-only mean-variance frontier over {@link AssetCategory} buckets, using
+ * {@link CapitalMarketAssumptions}.
+ *
+ * Each frontier point solves: minimise w'Σw subject to sum(w) = 1,
+ * μ'w = target and w >= 0. With five categories the problem is solved
+ * exactly by active-set enumeration: for each of the 31 non-empty supports
+ * the equality-constrained problem is a small KKT linear system, and the
+ * optimum is the feasible (non-negative) support solution with the lowest
+ * variance. Hundreds of points take a few milliseconds on one core.
+ */
+@Service
+@RequiredArgsConstructor
+public class EfficientFrontierService {
+
+    public static final int DEFAULT_POINTS = 50;
+    static final int MAX_POINTS = 500;
+
+    private static final AssetCategory[] CATEGORIES = AssetCategory.values();
+    private static final double SINGULAR = 1e-14;
+
+    private final CapitalMarketAssumptions assumptions;
+    private final FireCalculatorService calculatorService;
+
+    /**
+     * Computes the frontier with between 2 and 500 points and compares the
+     * allocation of the user's assets against it, turning expected returns
+     * into FIRE ages with the profile. The recommendation stays within
+     * {@code maxVolatility}, or the current allocation's volatility when it
+     * is null.
+     */
+    public EfficientFrontier optimize(FireProfile profile, List<Asset> assets, int points,
+                                      Double maxVolatility) {
+        if (points < 2 || points > MAX_POINTS) {
+            throw new InvalidRequestException("points must be between 2 and " + MAX_POINTS);
+        }
+        FireInputs inputs = FireInputs.from(profile);
+        double[] currentWeights = MultiAssetMonteCarloService.currentWeights(assets);
+        if (maxVolatility == null && currentWeights == null) {
+            throw new InvalidRequestException("maxVolatility is required when there are no assets");
+        }
+
+        List<double[]> frontier = frontier(points);
+        EfficientFrontier.Point current = currentWeights != null ? point(inputs, currentWeights) : null;
+        double riskLimit = maxVolatility != null ? maxVolatility : current.getVolatility();
+
+        List<EfficientFrontier.Point> frontierPoints = new ArrayList<>(frontier.size());
+        EfficientFrontier.Point sameRisk = null;
+        EfficientFrontier.Point recommended = null;
+        for (double[] weights : frontier) {
+            EfficientFrontier.Point point = point(inputs, weights);
+            frontierPoints.add(point);
+            if (current != null && point.getVolatility() <= current.getVolatility() + 1e-12) {
+                sameRisk = point;
+            }
+            if (point.getVolatility() <= riskLimit + 1e-12 && reachesSooner(point, recommended)) {
+                recommended = point;
+            }
+        }
+
+        return EfficientFrontier.builder()
+                .maxVolatility(riskLimit)
+                .frontier(frontierPoints)
+                .current(current)
+                .sameRiskOptimal(sameRisk)
+                .recommended(recommended)
+                .build();
+    }
+
+    /**
+     * Frontier weights for evenly spaced target returns from the minimum-variance
+     * portfolio's return up to the highest category mean.
+     */
+    List<double[]> frontier(int points) {
+        double[] minVariance = minimumVariance(Double.NaN);
+        double low = assumptions.portfolioMean(minVariance);
+        double high = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < CATEGORIES.length; k++) high = Math.max(high, assumptions.mean(k));
+
+        List<double[]> frontier = new ArrayList<>(points);
+        frontier.add(minVariance);
+        for (int p = 1; p < points; p++) {
+            double target = low + (high - low) * p / (points - 1);
+            double[] weights = minimumVariance(target);
+            if (weights != null) frontier.add(weights);
+        }
+        return frontier;
+    }
+
+    /**
+     * Long-only minimum-variance weights, with the expected return pinned to
+     * {@code target} unless it is NaN. Returns null if the target is unattainable.
+     */
+    double[] minimumVariance(double target) {
+        int n = CATEGORIES.length;
+        double[] best = null;
+        double bestVariance = Double.POSITIVE_INFINITY;
+        for (int mask = 1; mask < 1 << n; mask++) {
+            double[] weights = solveSupport(mask, target);
+            if (weights == null) continue;
+            double volatility = assumptions.portfolioVolatility(weights);
+            double variance = volatility * volatility;
+            if (variance < bestVariance - 1e-15) {
+                best = weights;
+                bestVariance = variance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Solves the KKT system restricted to the categories in {@code mask}:
+     * [2Σ 1 μ; 1' 0 0; μ' 0 0] [w; λ; γ] = [0; 1; target].
+     * Returns null when the system is singular or the solution is negative.
+     */
+    private double[] solveSupport(int mask, double target) {
+        boolean pinReturn = !Double.isNaN(target);
+        int[] index = new int[Integer.bitCount(mask)];
+        for (int k = 0, s = 0; k < CATEGORIES.length; k++) {
+            if ((mask & 1 << k) != 0) index[s++] = k;
+        }
+        int s = index.length;
+
+        if (s == 1) {
+            if (pinReturn && Math.abs(assumptions.mean(index[0]) - target) > 1e-12) return null;
+            double[] weights = new double[CATEGORIES.length];
+            weights[index[0]] = 1;
+            return weights;
+        }
+
+        int m = s + (pinReturn ? 2 : 1);
+        double[][] a = new double[m][m + 1];
+        for (int i = 0; i < s; i++) {
+            for (int j = 0; j < s; j++) a[i][j] = 2 * assumptions.covariance(index[i], index[j]);
+            a[i][s] = a[s][i] = 1;
+            if (pinReturn) a[i][s + 1] = a[s + 1][i] = assumptions.mean(index[i]);
+        }
+        a[s][m] = 1;
+        if (pinReturn) a[s + 1][m] = target;
+
+        if (!eliminate(a, m)) return null;
+
+        double[] weights = new double[CATEGORIES.length];
+        for (int i = 0; i < s; i++) {
+            double w = a[i][m];
+            if (w < -1e-12) return null;
+            weights[index[i]] = Math.max(0, w);
+        }
+        return weights;
+    }
+
+    /** Gauss-Jordan elimination with partial pivoting on an augmented m x (m+1) matrix, in place. */
+    private static boolean eliminate(double[][] a, int m) {
+        for (int col = 0; col < m; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < m; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) pivot = r;
+            }
+            if (Math.abs(a[pivot][col]) < SINGULAR) return false;
+            double[] swap = a[col];
+            a[col] = a[pivot];
+            a[pivot] = swap;
+
+            double inverse = 1 / a[col][col];
+            for (int c = col; c <= m; c++) a[col][c] *= inverse;
+            for (int r = 0; r < m; r++) {
+                if (r == col || a[r][col] == 0) continue;
+                double factor = a[r][col];
+                for (int c = col; c <= m; c++) a[r][c] -= factor * a[col][c];
+            }
+        }
+        return true;
+    }
+
+    private EfficientFrontier.Point point(FireInputs inputs, double[] weights) {
+        double expectedReturn = assumptions.portfolioMean(weights);
+        FireSummary summary = calculatorService.summarize(
+                FireParameter.EXPECTED_RETURN_RATE.apply(inputs, expectedReturn));
+        Map<AssetCategory, Double> map = new EnumMap<>(AssetCategory.class);
+        for (int k = 0; k < weights.length; k++) {
+            if (weights[k] > 0) map.put(CATEGORIES[k], weights[k]);
+        }
+        return EfficientFrontier.Point.builder()
+                .weights(map)
+                .expectedReturn(expectedReturn)
+                .volatility(assumptions.portfolioVolatility(weights))
+                .fireAge(summary.achievable() ? summary.fireAge() : null)
+                .build();
+    }
+
+    /** Earlier FIRE wins; on a tie the less volatile (earlier on the frontier) point is kept. */
+    private static boolean reachesSooner(EfficientFrontier.Point candidate, EfficientFrontier.Point best) {
+        if (best == null) return true;
+        if (candidate.getFireAge() == null) return false;
+        return best.getFireAge() == null || candidate.getFireAge() < best.getFireAge();
+    }
+}
@@ -1,6 +1,7 @@
 package ces107.zesFin.service;
 
 import ces107.zesFin.dto.FireProjection;
+import ces107.zesFin.dto.MonthlyFireProjection;
 import ces107.zesFin.model.FireProfile;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +17,29 @@ public class FireCalculatorService {
 
     private static final MathContext MC = new MathContext(10, RoundingMode.HALF_UP);
     private static final int MAX_PROJECTION_YEARS = 60;
+    private static final int MAX_AGE = 100;
+
+    /**
+     * Projection engine selectable per request.
+     * EXACT is the BigDecimal reference implementation; FAST runs the same
+     * model on primitive doubles and only converts to BigDecimal for the DTO.
+     */
+    public enum Engine {
+        EXACT,
+        FAST
+    }
+
+    /**
+     * Number of compounding steps a projection runs for: up to 60 years,
+     * stopping at age 100. The projection has one more row than this.
+     */
+    public static int horizonYears(int currentAge) {
+        return Math.min(MAX_PROJECTION_YEARS, Math.max(0, MAX_AGE - currentAge));
+    }
+
+    public FireProjection calculate(FireProfile profile, Engine engine) {
+        return engine == Engine.FAST ? calculateFast(profile) : calculate(profile);
+    }
 
     public FireProjection calculate(FireProfile profile) {
         BigDecimal baseAnnualContribution = profile.getMonthlyContribution()
@@ -70,7 +94,7 @@ public class FireCalculatorService {
                     .fireMilestone(milestone)
                     .build());
 
-            if (age >= 100) break;
+            if (age >= MAX_AGE) break;
 
             // Compound: savings = savings * (1 + realReturn) + yearContribution
             BigDecimal growth = savings.multiply(BigDecimal.valueOf(realReturn), MC);
@@ -89,4 +113,187 @@ public class FireCalculatorService {
                 .fireAchievable(fireAge != -1)
                 .build();
     }
+
+    /**
+     * Same model as {@link #calculate(FireProfile)} computed on primitive doubles.
+     * Inflation and contribution growth factors are accumulated incrementally
+     * instead of calling Math.pow each year; values are rounded to cents only
+     * when building the response, so results match the BigDecimal engine
+     * within one cent.
+     */
+    public FireProjection calculateFast(FireProfile profile) {
+        FireInputs inputs = FireInputs.from(profile);
+        double baseAnnualContribution = inputs.monthlyContribution() * 12;
+        double fireNumber = inputs.fireNumber();
+        double realReturn = inputs.realReturn();
+        double inflationStep = 1 + inputs.inflationRate();
+        double contributionStep = 1 + inputs.annualContributionIncreaseRate();
+
+        double savings = inputs.currentSavings();
+        double totalContributions = inputs.currentSavings();
+        double inflationFactor = 1;
+        double contributionFactor = 1;
+        int currentYear = LocalDate.now().getYear();
+        int fireAge = -1;
+        double savingsAtFire = 0;
+
+        List<FireProjection.YearlyProjection> projections = new ArrayList<>(MAX_PROJECTION_YEARS + 1);
+
+        for (int year = 0; year <= MAX_PROJECTION_YEARS; year++) {
+            int age = inputs.currentAge() + year;
+            double inflatedFireNumber = fireNumber * inflationFactor;
+            double yearContribution = baseAnnualContribution * contributionFactor;
+
+            boolean milestone = fireAge == -1 && savings >= inflatedFireNumber;
+            if (milestone) {
+                fireAge = age;
+                savingsAtFire = savings;
+            }
+
+            projections.add(FireProjection.YearlyProjection.builder()
+                    .age(age)
+                    .year(currentYear + year)
+                    .totalSavings(Numerics.toMoney(savings))
+                    .totalContributions(Numerics.toMoney(totalContributions))
+                    .totalGrowth(Numerics.toMoney(savings - totalContributions))
+                    .fireNumber(Numerics.toMoney(inflatedFireNumber))
+                    .annualContribution(Numerics.toMoney(yearContribution))
+                    .fireMilestone(milestone)
+                    .build());
+
+            if (age >= MAX_AGE) break;
+
+            savings += savings * realReturn + yearContribution;
+            totalContributions += yearContribution;
+            inflationFactor *= inflationStep;
+            contributionFactor *= contributionStep;
+        }
+
+        return FireProjection.builder()
+                .currentAge(inputs.currentAge())
+                .fireAge(fireAge == -1 ? null : fireAge)
+                .yearsToFire(fireAge == -1 ? null : fireAge - inputs.currentAge())
+                .fireNumber(Numerics.toMoney(fireNumber))
+                .currentSavings(profile.getCurrentSavings())
+                .projectedSavingsAtFire(Numerics.toMoney(savingsAtFire))
+                .yearlyProjections(projections)
+                .fireAchievable(fireAge != -1)
+                .build();
+    }
+
+    /**
+     * Summary-only variant of {@link #calculateFast(FireProfile)}: same model,
+     * no per-year rows, and it stops as soon as the FIRE milestone is reached.
+     * Intended for sweeps and solvers that evaluate many input combinations.
+     */
+    public FireSummary summarize(FireInputs inputs) {
+        double baseAnnualContribution = inputs.monthlyContribution() * 12;
+        double fireNumber = inputs.fireNumber();
+        double realReturn = inputs.realReturn();
+        double inflationStep = 1 + inputs.inflationRate();
+        double contributionStep = 1 + inputs.annualContributionIncreaseRate();
+        int steps = horizonYears(inputs.currentAge());
+
+        double savings = inputs.currentSavings();
+        double inflationFactor = 1;
+        double contributionFactor = 1;
+
+        for (int year = 0; ; year++) {
+            if (savings >= fireNumber * inflationFactor) {
+                return new FireSummary(inputs.currentAge() + year, savings);
+            }
+            if (year == steps) {
+                return new FireSummary(-1, 0);
+            }
+            savings += savings * realReturn + baseAnnualContribution * contributionFactor;
+            inflationFactor *= inflationStep;
+            contributionFactor *= contributionStep;
+        }
+    }
+
+    /**
+     * Projected savings at the given age, not before the current one, under
+     * the same model as {@link #summarize(FireInputs)}, ignoring the FIRE
+     * milestone.
+     */
+    public double savingsAtAge(FireInputs inputs, int age) {
+        double baseAnnualContribution = inputs.monthlyContribution() * 12;
+        double realReturn = inputs.realReturn();
+        double contributionStep = 1 + inputs.annualContributionIncreaseRate();
+
+        double savings = inputs.currentSavings();
+        double contributionFactor = 1;
+        for (int year = inputs.currentAge(); year < age; year++) {
+            savings += savings * realReturn + baseAnnualContribution * contributionFactor;
+            contributionFactor *= contributionStep;
+        }
+        return savings;
+    }
+
+    /**
+     * Monthly-granularity projection written into preallocated primitive
+     * arrays. Returns compound monthly at the real rate equivalent to the
+     * annual one, the FIRE number is inflated monthly, and contributions are
+     * raised by the annual increase rate once every twelve months. There is
+     * one entry per month up to the yearly horizon.
+     */
+    public MonthlyFireProjection calculateMonthly(FireProfile profile) {
+        FireInputs inputs = FireInputs.from(profile);
+        int months = horizonYears(inputs.currentAge()) * 12;
+        double monthlyGrowth = Math.pow(1 + inputs.realReturn(), 1.0 / 12);
+        double monthlyInflation = Math.pow(1 + inputs.inflationRate(), 1.0 / 12);
+        double contributionStep = 1 + inputs.annualContributionIncreaseRate();
+        double fireNumber = inputs.fireNumber();
+
+        double[] totalSavings = new double[months + 1];
+        double[] totalContributions = new double[months + 1];
+        double[] fireNumbers = new double[months + 1];
+        double[] monthlyContributions = new double[months + 1];
+
+        double savings = inputs.currentSavings();
+        double contributed = inputs.currentSavings();
+        double contribution = inputs.monthlyContribution();
+        double inflationFactor = 1;
+        int fireMonth = -1;
+        double savingsAtFire = 0;
+
+        for (int m = 0; ; m++) {
+            if (m > 0 && m % 12 == 0) contribution *= contributionStep;
+            double inflatedFireNumber = fireNumber * inflationFactor;
+            if (fireMonth == -1 && savings >= inflatedFireNumber) {
+                fireMonth = m;
+                savingsAtFire = savings;
+            }
+
+            totalSavings[m] = roundCents(savings);
+            totalContributions[m] = roundCents(contributed);
+            fireNumbers[m] = roundCents(inflatedFireNumber);
+            monthlyContributions[m] = roundCents(contribution);
+
+            if (m == months) break;
+
+            savings = savings * monthlyGrowth + contribution;
+            contributed += contribution;
+            inflationFactor *= monthlyInflation;
+        }
+
+        return MonthlyFireProjection.builder()
+                .currentAge(inputs.currentAge())
+                .startDate(LocalDate.now().withDayOfMonth(1))
+                .months(months + 1)
+                .fireMonth(fireMonth == -1 ? null : fireMonth)
+                .fireAge(fireMonth == -1 ? null : inputs.currentAge() + fireMonth / 12)
+                .fireNumber(Numerics.toMoney(fireNumber))
+                .projectedSavingsAtFire(Numerics.toMoney(savingsAtFire))
+                .fireAchievable(fireMonth != -1)
+                .totalSavings(totalSavings)
+                .totalContributions(totalContributions)
+                .fireNumbers(fireNumbers)
+                .monthlyContributions(monthlyContributions)
+                .build();
+    }
+
+    private static double roundCents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
 }
@@ -0,0 +1,254 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.exception.ComputeRejectedException;
+import ces107.zesFin.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulkhead for CPU-heavy FIRE calculations.
+ *
+ * Calculations run on a fixed pool with a bounded queue instead of on the
+ * servlet request thread, so a burst of simulations cannot take every core
+ * away from the ledger endpoints. Admission fails fast: a user over the
+ * per-user in-flight limit gets {@link ComputeRejectedException.Reason#USER_LIMIT},
+ * a full queue gets {@link ComputeRejectedException.Reason#QUEUE_FULL}, and a
+ * calculation still running after the timeout is cancelled with
+ * {@link ComputeRejectedException.Reason#TIMEOUT}.
+ *
+ * Parallel stages inside a calculation run on a second, fork-join pool owned
+ * by the bulkhead and sized like it, reached through {@link ComputeContext};
+ * a timed-out calculation is flagged there so its subtasks stop as well.
+ *
+ * Publishes {@code fire.compute.queue.depth}, {@code fire.compute.active} and
+ * {@code fire.compute.rejections{reason=...}}.
+ */
+@Component
+public class FireComputeExecutor {
+
+    private static final Object ANONYMOUS = new Object();
+
+    private final ThreadPoolExecutor pool;
+    private final ForkJoinPool forkJoinPool;
+    private final int perUserLimit;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final ConcurrentHashMap<Object, Integer> inFlight = new ConcurrentHashMap<>();
+    private final Map<ComputeRejectedException.Reason, AtomicLong> rejections =
+            new EnumMap<>(ComputeRejectedException.Reason.class);
+
+    public FireComputeExecutor(@Value("${app.fire.compute.threads:0}") int threads,
+                               @Value("${app.fire.compute.queue-capacity:32}") int queueCapacity,
+                               @Value("${app.fire.compute.per-user-limit:2}") int perUserLimit,
+                               @Value("${app.fire.compute.timeout:30s}") Duration timeout,
+                               @Value("${app.fire.compute.retry-after:2s}") Duration retryAfter,
+                               MeterRegistry registry) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fire-compute-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        AtomicInteger workerSequence = new AtomicInteger();
+        this.forkJoinPool = new ForkJoinPool(size,
+                forkJoin -> {
+                    ForkJoinWorkerThread thread =
+                            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoin);
+                    thread.setName("fire-compute-fj-" + workerSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null, false);
+        this.perUserLimit = perUserLimit;
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("fire.compute.queue.depth", pool, p -> p.getQueue().size())
+                .register(registry);
+        Gauge.builder("fire.compute.active", pool, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        for (ComputeRejectedException.Reason reason : ComputeRejectedException.Reason.values()) {
+            AtomicLong count = new AtomicLong();
+            rejections.put(reason, count);
+            FunctionCounter.builder("fire.compute.rejections", count, AtomicLong::get)
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Runs the task on the compute pool and waits for its result, counting it
+     * against the user's limit. Runtime exceptions thrown by the task are
+     * rethrown unchanged.
+     *
+     * @throws ComputeRejectedException if the task is not admitted or times out
+     */
+    public <T> T call(User user, Callable<T> task) {
+        return submit(user, task).get();
+    }
+
+    /**
+     * Admits the task and starts it on the compute pool without waiting, for
+     * callers that consume partial results while it runs. The timeout counts
+     * from submission. The returned handle waits for or cancels the
+     * calculation.
+     *
+     * @throws ComputeRejectedException if the task is not admitted
+     */
+    public <T> Computation<T> submit(User user, Callable<T> task) {
+        Object key = user != null && user.getId() != null ? user.getId() : ANONYMOUS;
+        if (!tryAcquire(key)) {
+            throw reject(ComputeRejectedException.Reason.USER_LIMIT);
+        }
+
+        // Release before the result is published so a caller that resubmits
+        // right after get() returns is not counted twice; done() covers tasks
+        // cancelled before they ran
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releaseOnce = () -> {
+            if (released.compareAndSet(false, true)) release(key);
+        };
+        ComputeContext context = new ComputeContext(forkJoinPool);
+        FutureTask<T> future = new FutureTask<>(() -> {
+            try {
+                return context.call(task);
+            } finally {
+                releaseOnce.run();
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (isCancelled()) releaseOnce.run();
+            }
+        };
+        try {
+            pool.execute(future);
+        } catch (RejectedExecutionException e) {
+            releaseOnce.run();
+            throw reject(ComputeRejectedException.Reason.QUEUE_FULL);
+        }
+        return new Computation<>(future, context, System.nanoTime() + timeout.toNanos());
+    }
+
+    public int queueDepth() {
+        return pool.getQueue().size();
+    }
+
+    public long rejections(ComputeRejectedException.Reason reason) {
+        return rejections.get(reason).get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+        forkJoinPool.shutdownNow();
+    }
+
+    /** An admitted calculation, running or queued on the compute pool. */
+    public final class Computation<T> {
+
+        private final FutureTask<T> future;
+        private final ComputeContext context;
+        private final long deadline;
+
+        private Computation(FutureTask<T> future, ComputeContext context, long deadline) {
+            this.future = future;
+            this.context = context;
+            this.deadline = deadline;
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * Waits for the result until the timeout. Runtime exceptions thrown by
+         * the task are rethrown unchanged.
+         *
+         * @throws ComputeRejectedException if the calculation times out
+         */
+        public T get() {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancel();
+                throw reject(ComputeRejectedException.Reason.TIMEOUT);
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for calculation", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                if (cause instanceof Error error) throw error;
+                throw new IllegalStateException("Calculation failed", cause);
+            }
+        }
+
+        /**
+         * Cancels the calculation once it has run past the timeout, for
+         * callers that poll instead of blocking in {@link #get()}.
+         *
+         * @throws ComputeRejectedException if the calculation timed out
+         */
+        public void checkTimeout() {
+            if (!future.isDone() && System.nanoTime() - deadline >= 0) {
+                cancel();
+                throw reject(ComputeRejectedException.Reason.TIMEOUT);
+            }
+        }
+
+        /** Stops the calculation, including its parallel subtasks; no-op once done. */
+        public void cancel() {
+            if (future.isDone()) return;
+            context.cancel();
+            future.cancel(true);
+        }
+    }
+
+    private boolean tryAcquire(Object key) {
+        boolean[] admitted = new boolean[1];
+        inFlight.compute(key, (k, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= perUserLimit) return count;
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    private void release(Object key) {
+        inFlight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private ComputeRejectedException reject(ComputeRejectedException.Reason reason) {
+        rejections.get(reason).incrementAndGet();
+        return new ComputeRejectedException(reason, retryAfter);
+    }
+}
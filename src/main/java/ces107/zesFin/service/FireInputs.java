@@ -0,0 +1,45 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.model.FireProfile;
+
+/**
+ * Primitive snapshot of the {@link FireProfile} fields that drive a projection.
+ * Used by the double-precision engine so the hot loop never touches BigDecimal.
+ *
+ * A non-positive contribution increase rate is normalised to 0, matching the
+ * "fixed contributions" branch of the BigDecimal engine.
+ */
+public record FireInputs(
+        int currentAge,
+        double currentSavings,
+        double monthlyContribution,
+        double monthlyExpenses,
+        double expectedReturnRate,
+        double inflationRate,
+        double safeWithdrawalRate,
+        double annualContributionIncreaseRate
+) {
+
+    public static FireInputs from(FireProfile profile) {
+        Double increaseRate = profile.getAnnualContributionIncreaseRate();
+        return new FireInputs(
+                profile.getCurrentAge(),
+                profile.getCurrentSavings().doubleValue(),
+                profile.getMonthlyContribution().doubleValue(),
+                profile.getMonthlyExpenses().doubleValue(),
+                profile.getExpectedReturnRate(),
+                profile.getInflationRate(),
+                profile.getSafeWithdrawalRate(),
+                increaseRate != null && increaseRate > 0 ? increaseRate : 0);
+    }
+
+    /** Annual return net of inflation, as used by the compounding step. */
+    public double realReturn() {
+        return (1 + expectedReturnRate) / (1 + inflationRate) - 1;
+    }
+
+    /** Annual expenses divided by the safe withdrawal rate, in today's money. */
+    public double fireNumber() {
+        return monthlyExpenses * 12 / safeWithdrawalRate;
+    }
+}
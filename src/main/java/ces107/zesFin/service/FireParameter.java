@@ -0,0 +1,76 @@
+package ces107.zesFin.service;
+
+/**
+ * FIRE profile inputs that can be varied by sweeps, solvers and sensitivity
+ * analysis. Each constant knows how to read and replace its value on a
+ * {@link FireInputs}, the range of values that make sense for it, and
+ * whether raising it brings FIRE earlier.
+ */
+public enum FireParameter {
+    CURRENT_SAVINGS(true, 0, 1e9, 0.01),
+    MONTHLY_CONTRIBUTION(true, 0, 1e7, 0.01),
+    MONTHLY_EXPENSES(false, 0, 1e7, 0.01),
+    EXPECTED_RETURN_RATE(true, -0.5, 1, 1e-5),
+    INFLATION_RATE(false, -0.1, 0.5, 1e-5),
+    SAFE_WITHDRAWAL_RATE(true, 0.001, 0.5, 1e-5),
+    CONTRIBUTION_INCREASE_RATE(true, 0, 1, 1e-5);
+
+    private final boolean higherIsBetter;
+    private final double min;
+    private final double max;
+    private final double resolution;
+
+    FireParameter(boolean higherIsBetter, double min, double max, double resolution) {
+        this.higherIsBetter = higherIsBetter;
+        this.min = min;
+        this.max = max;
+        this.resolution = resolution;
+    }
+
+    /** True when increasing the value never delays FIRE. */
+    public boolean higherIsBetter() {
+        return higherIsBetter;
+    }
+
+    /** True for fractional rates, false for money amounts. */
+    public boolean isRate() {
+        return this != CURRENT_SAVINGS && this != MONTHLY_CONTRIBUTION && this != MONTHLY_EXPENSES;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /** Smallest meaningful step: one cent for amounts, 0.001 percentage points for rates. */
+    public double resolution() {
+        return resolution;
+    }
+
+    public double get(FireInputs in) {
+        return switch (this) {
+            case CURRENT_SAVINGS -> in.currentSavings();
+            case MONTHLY_CONTRIBUTION -> in.monthlyContribution();
+            case MONTHLY_EXPENSES -> in.monthlyExpenses();
+            case EXPECTED_RETURN_RATE -> in.expectedReturnRate();
+            case INFLATION_RATE -> in.inflationRate();
+            case SAFE_WITHDRAWAL_RATE -> in.safeWithdrawalRate();
+            case CONTRIBUTION_INCREASE_RATE -> in.annualContributionIncreaseRate();
+        };
+    }
+
+    public FireInputs apply(FireInputs in, double value) {
+        return new FireInputs(
+                in.currentAge(),
+                this == CURRENT_SAVINGS ? value : in.currentSavings(),
+                this == MONTHLY_CONTRIBUTION ? value : in.monthlyContribution(),
+                this == MONTHLY_EXPENSES ? value : in.monthlyExpenses(),
+                this == EXPECTED_RETURN_RATE ? value : in.expectedReturnRate(),
+                this == INFLATION_RATE ? value : in.inflationRate(),
+                this == SAFE_WITHDRAWAL_RATE ? value : in.safeWithdrawalRate(),
+                this == CONTRIBUTION_INCREASE_RATE ? Math.max(0, value) : in.annualContributionIncreaseRate());
+    }
+}
@@ -16,6 +16,7 @@ import java.util.List;
 public class FireProfileService {
 
     private final FireProfileRepository repository;
+    private final FireProjectionCache projectionCache;
 
     public List<FireProfile> findAll(User user) {
         return repository.findAllByUser(user);
@@ -34,6 +35,7 @@ public class FireProfileService {
 
     public FireProfile update(Long id, FireProfile updated, User user) {
         FireProfile existing = findById(id, user);
+        projectionCache.evict(FireInputs.from(existing));
         existing.setCurrentAge(updated.getCurrentAge());
         existing.setCurrentSavings(updated.getCurrentSavings());
         existing.setMonthlyContribution(updated.getMonthlyContribution());
@@ -0,0 +1,202 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireProjection;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, TTL-evicting LRU cache of {@link FireProjection} results.
+ *
+ * Keys are the canonical {@link FireInputs} of a profile plus the current
+ * calendar year (projections are labelled with absolute years) and the
+ * engine, so identical what-if inputs share an entry regardless of which
+ * user or profile produced them. Callers receive their own copy of a
+ * projection, so one caller changing it cannot leak into another's result.
+ *
+ * On a miss, concurrent callers for the same key share one calculation, and
+ * the result is stored before that calculation is released, so a caller
+ * arriving in between finds it in the cache rather than recomputing.
+ *
+ * Hit, miss and eviction counts are published as
+ * {@code fire.projection.cache.requests{result=hit|miss}} and
+ * {@code fire.projection.cache.evictions}; shared calculations as
+ * {@code fire.projection.coalesced} and {@code fire.projection.inflight}.
+ */
+@Component
+public class FireProjectionCache {
+
+    public record Key(FireInputs inputs, int year, FireCalculatorService.Engine engine) {
+
+        public static Key of(FireInputs inputs, FireCalculatorService.Engine engine) {
+            return new Key(inputs, LocalDate.now().getYear(), engine);
+        }
+    }
+
+    private record Entry(FireProjection projection, long expiresAt) {}
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final SingleFlight<Key, FireProjection> flights = new SingleFlight<>();
+
+    public FireProjectionCache(@Value("${app.fire.projection-cache.max-size:1000}") int maxSize,
+                               @Value("${app.fire.projection-cache.ttl:10m}") Duration ttl,
+                               MeterRegistry registry) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+
+        FunctionCounter.builder("fire.projection.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("fire.projection.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("fire.projection.cache.evictions", evictions, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("fire.projection.cache.size", this, FireProjectionCache::size)
+                .register(registry);
+        FunctionCounter.builder("fire.projection.coalesced", flights, SingleFlight::coalesced)
+                .register(registry);
+        Gauge.builder("fire.projection.inflight", flights, SingleFlight::inFlight)
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached projection for the key, computing and storing it on a miss.
+     * The computation runs outside the cache lock, once per key at a time.
+     */
+    public FireProjection get(Key key, Supplier<FireProjection> loader) {
+        FireProjection cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return copy(cached);
+        }
+        misses.incrementAndGet();
+
+        return copy(flights.run(key, () -> load(key, loader)));
+    }
+
+    /** Calls that were served by a concurrent identical calculation instead of their own. */
+    public long coalesced() {
+        return flights.coalesced();
+    }
+
+    /** Runs inside the flight, so the entry is visible before followers are released. */
+    private FireProjection load(Key key, Supplier<FireProjection> loader) {
+        // A flight that finished between our lookup and joining this one has already stored it
+        FireProjection stored = lookup(key);
+        if (stored != null) return stored;
+
+        FireProjection computed = loader.get();
+        lock.lock();
+        try {
+            entries.put(key, new Entry(computed, System.nanoTime() + ttlNanos));
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return computed;
+    }
+
+    /** Drops every engine's entry for these inputs in the current year. */
+    public void evict(FireInputs inputs) {
+        lock.lock();
+        try {
+            for (FireCalculatorService.Engine engine : FireCalculatorService.Engine.values()) {
+                if (entries.remove(Key.of(inputs, engine)) != null) {
+                    evictions.incrementAndGet();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    private FireProjection lookup(Key key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) return null;
+            if (entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                return null;
+            }
+            return entry.projection();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static FireProjection copy(FireProjection projection) {
+        List<FireProjection.YearlyProjection> rows = projection.getYearlyProjections() == null
+                ? null
+                : projection.getYearlyProjections().stream()
+                        .map(row -> FireProjection.YearlyProjection.builder()
+                                .age(row.getAge())
+                                .year(row.getYear())
+                                .totalSavings(row.getTotalSavings())
+                                .totalContributions(row.getTotalContributions())
+                                .totalGrowth(row.getTotalGrowth())
+                                .fireNumber(row.getFireNumber())
+                                .annualContribution(row.getAnnualContribution())
+                                .fireMilestone(row.isFireMilestone())
+                                .build())
+                        .collect(Collectors.toCollection(ArrayList::new));
+        return FireProjection.builder()
+                .currentAge(projection.getCurrentAge())
+                .fireAge(projection.getFireAge())
+                .yearsToFire(projection.getYearsToFire())
+                .fireNumber(projection.getFireNumber())
+                .currentSavings(projection.getCurrentSavings())
+                .projectedSavingsAtFire(projection.getProjectedSavingsAtFire())
+                .yearlyProjections(rows)
+                .fireAchievable(projection.isFireAchievable())
+                .build();
+    }
+}
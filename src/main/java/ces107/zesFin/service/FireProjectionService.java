@@ -0,0 +1,102 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireProjection;
+import ces107.zesFin.dto.FireProjectionComparison;
+import ces107.zesFin.model.FireProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Entry point for full FIRE projections served to the API.
+ * Results are memoised in {@link FireProjectionCache} by canonical inputs;
+ * on a miss, concurrent requests for the same key share one calculation
+ * (counted as {@code fire.projection.coalesced}).
+ */
+@Service
+@RequiredArgsConstructor
+public class FireProjectionService {
+
+    private final FireCalculatorService calculatorService;
+    private final FireProjectionCache cache;
+
+    public FireProjection project(FireProfile profile, FireCalculatorService.Engine engine) {
+        FireProjectionCache.Key key = FireProjectionCache.Key.of(FireInputs.from(profile), engine);
+        return cache.get(key, () -> calculatorService.calculate(profile, engine));
+    }
+
+    /** Calls served by a concurrent identical calculation instead of their own. */
+    public long coalescedCalls() {
+        return cache.coalesced();
+    }
+
+    /**
+     * Projects several loaded profiles concurrently and lines their savings
+     * up on a shared calendar-year axis for overlay charts, one series per
+     * profile in the given order.
+     */
+    public FireProjectionComparison compare(List<FireProfile> profiles,
+                                            FireCalculatorService.Engine engine) {
+        ComputeContext context = ComputeContext.current();
+        List<FireProjection> projections = context.invoke(() -> profiles.parallelStream()
+                .map(profile -> {
+                    context.checkCancelled();
+                    return project(profile, engine);
+                })
+                .toList());
+
+        int firstYear = Integer.MAX_VALUE;
+        int lastYear = Integer.MIN_VALUE;
+        for (FireProjection projection : projections) {
+            List<FireProjection.YearlyProjection> rows = projection.getYearlyProjections();
+            if (rows.isEmpty()) continue;
+            firstYear = Math.min(firstYear, rows.get(0).getYear());
+            lastYear = Math.max(lastYear, rows.get(rows.size() - 1).getYear());
+        }
+        int origin = firstYear;
+        int span = projections.isEmpty() || firstYear > lastYear ? 0 : lastYear - firstYear + 1;
+
+        List<FireProjectionComparison.ProfileSeries> series = new ArrayList<>(profiles.size());
+        for (int p = 0; p < profiles.size(); p++) {
+            series.add(align(profiles.get(p), projections.get(p), origin, span));
+        }
+
+        return FireProjectionComparison.builder()
+                .years(IntStream.range(0, span).mapToObj(i -> origin + i).toList())
+                .profiles(series)
+                .build();
+    }
+
+    private static FireProjectionComparison.ProfileSeries align(FireProfile profile,
+                                                                FireProjection projection,
+                                                                int origin, int span) {
+        BigDecimal[] savings = new BigDecimal[span];
+        BigDecimal[] fireNumbers = new BigDecimal[span];
+        Integer fireYear = null;
+        for (FireProjection.YearlyProjection row : projection.getYearlyProjections()) {
+            int i = row.getYear() - origin;
+            savings[i] = row.getTotalSavings();
+            fireNumbers[i] = row.getFireNumber();
+            if (row.isFireMilestone() && fireYear == null) fireYear = row.getYear();
+        }
+
+        return FireProjectionComparison.ProfileSeries.builder()
+                .profileId(profile.getId())
+                .currentAge(projection.getCurrentAge())
+                .targetRetirementAge(profile.getTargetRetirementAge())
+                .fireAge(projection.getFireAge())
+                .fireYear(fireYear)
+                .yearsToFire(projection.getYearsToFire())
+                .fireAchievable(projection.isFireAchievable())
+                .fireNumber(projection.getFireNumber())
+                .projectedSavingsAtFire(projection.getProjectedSavingsAtFire())
+                .totalSavings(Arrays.asList(savings))
+                .fireNumbers(Arrays.asList(fireNumbers))
+                .build();
+    }
+}
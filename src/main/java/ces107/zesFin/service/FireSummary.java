@@ -0,0 +1,13 @@
+package ces107.zesFin.service;
+
+/**
+ * Headline result of a projection without the per-year rows: the age at
+ * which savings first reach the inflated FIRE number, or -1, and the savings
+ * at that age, or 0 when FIRE is not reached.
+ */
+public record FireSummary(int fireAge, double savingsAtFire) {
+
+    public boolean achievable() {
+        return fireAge >= 0;
+    }
+}
@@ -0,0 +1,150 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireSweepRequest;
+import ces107.zesFin.dto.FireSweepSlice;
+import ces107.zesFin.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates a grid of up to three {@link FireParameter} axes over a base
+ * profile, computing only the summary (FIRE age, savings at FIRE) per cell.
+ *
+ * The grid is cut into slices along the first axis; slices are computed in
+ * parallel on the pool of the current {@link ComputeContext} and handed to
+ * the writer in completion order, so the caller can stream them as the grid
+ * fills.
+ */
+@Service
+@RequiredArgsConstructor
+public class FireSweepService {
+
+    static final int MAX_CELLS = 20_000;
+
+    private final FireCalculatorService calculatorService;
+
+    @FunctionalInterface
+    public interface SliceWriter {
+        void write(FireSweepSlice slice) throws IOException;
+    }
+
+    /**
+     * Runs the sweep and writes one slice per value of the first axis, in
+     * completion order.
+     *
+     * @throws IOException if the writer fails; outstanding slices are cancelled
+     */
+    public void sweep(FireSweepRequest request, SliceWriter writer) throws IOException {
+        validate(request);
+        List<FireSweepRequest.Axis> axes = request.getAxes();
+
+        FireInputs base = FireInputs.from(request.getProfile());
+        FireSweepRequest.Axis first = axes.get(0);
+        int restCount = axes.size() - 1;
+        FireParameter[] restParameters = new FireParameter[restCount];
+        double[][] restValues = new double[restCount][];
+        int cellsPerSlice = 1;
+        for (int a = 0; a < restCount; a++) {
+            FireSweepRequest.Axis axis = axes.get(a + 1);
+            restParameters[a] = axis.getParameter();
+            restValues[a] = axis.getValues().stream().mapToDouble(Double::doubleValue).toArray();
+            cellsPerSlice *= restValues[a].length;
+        }
+        int sliceSize = cellsPerSlice;
+
+        ComputeContext context = ComputeContext.current();
+        CompletionService<FireSweepSlice> completion = new ExecutorCompletionService<>(context.pool());
+        List<Future<FireSweepSlice>> futures = new ArrayList<>(first.getValues().size());
+        for (int i = 0; i < first.getValues().size(); i++) {
+            int index = i;
+            double value = first.getValues().get(i);
+            futures.add(completion.submit(() -> computeSlice(
+                    context, index, value, first.getParameter().apply(base, value),
+                    restParameters, restValues, sliceSize)));
+        }
+
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                writer.write(completion.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sweep slice failed", e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private FireSweepSlice computeSlice(ComputeContext context, int index, double value,
+                                        FireInputs sliceInputs, FireParameter[] parameters,
+                                        double[][] values, int cells) {
+        Integer[] fireAge = new Integer[cells];
+        BigDecimal[] savingsAtFire = new BigDecimal[cells];
+
+        for (int cell = 0; cell < cells; cell++) {
+            context.checkCancelled();
+            // Decode the cell index row-major: the last axis varies fastest
+            FireInputs inputs = sliceInputs;
+            int remainder = cell;
+            for (int a = parameters.length - 1; a >= 0; a--) {
+                int n = values[a].length;
+                inputs = parameters[a].apply(inputs, values[a][remainder % n]);
+                remainder /= n;
+            }
+
+            FireSummary summary = calculatorService.summarize(inputs);
+            fireAge[cell] = summary.achievable() ? summary.fireAge() : null;
+            savingsAtFire[cell] = Numerics.toMoney(summary.savingsAtFire());
+        }
+
+        return FireSweepSlice.builder()
+                .index(index)
+                .value(value)
+                .fireAge(fireAge)
+                .savingsAtFire(savingsAtFire)
+                .build();
+    }
+
+    /**
+     * Checks the grid without computing it, so callers can reject a request
+     * before they start streaming the response.
+     *
+     * @throws InvalidRequestException if an axis repeats, a value lies outside
+     *         its parameter's range or the grid is too large
+     */
+    public void validate(FireSweepRequest request) {
+        List<FireSweepRequest.Axis> axes = request.getAxes();
+        Set<FireParameter> seen = EnumSet.noneOf(FireParameter.class);
+        long cells = 1;
+        for (FireSweepRequest.Axis axis : axes) {
+            if (!seen.add(axis.getParameter())) {
+                throw new InvalidRequestException("Parameter " + axis.getParameter() + " appears on more than one axis");
+            }
+            // Out-of-range rates make the projection diverge into infinite or NaN cells
+            FireParameter parameter = axis.getParameter();
+            for (double value : axis.getValues()) {
+                if (!Double.isFinite(value) || value < parameter.min() || value > parameter.max()) {
+                    throw new InvalidRequestException("Value " + value + " for " + parameter
+                            + " is outside [" + parameter.min() + ", " + parameter.max() + "]");
+                }
+            }
+            cells *= axis.getValues().size();
+        }
+        if (cells > MAX_CELLS) {
+            throw new InvalidRequestException("Sweep grid has " + cells + " cells; the maximum is " + MAX_CELLS);
+        }
+    }
+}
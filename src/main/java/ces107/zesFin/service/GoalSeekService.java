@@ -0,0 +1,144 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.GoalSeekResult;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Finds the value of a single {@link FireParameter} that reaches FIRE exactly
+ * by a target age, holding the rest of the profile fixed.
+ *
+ * FIRE age is monotonic in every parameter, so the solver brackets the
+ * boundary by expanding geometrically from the profile's current value and
+ * then bisects down to the parameter's resolution, using the summary-only
+ * projection for each evaluation.
+ */
+@Service
+@RequiredArgsConstructor
+public class GoalSeekService {
+
+    private final FireCalculatorService calculatorService;
+
+    /**
+     * Finds the minimum value of the parameter (the maximum where higher is
+     * worse) that reaches FIRE by the target age, or by the profile's
+     * targetRetirementAge when none is given.
+     */
+    public GoalSeekResult solve(FireProfile profile, FireParameter parameter, Integer targetAge) {
+        Integer age = targetAge != null ? targetAge : profile.getTargetRetirementAge();
+        if (age == null) {
+            throw new InvalidRequestException("targetAge is required when the profile has no targetRetirementAge");
+        }
+        if (age < profile.getCurrentAge()) {
+            throw new InvalidRequestException("targetAge must not be lower than currentAge");
+        }
+
+        Search search = new Search(FireInputs.from(profile), parameter, age);
+        boolean up = parameter.higherIsBetter();
+        double current = clamp(parameter, parameter.get(search.base));
+
+        double good;
+        double bad;
+        if (search.reaches(current)) {
+            // Already on target: walk towards the worse side until FIRE is missed
+            good = current;
+            bad = search.expand(current, !up, false);
+            if (Double.isNaN(bad)) {
+                return search.result(up ? parameter.min() : parameter.max(), current);
+            }
+        } else {
+            bad = current;
+            good = search.expand(current, up, true);
+            if (Double.isNaN(good)) {
+                return search.unachievable(current);
+            }
+        }
+
+        while (Math.abs(good - bad) > parameter.resolution()) {
+            double mid = (good + bad) / 2;
+            if (search.reaches(mid)) {
+                good = mid;
+            } else {
+                bad = mid;
+            }
+        }
+        return search.result(good, current);
+    }
+
+    private static double clamp(FireParameter parameter, double value) {
+        return Math.max(parameter.min(), Math.min(parameter.max(), value));
+    }
+
+    private final class Search {
+
+        private final FireInputs base;
+        private final FireParameter parameter;
+        private final int targetAge;
+        private int evaluations;
+
+        Search(FireInputs base, FireParameter parameter, int targetAge) {
+            this.base = base;
+            this.parameter = parameter;
+            this.targetAge = targetAge;
+        }
+
+        FireSummary evaluate(double value) {
+            evaluations++;
+            return calculatorService.summarize(parameter.apply(base, value));
+        }
+
+        boolean reaches(double value) {
+            FireSummary summary = evaluate(value);
+            return summary.achievable() && summary.fireAge() <= targetAge;
+        }
+
+        /**
+         * Steps away from {@code from} with doubling strides until {@link #reaches}
+         * equals {@code wanted}. Returns NaN if the domain bound is hit first.
+         */
+        double expand(double from, boolean increasing, boolean wanted) {
+            double step = Math.max(Math.abs(from), parameter.resolution() * 1000);
+            double x = from;
+            while (true) {
+                double bound = increasing ? parameter.max() : parameter.min();
+                if (x == bound) return Double.NaN;
+                x = increasing ? Math.min(bound, x + step) : Math.max(bound, x - step);
+                if (reaches(x) == wanted) return x;
+                step *= 2;
+            }
+        }
+
+        GoalSeekResult result(double value, double current) {
+            int scale = BigDecimal.valueOf(parameter.resolution()).stripTrailingZeros().scale();
+            BigDecimal required = BigDecimal.valueOf(value)
+                    .setScale(scale, parameter.higherIsBetter() ? RoundingMode.CEILING : RoundingMode.FLOOR);
+            FireSummary summary = evaluate(required.doubleValue());
+            return GoalSeekResult.builder()
+                    .parameter(parameter)
+                    .targetAge(targetAge)
+                    .currentValue(BigDecimal.valueOf(current).setScale(scale, RoundingMode.HALF_UP))
+                    .requiredValue(required)
+                    .achievable(true)
+                    .fireAge(summary.achievable() ? summary.fireAge() : null)
+                    .savingsAtFire(Numerics.toMoney(summary.savingsAtFire()))
+                    .evaluations(evaluations)
+                    .build();
+        }
+
+        GoalSeekResult unachievable(double current) {
+            int scale = BigDecimal.valueOf(parameter.resolution()).stripTrailingZeros().scale();
+            return GoalSeekResult.builder()
+                    .parameter(parameter)
+                    .targetAge(targetAge)
+                    .currentValue(BigDecimal.valueOf(current).setScale(scale, RoundingMode.HALF_UP))
+                    .achievable(false)
+                    .evaluations(evaluations)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ces107.zesFin.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bundled annual equity/bond/inflation returns, parsed once at startup into
+ * primitive arrays indexed by {@code year - firstYear()}.
+ * Backing file: {@code classpath:data/historical-returns.csv}.
+ */
+@Component
+public class HistoricalReturnsDataset {
+
+    static final String RESOURCE = "data/historical-returns.csv";
+
+    private final int firstYear;
+    private final double[] equity;
+    private final double[] bonds;
+    private final double[] inflation;
+
+    public HistoricalReturnsDataset() {
+        try (InputStream in = new ClassPathResource(RESOURCE).getInputStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            int first = 0;
+            int count = 0;
+            double[] eq = new double[128];
+            double[] bd = new double[128];
+            double[] inf = new double[128];
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("year")) continue;
+
+                String[] cols = line.split(",");
+                int year = Integer.parseInt(cols[0]);
+                if (count == 0) {
+                    first = year;
+                } else if (year != first + count) {
+                    throw new IllegalStateException("Non-consecutive year " + year + " in " + RESOURCE);
+                }
+                if (count == eq.length) {
+                    eq = Arrays.copyOf(eq, count * 2);
+                    bd = Arrays.copyOf(bd, count * 2);
+                    inf = Arrays.copyOf(inf, count * 2);
+                }
+                eq[count] = Double.parseDouble(cols[1]);
+                bd[count] = Double.parseDouble(cols[2]);
+                inf[count] = Double.parseDouble(cols[3]);
+                count++;
+            }
+            if (count == 0) {
+                throw new IllegalStateException("No rows in " + RESOURCE);
+            }
+
+            this.firstYear = first;
+            this.equity = Arrays.copyOf(eq, count);
+            this.bonds = Arrays.copyOf(bd, count);
+            this.inflation = Arrays.copyOf(inf, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + RESOURCE, e);
+        }
+    }
+
+    public int firstYear() {
+        return firstYear;
+    }
+
+    public int lastYear() {
+        return firstYear + equity.length - 1;
+    }
+
+    public int size() {
+        return equity.length;
+    }
+
+    public double equity(int index) {
+        return equity[index];
+    }
+
+    public double bonds(int index) {
+        return bonds[index];
+    }
+
+    public double inflation(int index) {
+        return inflation[index];
+    }
+}
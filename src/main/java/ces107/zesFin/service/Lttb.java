@@ -0,0 +1,71 @@
+package ces107.zesFin.service;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013).
+ *
+ * Keeps the first and last points and, for each of the {@code threshold - 2}
+ * equal-width buckets in between, the point forming the largest triangle with
+ * the previously kept point and the average of the next bucket. Peaks and
+ * troughs survive, which plain decimation would drop.
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Chooses {@code threshold} points, at least 3, to keep from a series
+     * with ascending x coordinates and returns their indices in ascending
+     * order; every index when the series already fits.
+     */
+    static int[] select(int[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold < 3) {
+            throw new IllegalArgumentException("threshold must be at least 3");
+        }
+        if (n <= threshold) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        double bucketWidth = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        kept[0] = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket (the last point for the final bucket)
+            int nextStart = (int) ((bucket + 1) * bucketWidth) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketWidth) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            avgX /= nextEnd - nextStart;
+            avgY /= nextEnd - nextStart;
+
+            int start = (int) (bucket * bucketWidth) + 1;
+            int end = (int) ((bucket + 1) * bucketWidth) + 1;
+            double ax = x[a];
+            double ay = y[a];
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle area; the factor does not change the argmax
+                double area = Math.abs((ax - avgX) * (y[i] - ay) - (ax - x[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            kept[bucket + 1] = chosen;
+            a = chosen;
+        }
+
+        kept[threshold - 1] = n - 1;
+        return kept;
+    }
+}
@@ -0,0 +1,185 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.MonteCarloProjection;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Stochastic counterpart of {@link FireCalculatorService}.
+ *
+ * Each path follows the deterministic model but draws its nominal annual
+ * return from a normal distribution. Paths are split into blocks across the
+ * compute fork-join pool by {@link ParallelPaths}, so results are reproducible
+ * for a given seed regardless of how the work is scheduled. The yearly
+ * compounding step runs through a {@link PathStepper}, which is SIMD-vectorised
+ * in builds with the {@code vector} profile run with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+@Slf4j
+@Service
+public class MonteCarloService {
+
+    public static final int DEFAULT_PATHS = 10_000;
+    public static final double DEFAULT_VOLATILITY = 0.15;
+    static final int MIN_PATHS = 1_000;
+    static final int MAX_PATHS = 100_000;
+
+    private final PathStepper stepper;
+
+    public MonteCarloService() {
+        this(PathStepper.detect());
+        log.info("Monte Carlo path stepper: {}", stepper.name());
+    }
+
+    MonteCarloService(PathStepper stepper) {
+        this.stepper = stepper;
+    }
+
+    /** Name of the path-stepping engine in use ({@code scalar} or {@code vector-NxN}). */
+    public String engine() {
+        return stepper.name();
+    }
+
+    /**
+     * Runs a Monte Carlo projection for the given profile over 1,000 to
+     * 100,000 return paths, giving the success probability and P10/P50/P90
+     * savings bands per year. A null mean return uses the profile's rate, and
+     * a null seed a random one.
+     */
+    public MonteCarloProjection simulate(FireProfile profile, int paths, Double meanReturn,
+                                         double volatility, Long seed) {
+        if (paths < MIN_PATHS || paths > MAX_PATHS) {
+            throw new InvalidRequestException(
+                    "paths must be between " + MIN_PATHS + " and " + MAX_PATHS);
+        }
+        if (volatility < 0 || volatility > 1) {
+            throw new InvalidRequestException("volatility must be between 0 and 1");
+        }
+
+        FireInputs inputs = FireInputs.from(profile);
+        double mean = meanReturn != null ? meanReturn : inputs.expectedReturnRate();
+        long rootSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        int steps = FireCalculatorService.horizonYears(inputs.currentAge());
+
+        float[][] savingsByYear = new float[steps + 1][paths];
+        int[] fireYear = new int[paths];
+
+        ParallelPaths.run(paths, rootSeed, (from, to, random) -> simulateBlock(
+                stepper, inputs, mean, volatility, steps, savingsByYear, fireYear, from, to, random));
+
+        return summarize(profile, inputs, mean, volatility, rootSeed, steps, savingsByYear, fireYear);
+    }
+
+    private MonteCarloProjection summarize(FireProfile profile, FireInputs inputs,
+                                           double mean, double volatility, long seed,
+                                           int steps, float[][] savingsByYear,
+                                           int[] fireYear) {
+        int paths = fireYear.length;
+
+        // Histogram of first FIRE year, turned into a cumulative probability per row
+        int[] reachedAt = new int[steps + 1];
+        for (int year : fireYear) {
+            if (year >= 0) reachedAt[year]++;
+        }
+
+        ComputeContext context = ComputeContext.current();
+        context.run(() -> IntStream.rangeClosed(0, steps).parallel().forEach(y -> {
+            context.checkCancelled();
+            Arrays.sort(savingsByYear[y]);
+        }));
+
+        Integer targetAge = profile.getTargetRetirementAge();
+        int successYear = targetAge != null
+                ? Math.min(targetAge - inputs.currentAge(), steps)
+                : steps;
+
+        int currentYear = LocalDate.now().getYear();
+        double fireNumber = inputs.fireNumber();
+        List<MonteCarloProjection.YearlyBand> bands = new ArrayList<>(steps + 1);
+        double inflationFactor = 1;
+        int reached = 0;
+        int successes = 0;
+        Integer medianFireAge = null;
+
+        for (int y = 0; y <= steps; y++) {
+            reached += reachedAt[y];
+            if (y == successYear) successes = reached;
+            if (medianFireAge == null && reached * 2 >= paths) medianFireAge = inputs.currentAge() + y;
+
+            float[] sorted = savingsByYear[y];
+            bands.add(MonteCarloProjection.YearlyBand.builder()
+                    .age(inputs.currentAge() + y)
+                    .year(currentYear + y)
+                    .p10(Numerics.toMoney(Numerics.percentile(sorted, 0.10)))
+                    .p50(Numerics.toMoney(Numerics.percentile(sorted, 0.50)))
+                    .p90(Numerics.toMoney(Numerics.percentile(sorted, 0.90)))
+                    .fireNumber(Numerics.toMoney(fireNumber * inflationFactor))
+                    .fireProbability((double) reached / paths)
+                    .build());
+            inflationFactor *= 1 + inputs.inflationRate();
+        }
+
+        return MonteCarloProjection.builder()
+                .currentAge(inputs.currentAge())
+                .targetAge(targetAge)
+                .paths(paths)
+                .meanReturn(mean)
+                .volatility(volatility)
+                .seed(seed)
+                .successProbability(successYear < 0 ? 0.0 : (double) successes / paths)
+                .medianFireAge(medianFireAge)
+                .yearlyBands(bands)
+                .build();
+    }
+
+    /**
+     * Simulates paths [from, to) year by year in structure-of-arrays layout,
+     * writing each year's savings into {@code savingsByYear} and the first
+     * FIRE year of each path into {@code fireYear}.
+     */
+    private static void simulateBlock(PathStepper stepper, FireInputs inputs, double mean, double volatility,
+                                      int steps, float[][] savingsByYear, int[] fireYear,
+                                      int from, int to, SplittableRandom random) {
+        int size = to - from;
+        double[] savings = new double[size];
+        double[] shocks = new double[size];
+        Arrays.fill(savings, inputs.currentSavings());
+        Arrays.fill(fireYear, from, to, -1);
+
+        double baseAnnualContribution = inputs.monthlyContribution() * 12;
+        double fireNumber = inputs.fireNumber();
+        double inflationStep = 1 + inputs.inflationRate();
+        double contributionStep = 1 + inputs.annualContributionIncreaseRate();
+        double base = (1 + mean) / inflationStep;
+        double scale = volatility / inflationStep;
+        double inflationFactor = 1;
+        double contributionFactor = 1;
+
+        for (int y = 0; ; y++) {
+            double inflatedFireNumber = fireNumber * inflationFactor;
+            float[] row = savingsByYear[y];
+            for (int i = 0; i < size; i++) {
+                double s = savings[i];
+                row[from + i] = (float) s;
+                if (fireYear[from + i] < 0 && s >= inflatedFireNumber) fireYear[from + i] = y;
+            }
+            if (y == steps) break;
+
+            for (int i = 0; i < size; i++) {
+                shocks[i] = random.nextGaussian();
+            }
+            stepper.step(savings, shocks, size, base, scale, baseAnnualContribution * contributionFactor);
+            inflationFactor *= inflationStep;
+            contributionFactor *= contributionStep;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.MultiAssetRequest;
+import ces107.zesFin.dto.MultiAssetSimulation;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.Asset;
+import ces107.zesFin.model.AssetCategory;
+import ces107.zesFin.model.FireProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Monte Carlo projection driven by the user's actual holdings.
+ *
+ * Weights come from {@link Asset#getCurrentValue()} summed per
+ * {@link AssetCategory}. Each year every path draws one correlated nominal
+ * return per category from {@link CapitalMarketAssumptions} (a category
+ * cannot lose more than 100%), the portfolio is rebalanced back to its
+ * weights, and the result is deflated and compounded like
+ * {@link MonteCarloService}. Candidate allocations are run with the same seed
+ * as the current one, so their success probabilities are compared on
+ * identical market scenarios.
+ */
+@Service
+@RequiredArgsConstructor
+public class MultiAssetMonteCarloService {
+
+    static final String CURRENT_ALLOCATION = "current";
+    private static final AssetCategory[] CATEGORIES = AssetCategory.values();
+
+    private final CapitalMarketAssumptions assumptions;
+
+    /**
+     * Simulates the current allocation, given by the category totals of the
+     * user's assets, and any candidates over 1,000 to 100,000 return paths.
+     * A null seed uses a random one.
+     */
+    public MultiAssetSimulation simulate(FireProfile profile, List<Asset> assets,
+                                         List<MultiAssetRequest.Allocation> candidates,
+                                         int paths, Long seed) {
+        if (paths < MonteCarloService.MIN_PATHS || paths > MonteCarloService.MAX_PATHS) {
+            throw new InvalidRequestException(
+                    "paths must be between " + MonteCarloService.MIN_PATHS + " and " + MonteCarloService.MAX_PATHS);
+        }
+
+        List<String> names = new ArrayList<>();
+        List<double[]> weights = new ArrayList<>();
+        double[] current = currentWeights(assets);
+        if (current != null) {
+            names.add(CURRENT_ALLOCATION);
+            weights.add(current);
+        }
+        for (MultiAssetRequest.Allocation candidate : candidates) {
+            names.add(candidate.getName());
+            weights.add(normalize(candidate.getWeights()));
+        }
+        if (weights.isEmpty()) {
+            throw new InvalidRequestException("No assets with a positive value to derive an allocation from");
+        }
+
+        FireInputs inputs = FireInputs.from(profile);
+        long rootSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        int steps = FireCalculatorService.horizonYears(inputs.currentAge());
+        Integer targetAge = profile.getTargetRetirementAge();
+        int successYear = targetAge != null ? Math.min(targetAge - inputs.currentAge(), steps) : steps;
+
+        List<MultiAssetSimulation.AllocationResult> results = new ArrayList<>(weights.size());
+        for (int a = 0; a < weights.size(); a++) {
+            results.add(simulateAllocation(names.get(a), weights.get(a), inputs, paths, rootSeed, steps, successYear));
+        }
+
+        return MultiAssetSimulation.builder()
+                .currentAge(inputs.currentAge())
+                .targetAge(targetAge)
+                .paths(paths)
+                .seed(rootSeed)
+                .allocations(results)
+                .build();
+    }
+
+    private MultiAssetSimulation.AllocationResult simulateAllocation(String name, double[] weights,
+                                                                     FireInputs inputs, int paths,
+                                                                     long seed, int steps,
+                                                                     int successYear) {
+        double[] savingsAtTarget = new double[paths];
+        int[] fireYear = new int[paths];
+        int readYear = Math.max(0, successYear);
+
+        ParallelPaths.run(paths, seed, (from, to, random) ->
+                simulateBlock(weights, inputs, steps, readYear, savingsAtTarget, fireYear, from, to, random));
+
+        int[] reachedAt = new int[steps + 1];
+        for (int year : fireYear) {
+            if (year >= 0) reachedAt[year]++;
+        }
+        int reached = 0;
+        int successes = 0;
+        Integer medianFireAge = null;
+        for (int y = 0; y <= steps; y++) {
+            reached += reachedAt[y];
+            if (y == successYear) successes = reached;
+            if (medianFireAge == null && reached * 2 >= paths) medianFireAge = inputs.currentAge() + y;
+        }
+        Arrays.sort(savingsAtTarget);
+
+        return MultiAssetSimulation.AllocationResult.builder()
+                .name(name)
+                .weights(toMap(weights))
+                .expectedReturn(assumptions.portfolioMean(weights))
+                .volatility(assumptions.portfolioVolatility(weights))
+                .successProbability(successYear < 0 ? 0.0 : (double) successes / paths)
+                .medianFireAge(medianFireAge)
+                .savingsP10(Numerics.toMoney(Numerics.percentile(savingsAtTarget, 0.10)))
+                .savingsP50(Numerics.toMoney(Numerics.percentile(savingsAtTarget, 0.50)))
+                .savingsP90(Numerics.toMoney(Numerics.percentile(savingsAtTarget, 0.90)))
+                .build();
+    }
+
+    /** Simulates paths [from, to) one at a time, keeping each path's state in locals. */
+    private void simulateBlock(double[] weights, FireInputs inputs, int steps, int readYear,
+                               double[] savingsAtTarget, int[] fireYear,
+                               int from, int to, SplittableRandom random) {
+        int n = CATEGORIES.length;
+        double[][] lower = assumptions.cholesky();
+        double[] means = new double[n];
+        for (int k = 0; k < n; k++) means[k] = assumptions.mean(k);
+        double[] z = new double[n];
+
+        double baseAnnualContribution = inputs.monthlyContribution() * 12;
+        double fireNumber = inputs.fireNumber();
+        double inflationStep = 1 + inputs.inflationRate();
+        double contributionStep = 1 + inputs.annualContributionIncreaseRate();
+
+        for (int p = from; p < to; p++) {
+            double savings = inputs.currentSavings();
+            double inflationFactor = 1;
+            double contributionFactor = 1;
+            int reached = -1;
+
+            for (int y = 0; ; y++) {
+                if (reached < 0 && savings >= fireNumber * inflationFactor) reached = y;
+                if (y == readYear) savingsAtTarget[p] = savings;
+                if (y == steps) break;
+
+                for (int k = 0; k < n; k++) z[k] = random.nextGaussian();
+                double portfolioReturn = 0;
+                for (int k = 0; k < n; k++) {
+                    if (weights[k] == 0) continue;
+                    double r = means[k];
+                    for (int j = 0; j <= k; j++) r += lower[k][j] * z[j];
+                    portfolioReturn += weights[k] * Math.max(-1, r);
+                }
+
+                savings = savings * ((1 + portfolioReturn) / inflationStep)
+                        + baseAnnualContribution * contributionFactor;
+                inflationFactor *= inflationStep;
+                contributionFactor *= contributionStep;
+            }
+            fireYear[p] = reached;
+        }
+    }
+
+    /** Category weights from current holdings, or null when there is nothing to weight. */
+    static double[] currentWeights(List<Asset> assets) {
+        double[] weights = new double[CATEGORIES.length];
+        double total = 0;
+        for (Asset asset : assets) {
+            if (asset.getCategory() == null || asset.getCurrentValue() == null) continue;
+            double value = asset.getCurrentValue().doubleValue();
+            if (value <= 0) continue;
+            weights[asset.getCategory().ordinal()] += value;
+            total += value;
+        }
+        if (total <= 0) return null;
+        for (int k = 0; k < weights.length; k++) weights[k] /= total;
+        return weights;
+    }
+
+    private static double[] normalize(Map<AssetCategory, Double> input) {
+        double[] weights = new double[CATEGORIES.length];
+        double total = 0;
+        for (Map.Entry<AssetCategory, Double> entry : input.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new InvalidRequestException("Allocation weights must not be negative");
+            }
+            weights[entry.getKey().ordinal()] = entry.getValue();
+            total += entry.getValue();
+        }
+        if (total <= 0) {
+            throw new InvalidRequestException("Allocation weights must add up to more than zero");
+        }
+        for (int k = 0; k < weights.length; k++) weights[k] /= total;
+        return weights;
+    }
+
+    private static Map<AssetCategory, Double> toMap(double[] weights) {
+        Map<AssetCategory, Double> map = new EnumMap<>(AssetCategory.class);
+        for (int k = 0; k < weights.length; k++) {
+            if (weights[k] > 0) map.put(CATEGORIES[k], weights[k]);
+        }
+        return map;
+    }
+}
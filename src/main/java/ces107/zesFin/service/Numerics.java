@@ -0,0 +1,31 @@
+package ces107.zesFin.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/** Rounding and order statistics shared by the projection and analytics engines. */
+final class Numerics {
+
+    private Numerics() {
+    }
+
+    /** Rounds to cents, half away from zero like the rest of the money code. */
+    static BigDecimal toMoney(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /** Nearest-rank percentile over an ascending array. */
+    static double percentile(double[] sorted, double p) {
+        return sorted[rank(sorted.length, p)];
+    }
+
+    /** Nearest-rank percentile over an ascending array. */
+    static double percentile(float[] sorted, double p) {
+        return sorted[rank(sorted.length, p)];
+    }
+
+    private static int rank(int length, double p) {
+        int rank = (int) Math.ceil(p * length) - 1;
+        return Math.max(0, Math.min(length - 1, rank));
+    }
+}
@@ -0,0 +1,68 @@
+package ces107.zesFin.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join driver shared by the stochastic engines. Splits a range of
+ * simulation paths in half until each block fits {@code blockSize} and gives
+ * every block its own {@link SplittableRandom}, split deterministically from
+ * the root so results depend only on the seed, not on scheduling.
+ *
+ * Blocks run on the pool of the current {@link ComputeContext} and stop
+ * splitting once the calculation is cancelled.
+ */
+final class ParallelPaths {
+
+    static final int DEFAULT_BLOCK_SIZE = 1_024;
+
+    @FunctionalInterface
+    interface Block {
+        /** Simulates paths [from, to) using the given generator. */
+        void run(int from, int to, SplittableRandom random);
+    }
+
+    private ParallelPaths() {
+    }
+
+    static void run(int paths, long seed, Block block) {
+        run(paths, DEFAULT_BLOCK_SIZE, seed, block);
+    }
+
+    static void run(int paths, int blockSize, long seed, Block block) {
+        ComputeContext context = ComputeContext.current();
+        context.invoke(new Split(context, block, blockSize, 0, paths, new SplittableRandom(seed)));
+    }
+
+    private static final class Split extends RecursiveAction {
+
+        private final ComputeContext context;
+        private final Block block;
+        private final int blockSize;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        Split(ComputeContext context, Block block, int blockSize,
+              int from, int to, SplittableRandom random) {
+            this.context = context;
+            this.block = block;
+            this.blockSize = blockSize;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            context.checkCancelled();
+            if (to - from <= blockSize) {
+                block.run(from, to, random);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            Split right = new Split(context, block, blockSize, mid, to, random.split());
+            invokeAll(new Split(context, block, blockSize, from, mid, random), right);
+        }
+    }
+}
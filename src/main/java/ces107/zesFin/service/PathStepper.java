@@ -0,0 +1,42 @@
+package ces107.zesFin.service;
+
+/**
+ * Advances a block of simulation paths by one year, in structure-of-arrays
+ * layout:
+ * {@code savings[i] = savings[i] * max(0, base + scale * shocks[i]) + contribution}.
+ *
+ * With a normal shock {@code z}, {@code base = (1 + mean) / (1 + inflation)}
+ * and {@code scale = volatility / (1 + inflation)}, the growth factor is the
+ * real return of a path drawing its nominal return from N(mean, volatility).
+ *
+ * Implementations must produce bit-identical results, so seeded simulations
+ * do not depend on which one the JVM picked.
+ */
+interface PathStepper {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    void step(double[] savings, double[] shocks, int length, double base, double scale, double contribution);
+
+    /** Name reported in logs and benchmarks. */
+    String name();
+
+    /**
+     * Returns the SIMD stepper when it was built in ({@code -Pvector}) and the
+     * JVM was started with {@code --add-modules jdk.incubator.vector}, the
+     * scalar one otherwise. The vector class is loaded reflectively so that
+     * nothing links against the incubator module unless it is present.
+     */
+    static PathStepper detect() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (PathStepper) Class.forName(PathStepper.class.getPackageName() + ".VectorPathStepper")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarPathStepper();
+            }
+        }
+        return new ScalarPathStepper();
+    }
+}
@@ -0,0 +1,117 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+
+import java.time.LocalDate;
+
+/**
+ * Walks the intervals between consecutive {@code PORTFOLIO_VALUE} snapshots
+ * in a window, giving each one's net cash flow and Modified Dietz return.
+ *
+ * The cash flow is the change in {@code TOTAL_INVESTED}, carried forward to
+ * each valuation date; where no invested amount is known yet, the earlier
+ * valuation's {@code monthlyContribution} times the elapsed months stands in
+ * for it. The invested series is merged in alongside the valuations, so a
+ * full walk is linear in the number of snapshots.
+ *
+ * Starts before the first interval; each {@link #next()} moves to the next.
+ */
+final class PeriodReturns {
+
+    static final double DAYS_PER_YEAR = 365.25;
+    static final double DAYS_PER_MONTH = DAYS_PER_YEAR / 12;
+
+    private final SnapshotSeriesRepository.Series invested;
+    private final int[] days;
+    private final double[] values;
+    private final double[] monthly;
+    private final int first;
+    private final int last;
+
+    private int end;
+    private int nextInvested;
+    private double investedBefore;
+    private double flow;
+
+    /**
+     * Either series may be null when the user has none; the invested amounts
+     * run from the start of history. A null {@code from} starts the window
+     * there too.
+     */
+    PeriodReturns(SnapshotSeriesRepository.Series value, SnapshotSeriesRepository.Series invested,
+                  LocalDate from) {
+        this.invested = invested;
+        this.days = value != null ? value.epochDays() : new int[0];
+        this.values = value != null ? value.values() : new double[0];
+        this.monthly = value != null ? value.monthlyContributions() : new double[0];
+        int start = 0;
+        if (from != null) {
+            while (start < days.length && days[start] < from.toEpochDay()) start++;
+        }
+        this.first = start;
+        this.last = days.length - 1;
+        this.end = first;
+        if (first < days.length) investedBefore = investedAt(days[first]);
+    }
+
+    /** Number of intervals; zero when the window holds fewer than two valuations. */
+    int periods() {
+        return Math.max(0, last - first);
+    }
+
+    /** Moves to the next interval, returning false after the last one. */
+    boolean next() {
+        if (end >= last) return false;
+        end++;
+        double investedAfter = investedAt(days[end]);
+        if (!Double.isNaN(investedBefore) && !Double.isNaN(investedAfter)) {
+            flow = investedAfter - investedBefore;
+        } else {
+            flow = Double.isNaN(monthly[end - 1]) ? 0 : monthly[end - 1] * (days[end] - days[end - 1]) / DAYS_PER_MONTH;
+        }
+        investedBefore = investedAfter;
+        return true;
+    }
+
+    /** Net cash invested during the current interval. */
+    double flow() {
+        return flow;
+    }
+
+    /**
+     * Return of the current interval, with its cash flow assumed to arrive
+     * half-way through it; NaN if that leaves nothing invested to measure.
+     */
+    double periodReturn() {
+        double base = values[end - 1] + flow / 2;
+        return base > 0 ? (values[end] - values[end - 1] - flow) / base : Double.NaN;
+    }
+
+    /** Epoch day at the end of the current interval. */
+    int day() {
+        return days[end];
+    }
+
+    int firstDay() {
+        return days[first];
+    }
+
+    int lastDay() {
+        return days[last];
+    }
+
+    double firstValue() {
+        return values[first];
+    }
+
+    double lastValue() {
+        return values[last];
+    }
+
+    /** Latest invested amount on or before the day, or NaN if none; days must ascend. */
+    private double investedAt(int day) {
+        if (invested == null) return Double.NaN;
+        while (nextInvested < invested.size() && invested.epochDays()[nextInvested] <= day) nextInvested++;
+        return nextInvested == 0 ? Double.NaN : invested.values()[nextInvested - 1];
+    }
+}
@@ -0,0 +1,79 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.PortfolioReturns;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Time-weighted and money-weighted returns over the snapshot history.
+ *
+ * The time-weighted return chains the {@link PeriodReturns} of each interval
+ * between valuations; the money-weighted return is the XIRR of the starting
+ * value, each interval's cash flow and the final value.
+ */
+@Service
+public class PortfolioReturnsService extends WindowedReturnsService<PortfolioReturns> {
+
+    public PortfolioReturnsService(SnapshotSeriesCache seriesCache) {
+        super(seriesCache);
+    }
+
+    /**
+     * Returns between the first and last valuations in the window, which runs
+     * from the start of history and to the latest snapshot when its bounds
+     * are null. Rates are null if the window holds fewer than two valuations.
+     */
+    public PortfolioReturns returns(User user, LocalDate from, LocalDate to) {
+        return cached(user, from, to, null, PortfolioReturnsService::compute);
+    }
+
+    static PortfolioReturns compute(SnapshotSeriesRepository.Series value,
+                                    SnapshotSeriesRepository.Series invested, LocalDate from) {
+        return compute(new PeriodReturns(value, invested, from));
+    }
+
+    private static PortfolioReturns compute(PeriodReturns periods) {
+        int flows = periods.periods();
+        if (flows == 0) {
+            return PortfolioReturns.builder().periods(0).build();
+        }
+
+        double[] years = new double[flows + 1];
+        double[] cashFlows = new double[flows + 1];
+        cashFlows[0] = -periods.firstValue();
+
+        double growth = 1;
+        double netContributions = 0;
+        for (int k = 1; periods.next(); k++) {
+            netContributions += periods.flow();
+            double periodReturn = periods.periodReturn();
+            if (!Double.isNaN(periodReturn)) {
+                growth *= 1 + periodReturn;
+            }
+            years[k] = (periods.day() - periods.firstDay()) / PeriodReturns.DAYS_PER_YEAR;
+            cashFlows[k] = -periods.flow();
+        }
+        cashFlows[flows] += periods.lastValue();
+
+        int span = periods.lastDay() - periods.firstDay();
+        Xirr.Result xirr = Xirr.solve(years, cashFlows);
+
+        return PortfolioReturns.builder()
+                .startDate(LocalDate.ofEpochDay(periods.firstDay()))
+                .endDate(LocalDate.ofEpochDay(periods.lastDay()))
+                .periods(flows)
+                .startValue(Numerics.toMoney(periods.firstValue()))
+                .endValue(Numerics.toMoney(periods.lastValue()))
+                .netContributions(Numerics.toMoney(netContributions))
+                .gain(Numerics.toMoney(periods.lastValue() - periods.firstValue() - netContributions))
+                .timeWeightedReturn(growth - 1)
+                .annualizedTimeWeightedReturn(span >= 365
+                        ? Math.pow(growth, PeriodReturns.DAYS_PER_YEAR / span) - 1 : null)
+                .moneyWeightedReturn(xirr != null ? xirr.rate() : null)
+                .moneyWeightedMethod(xirr != null ? xirr.method().name() : null)
+                .build();
+    }
+}
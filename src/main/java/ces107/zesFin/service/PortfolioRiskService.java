@@ -0,0 +1,133 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.PortfolioRisk;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Drawdown and volatility over the snapshot history.
+ *
+ * Chaining the {@link PeriodReturns} gives a wealth index that moves only with
+ * performance; drawdowns are measured on that index and volatility on the
+ * period returns, accumulated with Welford's algorithm, in the same pass.
+ */
+@Service
+public class PortfolioRiskService extends WindowedReturnsService<PortfolioRisk> {
+
+    public PortfolioRiskService(SnapshotSeriesCache seriesCache) {
+        super(seriesCache);
+    }
+
+    /**
+     * Risk figures between the first and last valuations in the window, which
+     * runs from the start of history and to the latest snapshot when its
+     * bounds are null. The Sharpe ratio subtracts the annual risk-free rate.
+     */
+    public PortfolioRisk risk(User user, LocalDate from, LocalDate to, double riskFreeRate) {
+        if (!Double.isFinite(riskFreeRate) || riskFreeRate <= -1) {
+            throw new InvalidRequestException("riskFreeRate must be a finite rate above -1");
+        }
+        return cached(user, from, to, riskFreeRate, periods -> compute(periods, riskFreeRate));
+    }
+
+    static PortfolioRisk compute(SnapshotSeriesRepository.Series value,
+                                 SnapshotSeriesRepository.Series invested, LocalDate from,
+                                 double riskFreeRate) {
+        return compute(new PeriodReturns(value, invested, from), riskFreeRate);
+    }
+
+    private static PortfolioRisk compute(PeriodReturns periods, double riskFreeRate) {
+        if (periods.periods() == 0) {
+            return PortfolioRisk.builder().periods(0).riskFreeRate(riskFreeRate).build();
+        }
+
+        double wealth = 1;
+        double peak = 1;
+        int peakDay = periods.firstDay();
+        boolean underwater = false;
+        int longestDrawdown = 0;
+
+        double maxDrawdown = 0;
+        int maxPeakDay = 0;
+        int maxTroughDay = 0;
+        int recoveryDay = -1;
+        boolean inMaxEpisode = false;
+
+        // Welford's running mean and sum of squared deviations of the period returns
+        int count = 0;
+        double mean = 0;
+        double squares = 0;
+
+        while (periods.next()) {
+            int day = periods.day();
+            double periodReturn = periods.periodReturn();
+            if (!Double.isNaN(periodReturn)) {
+                wealth *= 1 + periodReturn;
+
+                count++;
+                double delta = periodReturn - mean;
+                mean += delta / count;
+                squares += delta * (periodReturn - mean);
+            }
+
+            if (wealth >= peak) {
+                if (underwater) {
+                    longestDrawdown = Math.max(longestDrawdown, day - peakDay);
+                    if (inMaxEpisode) recoveryDay = day;
+                }
+                peak = wealth;
+                peakDay = day;
+                underwater = false;
+                inMaxEpisode = false;
+            } else {
+                underwater = true;
+                double drawdown = 1 - wealth / peak;
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                    maxPeakDay = peakDay;
+                    maxTroughDay = day;
+                    recoveryDay = -1;
+                    inMaxEpisode = true;
+                }
+            }
+        }
+        if (underwater) {
+            longestDrawdown = Math.max(longestDrawdown, periods.lastDay() - peakDay);
+        }
+
+        // Irregular spacing is annualised by the average number of periods per year
+        int span = periods.lastDay() - periods.firstDay();
+        Double volatility = null;
+        Double sharpe = null;
+        if (count >= 2 && span > 0) {
+            double periodsPerYear = count * PeriodReturns.DAYS_PER_YEAR / span;
+            volatility = Math.sqrt(squares / (count - 1) * periodsPerYear);
+            if (volatility > 0) {
+                sharpe = (mean * periodsPerYear - riskFreeRate) / volatility;
+            }
+        }
+
+        boolean drawn = maxDrawdown > 0;
+        boolean recovered = drawn && recoveryDay >= 0;
+        return PortfolioRisk.builder()
+                .startDate(LocalDate.ofEpochDay(periods.firstDay()))
+                .endDate(LocalDate.ofEpochDay(periods.lastDay()))
+                .periods(periods.periods())
+                .maxDrawdown(maxDrawdown)
+                .drawdownPeakDate(drawn ? LocalDate.ofEpochDay(maxPeakDay) : null)
+                .drawdownTroughDate(drawn ? LocalDate.ofEpochDay(maxTroughDay) : null)
+                .drawdownRecoveryDate(recovered ? LocalDate.ofEpochDay(recoveryDay) : null)
+                .drawdownDays(drawn ? (recovered ? recoveryDay : periods.lastDay()) - maxPeakDay : null)
+                .recoveryDays(recovered ? recoveryDay - maxTroughDay : null)
+                .longestDrawdownDays(longestDrawdown)
+                .currentDrawdown(1 - wealth / peak)
+                .annualizedVolatility(volatility)
+                .riskFreeRate(riskFreeRate)
+                .sharpeRatio(sharpe)
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.AlignedPortfolioSeries;
+import ces107.zesFin.dto.AlignedPortfolioSeries.Fill;
+import ces107.zesFin.dto.AlignedPortfolioSeries.Interval;
+import ces107.zesFin.dto.PortfolioSeries;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves snapshot history for charts: per entry type, downsampled with
+ * {@link Lttb} so the payload stays bounded however long the user's history
+ * grows, or with every entry type gap-filled onto one shared date grid.
+ * Aligned series are cached per user until a {@link SnapshotsChangedEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioSeriesService {
+
+    public static final int DEFAULT_POINTS = 500;
+    static final int MIN_POINTS = 3;
+    static final int MAX_POINTS = 10_000;
+    static final int MAX_GRID_POINTS = 20_000;
+    static final int MAX_CACHED_GRIDS = 16;
+    static final int MAX_CACHED_USERS = 256;
+    static final long MAX_CACHED_BYTES = 32L << 20;
+    // A grid date costs a LocalDate plus a boxed Double per column, each with its reference
+    private static final long DATE_BYTES = 28;
+    private static final long CELL_BYTES = 20;
+    private static final long SERIES_OVERHEAD_BYTES = 256;
+
+    private record GridKey(Interval interval, Fill fill, LocalDate from, LocalDate to) {}
+
+    private final SnapshotSeriesCache seriesCache;
+    private final UserScopedCache<GridKey, AlignedPortfolioSeries> alignedCache = new UserScopedCache<>(
+            MAX_CACHED_USERS, MAX_CACHED_GRIDS, MAX_CACHED_BYTES, PortfolioSeriesService::sizeOf);
+
+    /**
+     * One series per entry type with data in range, downsampled to at most
+     * {@code points} points, between 3 and 10,000. Empty entry types include
+     * all of them, and a null date leaves that end of the range open.
+     */
+    public PortfolioSeries series(User user, Collection<EntryType> entryTypes,
+                                  LocalDate from, LocalDate to, int points) {
+        if (points < MIN_POINTS || points > MAX_POINTS) {
+            throw new InvalidRequestException("points must be between " + MIN_POINTS + " and " + MAX_POINTS);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("from must not be after to");
+        }
+
+        Map<EntryType, SnapshotSeriesRepository.Series> raw =
+                seriesCache.findSeries(user.getId(), entryTypes, from, to);
+
+        List<PortfolioSeries.EntryTypeSeries> series = new ArrayList<>(raw.size());
+        for (SnapshotSeriesRepository.Series s : raw.values()) {
+            int[] kept = Lttb.select(s.epochDays(), s.values(), points);
+            List<LocalDate> dates = new ArrayList<>(kept.length);
+            double[] values = new double[kept.length];
+            for (int i = 0; i < kept.length; i++) {
+                dates.add(LocalDate.ofEpochDay(s.epochDays()[kept[i]]));
+                values[i] = s.values()[kept[i]];
+            }
+            series.add(PortfolioSeries.EntryTypeSeries.builder()
+                    .entryType(s.entryType())
+                    .totalPoints(s.size())
+                    .dates(dates)
+                    .values(values)
+                    .build());
+        }
+
+        return PortfolioSeries.builder()
+                .points(points)
+                .series(series)
+                .build();
+    }
+
+    /**
+     * All four entry types and the yield on one grid of the given interval
+     * that ends on {@code to}. A null bound falls back to the first or last
+     * snapshot of any type.
+     *
+     * @throws InvalidRequestException if the range is inverted or the grid exceeds 20,000 dates
+     */
+    public AlignedPortfolioSeries aligned(User user, Interval interval, Fill fill,
+                                          LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("from must not be after to");
+        }
+        // The whole history is loaded: carry-forward and interpolation need snapshots outside the range
+        return alignedCache.get(user.getId(), new GridKey(interval, fill, from, to), () -> align(
+                seriesCache.findSeries(user.getId(), List.of(), null, null), interval, fill, from, to));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSnapshotsChanged(SnapshotsChangedEvent event) {
+        alignedCache.evict(event.userId());
+    }
+
+    static AlignedPortfolioSeries align(Map<EntryType, SnapshotSeriesRepository.Series> raw,
+                                        Interval interval, Fill fill,
+                                        LocalDate from, LocalDate to) {
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (SnapshotSeriesRepository.Series s : raw.values()) {
+            first = Math.min(first, s.epochDays()[0]);
+            last = Math.max(last, s.epochDays()[s.size() - 1]);
+        }
+        LocalDate start = from != null ? from : raw.isEmpty() ? null : LocalDate.ofEpochDay(first);
+        LocalDate end = to != null ? to : raw.isEmpty() ? null : LocalDate.ofEpochDay(last);
+        int[] grid = start == null || end == null || start.isAfter(end)
+                ? new int[0]
+                : grid(interval, start, end);
+
+        Map<EntryType, Double[]> series = new EnumMap<>(EntryType.class);
+        for (EntryType type : EntryType.values()) {
+            series.put(type, resample(raw.get(type), grid, fill));
+        }
+
+        Double[] value = series.get(EntryType.PORTFOLIO_VALUE);
+        Double[] invested = series.get(EntryType.TOTAL_INVESTED);
+        Double[] yield = new Double[grid.length];
+        for (int i = 0; i < grid.length; i++) {
+            if (value[i] != null && invested[i] != null) yield[i] = value[i] - invested[i];
+        }
+
+        List<LocalDate> dates = new ArrayList<>(grid.length);
+        for (int day : grid) dates.add(LocalDate.ofEpochDay(day));
+
+        return AlignedPortfolioSeries.builder()
+                .interval(interval)
+                .fill(fill)
+                .dates(dates)
+                .series(series)
+                .yield(yield)
+                .build();
+    }
+
+    /** Estimated heap size of an aligned series, for the cache budget. */
+    static long sizeOf(AlignedPortfolioSeries aligned) {
+        long columns = aligned.getSeries().size() + 1L;
+        return SERIES_OVERHEAD_BYTES + aligned.getDates().size() * (DATE_BYTES + columns * CELL_BYTES);
+    }
+
+    /** Ascending grid days, stepping back from {@code end} so the latest date is always included. */
+    private static int[] grid(Interval interval, LocalDate start, LocalDate end) {
+        long count = switch (interval) {
+            case DAILY -> ChronoUnit.DAYS.between(start, end) + 1;
+            case WEEKLY -> ChronoUnit.DAYS.between(start, end) / 7 + 1;
+            case MONTHLY -> ChronoUnit.MONTHS.between(start, end) + 1;
+        };
+        if (count > MAX_GRID_POINTS) {
+            throw new InvalidRequestException("Range has " + count + " " + interval.name().toLowerCase()
+                    + " points; the maximum is " + MAX_GRID_POINTS);
+        }
+
+        int[] grid = new int[(int) count];
+        for (int k = 0; k < grid.length; k++) {
+            LocalDate date = switch (interval) {
+                case DAILY -> end.minusDays(k);
+                case WEEKLY -> end.minusWeeks(k);
+                case MONTHLY -> end.minusMonths(k);
+            };
+            grid[grid.length - 1 - k] = (int) date.toEpochDay();
+        }
+        return grid;
+    }
+
+    /** Values of one series at each grid day, in a single merge pass over both ascending arrays. */
+    private static Double[] resample(SnapshotSeriesRepository.Series s, int[] grid, Fill fill) {
+        Double[] out = new Double[grid.length];
+        if (s == null) return out;
+
+        int[] days = s.epochDays();
+        double[] values = s.values();
+        int j = -1; // last snapshot on or before the grid day
+        for (int i = 0; i < grid.length; i++) {
+            int day = grid[i];
+            while (j + 1 < days.length && days[j + 1] <= day) j++;
+            if (j < 0) continue;
+
+            if (fill == Fill.CARRY_FORWARD || days[j] == day || j + 1 == days.length) {
+                out[i] = values[j];
+            } else {
+                double t = (double) (day - days[j]) / (days[j + 1] - days[j]);
+                out[i] = values[j] + t * (values[j + 1] - values[j]);
+            }
+        }
+        return out;
+    }
+}
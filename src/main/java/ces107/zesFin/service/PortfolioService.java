@@ -1,13 +1,24 @@
 package ces107.zesFin.service;
 
+import ces107.zesFin.dto.SnapshotPage;
+import ces107.zesFin.dto.SnapshotValues;
 import ces107.zesFin.exception.DuplicateEntryException;
+import ces107.zesFin.exception.InvalidRequestException;
 import ces107.zesFin.exception.ResourceNotFoundException;
+import ces107.zesFin.model.EntryType;
 import ces107.zesFin.model.PortfolioSnapshot;
+import ces107.zesFin.model.SyncEntityType;
 import ces107.zesFin.model.User;
 import ces107.zesFin.repository.PortfolioSnapshotRepository;
+import ces107.zesFin.repository.SnapshotBatchRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +26,74 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class PortfolioService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Sort HISTORY_ORDER = Sort.by("date", "id");
+
     private final PortfolioSnapshotRepository repository;
+    private final SnapshotBatchRepository batchRepository;
+    private final ApplicationEventPublisher events;
+    private final SyncService syncService;
 
     public List<PortfolioSnapshot> findAll(User user) {
         return repository.findAllByUserOrderByDateAsc(user);
     }
 
+    /**
+     * Returns the user's snapshots in (date, id) order, optionally restricted to
+     * a date range and entry type, one keyset page at a time.
+     *
+     * @param user      the authenticated user
+     * @param from      first date to include, or null
+     * @param to        last date to include, or null
+     * @param entryType entry type to include, or null for all types
+     * @param cursor    opaque cursor from the previous page, or null for the first page
+     * @param limit     page size between 1 and {@value #MAX_PAGE_SIZE}, or null for no limit
+     * @return the page and the cursor of the next one, if any
+     * @throws InvalidRequestException if the range, limit or cursor is invalid
+     */
+    public SnapshotPage findPage(final User user, final LocalDate from, final LocalDate to,
+                                 final EntryType entryType, final String cursor, final Integer limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("from must not be after to");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Specification<PortfolioSnapshot> spec = (root, query, cb) -> cb.equal(root.get("user"), user);
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDate>get("date"), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDate>get("date"), to));
+        }
+        if (entryType != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("entryType"), entryType));
+        }
+        if (cursor != null) {
+            final PageCursor after = PageCursor.decode(cursor);
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.greaterThan(root.<LocalDate>get("date"), after.date()),
+                    cb.and(cb.equal(root.get("date"), after.date()),
+                            cb.greaterThan(root.<Long>get("id"), after.id()))));
+        }
+
+        if (limit == null) {
+            return new SnapshotPage(repository.findAll(spec, HISTORY_ORDER), null);
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        final List<PortfolioSnapshot> rows = repository.findBy(spec,
+                q -> q.sortBy(HISTORY_ORDER).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new SnapshotPage(rows, null);
+        }
+        final List<PortfolioSnapshot> items = rows.subList(0, limit);
+        final PortfolioSnapshot last = items.get(limit - 1);
+        return new SnapshotPage(items, new PageCursor(last.getDate(), last.getId()).encode());
+    }
+
     public Optional<PortfolioSnapshot> findLatest(User user) {
         return repository.findTopByUserOrderByDateDesc(user);
     }
@@ -34,6 +107,7 @@ public class PortfolioService {
      * @return The created snapshot
      * @throws DuplicateEntryException if an entry already exists for the same date and type
      */
+    @Transactional
     public PortfolioSnapshot create(final PortfolioSnapshot snapshot, final User user) {
         final Optional<PortfolioSnapshot> existing = repository
                 .findByUserAndDateAndEntryType(user, snapshot.getDate(), snapshot.getEntryType());
@@ -43,7 +117,11 @@ public class PortfolioService {
         }
 
         snapshot.setUser(user);
-        return repository.save(snapshot);
+        final long version = syncService.nextVersion(user.getId());
+        snapshot.setSyncVersion(version);
+        final PortfolioSnapshot saved = repository.save(snapshot);
+        events.publishEvent(new SnapshotsChangedEvent(user.getId(), version, List.of(written(saved))));
+        return saved;
     }
 
     /**
@@ -57,6 +135,7 @@ public class PortfolioService {
      * @throws ResourceNotFoundException if snapshot not found
      * @throws DuplicateEntryException if update would create a duplicate
      */
+    @Transactional
     public PortfolioSnapshot update(final Long id, final PortfolioSnapshot updated, final User user) {
         final PortfolioSnapshot existing = repository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new ResourceNotFoundException("PortfolioSnapshot", id));
@@ -72,19 +151,59 @@ public class PortfolioService {
             }
         }
 
+        final SnapshotsChangedEvent.Change previous =
+                SnapshotsChangedEvent.Change.removed(existing.getDate(), existing.getEntryType());
+        final long version = syncService.nextVersion(user.getId());
+        existing.setSyncVersion(version);
         existing.setDate(updated.getDate());
         existing.setEntryType(updated.getEntryType());
         existing.setValue(updated.getValue());
         existing.setMonthlyContribution(updated.getMonthlyContribution());
         existing.setFixedIncomePercentage(updated.getFixedIncomePercentage());
 
-        return repository.save(existing);
+        final PortfolioSnapshot saved = repository.save(existing);
+        // Removing the old key first covers a changed date or entry type
+        events.publishEvent(new SnapshotsChangedEvent(user.getId(), version, List.of(previous, written(saved))));
+        return saved;
+    }
+
+    /**
+     * Inserts or replaces the user's entry for a date and entry type in a
+     * single statement. Unlike {@link #create} and {@link #update} there is no
+     * read-then-write window: concurrent upserts of the same key both succeed
+     * and the last one to commit wins.
+     *
+     * @param date The snapshot date
+     * @param entryType The entry type
+     * @param values The values to store
+     * @param user The authenticated user
+     * @return The stored snapshot, with values as the database stored them
+     */
+    @Transactional
+    public PortfolioSnapshot upsert(final LocalDate date, final EntryType entryType,
+                                    final SnapshotValues values, final User user) {
+        final long version = syncService.nextVersion(user.getId());
+        final PortfolioSnapshot stored = batchRepository.upsert(user.getId(), version,
+                new SnapshotBatchRepository.Row(date, entryType, values.getValue(),
+                        values.getMonthlyContribution(), values.getFixedIncomePercentage()));
+        stored.setUser(user);
+        // Publish the stored, column-rounded values so caches match what a reload would read
+        events.publishEvent(new SnapshotsChangedEvent(user.getId(), version, List.of(written(stored))));
+        return stored;
     }
 
+    @Transactional
     public void delete(Long id, User user) {
-        if (!repository.existsByIdAndUser(id, user)) {
-            throw new ResourceNotFoundException("PortfolioSnapshot", id);
-        }
+        final PortfolioSnapshot existing = repository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new ResourceNotFoundException("PortfolioSnapshot", id));
+        final long version = syncService.recordDeletion(user, SyncEntityType.SNAPSHOT, id);
         repository.deleteById(id);
+        events.publishEvent(new SnapshotsChangedEvent(user.getId(), version, List.of(
+                SnapshotsChangedEvent.Change.removed(existing.getDate(), existing.getEntryType()))));
+    }
+
+    private static SnapshotsChangedEvent.Change written(final PortfolioSnapshot snapshot) {
+        return SnapshotsChangedEvent.Change.written(snapshot.getDate(), snapshot.getEntryType(),
+                snapshot.getValue(), snapshot.getMonthlyContribution());
     }
 }
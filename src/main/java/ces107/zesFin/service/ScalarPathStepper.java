@@ -0,0 +1,19 @@
+package ces107.zesFin.service;
+
+/** Plain loop implementation of {@link PathStepper}; the fallback everywhere. */
+final class ScalarPathStepper implements PathStepper {
+
+    @Override
+    public void step(double[] savings, double[] shocks, int length,
+                     double base, double scale, double contribution) {
+        for (int i = 0; i < length; i++) {
+            double growth = Math.max(0, base + scale * shocks[i]);
+            savings[i] = savings[i] * growth + contribution;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,116 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.SensitivityAnalysis;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One-at-a-time (tornado) sensitivity of the FIRE age to the profile inputs.
+ *
+ * Each parameter is moved down and up by a delta, absolute for rates and
+ * relative for money amounts, and clamped to the parameter's valid range.
+ * All perturbed profiles are evaluated concurrently through
+ * {@link FireCalculatorService#summarize(FireInputs)}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SensitivityService {
+
+    public static final double DEFAULT_RATE_DELTA = 0.01;
+    public static final double DEFAULT_AMOUNT_DELTA = 0.10;
+
+    static final List<FireParameter> DEFAULT_PARAMETERS = List.of(
+            FireParameter.EXPECTED_RETURN_RATE,
+            FireParameter.INFLATION_RATE,
+            FireParameter.SAFE_WITHDRAWAL_RATE,
+            FireParameter.CONTRIBUTION_INCREASE_RATE,
+            FireParameter.MONTHLY_EXPENSES);
+
+    private final FireCalculatorService calculatorService;
+
+    /**
+     * Runs the analysis over the default parameters: return, inflation,
+     * withdrawal rate, contribution growth and expenses. Rates move by the
+     * absolute {@code rateDelta} (0.01 is one percentage point) and money
+     * amounts by the relative {@code amountDelta} (0.10 is 10%). Entries are
+     * ranked by how far they move years-to-FIRE.
+     */
+    public SensitivityAnalysis analyze(FireProfile profile, double rateDelta, double amountDelta) {
+        return analyze(profile, DEFAULT_PARAMETERS, rateDelta, amountDelta);
+    }
+
+    SensitivityAnalysis analyze(FireProfile profile, List<FireParameter> parameters,
+                                double rateDelta, double amountDelta) {
+        if (rateDelta <= 0 || rateDelta > 0.1) {
+            throw new InvalidRequestException("rateDelta must be greater than 0 and at most 0.1");
+        }
+        if (amountDelta <= 0 || amountDelta > 1) {
+            throw new InvalidRequestException("amountDelta must be greater than 0 and at most 1");
+        }
+
+        FireInputs base = FireInputs.from(profile);
+        FireSummary baseSummary = calculatorService.summarize(base);
+        int horizon = FireCalculatorService.horizonYears(base.currentAge());
+
+        ComputeContext context = ComputeContext.current();
+        List<SensitivityAnalysis.Entry> entries = context.invoke(() -> parameters.parallelStream()
+                .map(parameter -> {
+                    context.checkCancelled();
+                    return evaluate(base, baseSummary, horizon, parameter, rateDelta, amountDelta);
+                })
+                .sorted(Comparator.comparing(SensitivityAnalysis.Entry::getSwingYears).reversed())
+                .toList());
+
+        return SensitivityAnalysis.builder()
+                .currentAge(base.currentAge())
+                .baseFireAge(baseSummary.achievable() ? baseSummary.fireAge() : null)
+                .baseYearsToFire(baseSummary.achievable() ? baseSummary.fireAge() - base.currentAge() : null)
+                .rateDelta(rateDelta)
+                .amountDelta(amountDelta)
+                .entries(entries)
+                .build();
+    }
+
+    private SensitivityAnalysis.Entry evaluate(FireInputs base, FireSummary baseSummary,
+                                               int horizon, FireParameter parameter,
+                                               double rateDelta, double amountDelta) {
+        double value = parameter.get(base);
+        double step = parameter.isRate() ? rateDelta : Math.abs(value) * amountDelta;
+        double low = clamp(parameter, value - step);
+        double high = clamp(parameter, value + step);
+
+        FireSummary lowSummary = calculatorService.summarize(parameter.apply(base, low));
+        FireSummary highSummary = calculatorService.summarize(parameter.apply(base, high));
+
+        int baseYears = yearsToFire(base, baseSummary, horizon);
+        int lowYears = yearsToFire(base, lowSummary, horizon);
+        int highYears = yearsToFire(base, highSummary, horizon);
+        boolean comparable = baseSummary.achievable();
+
+        return SensitivityAnalysis.Entry.builder()
+                .parameter(parameter)
+                .baseValue(value)
+                .lowValue(low)
+                .highValue(high)
+                .lowFireAge(lowSummary.achievable() ? lowSummary.fireAge() : null)
+                .highFireAge(highSummary.achievable() ? highSummary.fireAge() : null)
+                .lowDeltaYears(comparable && lowSummary.achievable() ? lowYears - baseYears : null)
+                .highDeltaYears(comparable && highSummary.achievable() ? highYears - baseYears : null)
+                .swingYears(Math.abs(lowYears - highYears))
+                .build();
+    }
+
+    /** Years to FIRE, or one past the horizon when it is never reached. */
+    private static int yearsToFire(FireInputs base, FireSummary summary, int horizon) {
+        return summary.achievable() ? summary.fireAge() - base.currentAge() : horizon + 1;
+    }
+
+    private static double clamp(FireParameter parameter, double value) {
+        return Math.max(parameter.min(), Math.min(parameter.max(), value));
+    }
+}
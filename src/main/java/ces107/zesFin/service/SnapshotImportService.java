@@ -0,0 +1,441 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.SnapshotImportReport;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotBatchRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Bulk import of portfolio snapshots from CSV or NDJSON.
+ *
+ * The import runs in two phases. The body is first parsed and validated
+ * outside any transaction, and valid rows are staged in a temporary file, so
+ * a slow upload holds neither a database connection nor the user's sync
+ * lock. The staged rows are then written in JDBC batches in one transaction
+ * that takes the sync version, so every row shares it. Memory use is bounded
+ * by the batch size plus one key per stored or imported snapshot. Duplicates
+ * against existing data are resolved from a single scan of the user's
+ * (date, entry type) keys rather than a lookup per row.
+ */
+@Service
+@RequiredArgsConstructor
+public class SnapshotImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    /** What to do with a row whose (date, entry type) is already stored. */
+    public enum DuplicatePolicy { SKIP, OVERWRITE }
+
+    static final int BATCH_SIZE = 1_000;
+    static final int MAX_REPORTED_ERRORS = 100;
+    static final int MAX_LINE_LENGTH = CsvReader.MAX_RECORD_LENGTH;
+    /** Precision and scale of the DECIMAL columns amounts are stored in. */
+    static final int AMOUNT_PRECISION = 19;
+    static final int AMOUNT_SCALE = 2;
+
+    private final SnapshotBatchRepository batchRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final SyncService syncService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Imports snapshots for the user.
+     *
+     * CSV input needs a header row naming at least {@code date},
+     * {@code entryType} and {@code value}; {@code monthlyContribution} and
+     * {@code fixedIncomePercentage} are optional, and columns may appear in
+     * any order. Fields may be enclosed in double quotes as in RFC 4180;
+     * numbers must not contain grouping separators, so {@code "1,000.50"} is
+     * rejected as not a number. NDJSON input has one snapshot object per line
+     * with the same field names; a line longer than {@value #MAX_LINE_LENGTH}
+     * characters is rejected without being buffered. Values must be positive
+     * and contributions not negative, with at most two decimals and
+     * {@value #AMOUNT_PRECISION} digits, so every staged row fits its column.
+     * The body is read once and not closed. The report holds counts per
+     * outcome and the first rejected rows.
+     *
+     * @throws InvalidRequestException if the CSV header is missing or incomplete,
+     *         or the CSV is malformed; nothing is written in that case
+     * @throws IOException if the body cannot be read
+     */
+    public SnapshotImportReport importSnapshots(User user, InputStream in, Format format,
+                                                DuplicatePolicy policy) throws IOException {
+        long started = System.nanoTime();
+        Batch batch;
+        try (Staging staging = new Staging()) {
+            batch = new Batch(user.getId(), policy, staging);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            if (format == Format.CSV) {
+                readCsv(reader, batch);
+            } else {
+                readNdjson(reader, batch);
+            }
+            staging.finish();
+
+            if (staging.size > 0) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> batch.write());
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+
+        return SnapshotImportReport.builder()
+                .rowsRead(batch.rowsRead)
+                .inserted(batch.inserted)
+                .updated(batch.updated)
+                .skipped(batch.skipped)
+                .rejected(batch.rejected)
+                .errors(batch.errors)
+                .errorsTruncated(batch.rejected > batch.errors.size())
+                .durationMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> names = csv.next();
+        if (names == null) {
+            throw new InvalidRequestException("CSV body is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            // Spreadsheet exports often start with a byte-order mark
+            columns.put(names.get(i).replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT), i);
+        }
+        int date = column(columns, "date", true);
+        int entryType = column(columns, "entrytype", true);
+        int value = column(columns, "value", true);
+        int contribution = column(columns, "monthlycontribution", false);
+        int fixedIncome = column(columns, "fixedincomepercentage", false);
+
+        List<String> cells;
+        while ((cells = csv.next()) != null) {
+            if (cells.size() == 1 && cells.get(0).isBlank()) continue;
+            batch.accept(csv.recordLine(), cell(cells, date), cell(cells, entryType), cell(cells, value),
+                    cell(cells, contribution), cell(cells, fixedIncome));
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        StringBuilder buffer = new StringBuilder();
+        long lineNumber = 0;
+        while (readLine(reader, buffer)) {
+            lineNumber++;
+            if (buffer.length() > MAX_LINE_LENGTH) {
+                batch.reject(lineNumber, "Line is longer than " + MAX_LINE_LENGTH + " characters");
+                continue;
+            }
+            String line = buffer.toString();
+            if (line.isBlank()) continue;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                batch.reject(lineNumber, "Malformed JSON");
+                continue;
+            }
+            if (!node.isObject()) {
+                batch.reject(lineNumber, "Expected a JSON object");
+                continue;
+            }
+            batch.accept(lineNumber, text(node, "date"), text(node, "entryType"), text(node, "value"),
+                    text(node, "monthlyContribution"), text(node, "fixedIncomePercentage"));
+        }
+    }
+
+    /**
+     * Reads one line into the buffer, without its terminator, and returns
+     * false at the end of input. A line over {@link #MAX_LINE_LENGTH}
+     * characters is buffered only up to one character past the limit and the
+     * rest is skipped.
+     */
+    private static boolean readLine(BufferedReader reader, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        int c = reader.read();
+        if (c == -1) return false;
+        while (c != -1 && c != '\n') {
+            if (c != '\r' && buffer.length() <= MAX_LINE_LENGTH) buffer.append((char) c);
+            c = reader.read();
+        }
+        return true;
+    }
+
+    /** Packs (date, entry type) into one long; entry types fit in the low three bits. */
+    static long key(LocalDate date, EntryType type) {
+        return date.toEpochDay() << 3 | type.ordinal();
+    }
+
+    private static int column(Map<String, Integer> columns, String name, boolean required) {
+        Integer index = columns.get(name);
+        if (index == null && required) {
+            throw new InvalidRequestException("CSV header must contain date, entryType and value columns");
+        }
+        return index != null ? index : -1;
+    }
+
+    private static String cell(List<String> cells, int index) {
+        if (index < 0 || index >= cells.size()) return null;
+        String cell = cells.get(index).strip();
+        return cell.isEmpty() ? null : cell;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Accumulates one import: validation and in-file duplicates while the body
+     * is read, then duplicate resolution against stored rows and batched
+     * writes from the staged rows.
+     */
+    private final class Batch {
+        private final Long userId;
+        private final DuplicatePolicy policy;
+        private final Staging staging;
+        private final Map<Long, Long> importedAt = new HashMap<>();
+        private final List<SnapshotImportReport.RowError> errors = new ArrayList<>();
+        private Set<Long> existing;
+        private long version;
+        private List<SnapshotBatchRepository.Row> inserts;
+        private List<SnapshotBatchRepository.Row> updates;
+        private int rowsRead;
+        private int inserted;
+        private int updated;
+        private int skipped;
+        private int rejected;
+
+        Batch(Long userId, DuplicatePolicy policy, Staging staging) {
+            this.userId = userId;
+            this.policy = policy;
+            this.staging = staging;
+        }
+
+        void accept(long line, String date, String entryType, String value,
+                    String contribution, String fixedIncome) throws IOException {
+            SnapshotBatchRepository.Row row;
+            try {
+                row = parse(date, entryType, value, contribution, fixedIncome);
+            } catch (InvalidRequestException e) {
+                reject(line, e.getMessage());
+                return;
+            }
+            rowsRead++;
+
+            long key = key(row.date(), row.entryType());
+            Long firstLine = importedAt.putIfAbsent(key, line);
+            if (firstLine != null) {
+                rejected++;
+                report(line, "Duplicate of line " + firstLine);
+            } else {
+                staging.add(row);
+            }
+        }
+
+        void reject(long line, String message) {
+            rowsRead++;
+            rejected++;
+            report(line, message);
+        }
+
+        /** Write phase; runs in the import's transaction. */
+        void write() {
+            // Take the sync version, and with it the user's row lock, only once the body is read
+            version = syncService.nextVersion(userId);
+            existing = new HashSet<>();
+            batchRepository.forEachKey(userId, (date, type) -> existing.add(key(date, type)));
+            inserts = new ArrayList<>(BATCH_SIZE);
+            updates = new ArrayList<>(BATCH_SIZE);
+
+            try {
+                staging.forEach(row -> {
+                    long key = key(row.date(), row.entryType());
+                    if (!existing.contains(key)) {
+                        inserts.add(row);
+                        if (inserts.size() == BATCH_SIZE) flushInserts();
+                    } else if (policy == DuplicatePolicy.OVERWRITE) {
+                        updates.add(row);
+                        if (updates.size() == BATCH_SIZE) flushUpdates();
+                    } else {
+                        skipped++;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            flushInserts();
+            flushUpdates();
+            if (inserted + updated > 0) {
+                events.publishEvent(new SnapshotsChangedEvent(userId));
+            }
+        }
+
+        private void report(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new SnapshotImportReport.RowError(line, message));
+            }
+        }
+
+        private void flushInserts() {
+            if (inserts.isEmpty()) return;
+            batchRepository.insert(userId, version, inserts);
+            inserted += inserts.size();
+            inserts.clear();
+        }
+
+        private void flushUpdates() {
+            if (updates.isEmpty()) return;
+            batchRepository.update(userId, version, updates);
+            updated += updates.size();
+            updates.clear();
+        }
+    }
+
+    /**
+     * Valid rows of one import, spooled to a temporary file between the read
+     * and write phases. The file is deleted on close.
+     */
+    private static final class Staging implements Closeable {
+        private final Path file;
+        private final DataOutputStream out;
+        private int size;
+
+        Staging() throws IOException {
+            file = Files.createTempFile("snapshot-import-", ".bin");
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+
+        void add(SnapshotBatchRepository.Row row) throws IOException {
+            out.writeLong(row.date().toEpochDay());
+            out.writeByte(row.entryType().ordinal());
+            out.writeUTF(row.value().toString());
+            out.writeBoolean(row.monthlyContribution() != null);
+            if (row.monthlyContribution() != null) out.writeUTF(row.monthlyContribution().toString());
+            out.writeBoolean(row.fixedIncomePercentage() != null);
+            if (row.fixedIncomePercentage() != null) out.writeDouble(row.fixedIncomePercentage());
+            size++;
+        }
+
+        void finish() throws IOException {
+            out.close();
+        }
+
+        void forEach(Consumer<SnapshotBatchRepository.Row> consumer) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                for (int i = 0; i < size; i++) {
+                    LocalDate date = LocalDate.ofEpochDay(in.readLong());
+                    EntryType type = EntryType.values()[in.readByte()];
+                    BigDecimal value = new BigDecimal(in.readUTF());
+                    BigDecimal contribution = in.readBoolean() ? new BigDecimal(in.readUTF()) : null;
+                    Double fixedIncome = in.readBoolean() ? in.readDouble() : null;
+                    consumer.accept(new SnapshotBatchRepository.Row(date, type, value, contribution, fixedIncome));
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static SnapshotBatchRepository.Row parse(String date, String entryType, String value,
+                                                     String contribution, String fixedIncome) {
+        if (date == null) throw new InvalidRequestException("date is required");
+        if (entryType == null) throw new InvalidRequestException("entryType is required");
+        if (value == null) throw new InvalidRequestException("value is required");
+
+        EntryType type;
+        try {
+            type = EntryType.valueOf(entryType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unknown entryType " + entryType);
+        }
+        LocalDate day;
+        try {
+            day = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("date is not an ISO date: " + date);
+        }
+        return new SnapshotBatchRepository.Row(
+                day,
+                type,
+                amount("value", value, false),
+                contribution != null ? amount("monthlyContribution", contribution, true) : null,
+                fixedIncome != null ? percentage(fixedIncome) : null);
+    }
+
+    /** Parses an amount and checks it fits the column, so one bad row cannot fail the whole batch. */
+    private static BigDecimal amount(String field, String text, boolean zeroAllowed) {
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException(field + " is not a number: " + text);
+        }
+        if (amount.signum() < 0 || amount.signum() == 0 && !zeroAllowed) {
+            throw new InvalidRequestException(field + (zeroAllowed ? " must not be negative" : " must be positive"));
+        }
+        if (amount.stripTrailingZeros().scale() > AMOUNT_SCALE) {
+            throw new InvalidRequestException(field + " has more than " + AMOUNT_SCALE + " decimals: " + text);
+        }
+        BigDecimal stored = amount.setScale(AMOUNT_SCALE);
+        if (stored.precision() > AMOUNT_PRECISION) {
+            throw new InvalidRequestException(field + " is too large: " + text);
+        }
+        return stored;
+    }
+
+    private static double percentage(String text) {
+        double value;
+        try {
+            value = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("fixedIncomePercentage is not a number: " + text);
+        }
+        if (value < 0 || value > 100) {
+            throw new InvalidRequestException("fixedIncomePercentage must be between 0 and 100");
+        }
+        return value;
+    }
+}
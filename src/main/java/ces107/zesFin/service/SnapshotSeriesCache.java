@@ -0,0 +1,364 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import ces107.zesFin.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-user, heap-bounded cache of snapshot history in columnar form.
+ *
+ * Each entry type's history is held as ascending epoch days with values and
+ * monthly contributions in cents, loaded on first use through
+ * {@link SnapshotSeriesRepository}. Users are evicted least recently used
+ * first once the estimated size of all cached columns exceeds the budget.
+ *
+ * Writes arrive as {@link SnapshotsChangedEvent}s after commit. Itemised
+ * changes are merged into copies of the affected columns, so readers never
+ * see a column change under them; events without items drop the user. A load
+ * that overlaps such an event is returned to its caller but not stored, so a
+ * read from before the commit cannot outlive it.
+ *
+ * After-commit listeners do not run in commit order, so each entry remembers
+ * the sync version it reflects: the user's version read just before a load,
+ * or that of the last event merged. An event at or below it is either
+ * already in the columns or arrived after a later write was merged, and
+ * drops the user rather than overwrite newer values with older ones.
+ *
+ * Hit, miss and eviction counts are published as
+ * {@code portfolio.series.cache.requests{result=hit|miss}} and
+ * {@code portfolio.series.cache.evictions}.
+ */
+@Component
+public class SnapshotSeriesCache {
+
+    static final long NO_CONTRIBUTION = Long.MIN_VALUE;
+    private static final long POINT_BYTES = Integer.BYTES + 2 * Long.BYTES;
+    private static final long ENTRY_OVERHEAD_BYTES = 512;
+
+    /** One entry type's history. The arrays are never modified once published. */
+    record Column(int[] epochDays, long[] valueCents, long[] contributionCents) {
+
+        int size() {
+            return epochDays.length;
+        }
+
+        /** Copy with the point for the day set, inserted in date order if new. */
+        Column with(int day, long value, long contribution) {
+            int index = Arrays.binarySearch(epochDays, day);
+            if (index >= 0) {
+                long[] values = valueCents.clone();
+                long[] contributions = contributionCents.clone();
+                values[index] = value;
+                contributions[index] = contribution;
+                return new Column(epochDays, values, contributions);
+            }
+            int at = -index - 1;
+            return new Column(insert(epochDays, at, day), insert(valueCents, at, value),
+                    insert(contributionCents, at, contribution));
+        }
+
+        /** Copy without the point for the day, or this column if there is none. */
+        Column without(int day) {
+            int index = Arrays.binarySearch(epochDays, day);
+            if (index < 0) return this;
+            return new Column(remove(epochDays, index), remove(valueCents, index), remove(contributionCents, index));
+        }
+    }
+
+    /**
+     * A user's columns and the sync version they reflect, or a marker that a
+     * load is in flight when {@code columns} is null.
+     */
+    private record Entry(Map<EntryType, Column> columns, long bytes, long version) {}
+
+    private final SnapshotSeriesRepository repository;
+    private final UserRepository userRepository;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SnapshotSeriesCache(SnapshotSeriesRepository repository, UserRepository userRepository,
+                               @Value("${app.portfolio.series-cache.max-size:64MB}") DataSize maxSize,
+                               MeterRegistry registry) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.maxBytes = maxSize.toBytes();
+
+        FunctionCounter.builder("portfolio.series.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("portfolio.series.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("portfolio.series.cache.evictions", evictions, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("portfolio.series.cache.bytes", this, SnapshotSeriesCache::bytes)
+                .register(registry);
+    }
+
+    /**
+     * Same contract as {@link SnapshotSeriesRepository#findSeries}, served
+     * from the cached columns.
+     */
+    public Map<EntryType, SnapshotSeriesRepository.Series> findSeries(Long userId,
+                                                                      Collection<EntryType> entryTypes,
+                                                                      LocalDate from, LocalDate to) {
+        int first = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+        int last = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+
+        Map<EntryType, SnapshotSeriesRepository.Series> series = new EnumMap<>(EntryType.class);
+        columns(userId).forEach((type, column) -> {
+            if (!entryTypes.isEmpty() && !entryTypes.contains(type)) return;
+            int start = lowerBound(column.epochDays(), first);
+            int end = lowerBound(column.epochDays(), last == Integer.MAX_VALUE ? last : last + 1);
+            if (start < end) series.put(type, slice(type, column, start, end));
+        });
+        return series;
+    }
+
+    /** Value of the user's most recent snapshot of the type. */
+    public Optional<BigDecimal> latestValue(Long userId, EntryType entryType) {
+        Column column = columns(userId).get(entryType);
+        if (column == null || column.size() == 0) return Optional.empty();
+        return Optional.of(BigDecimal.valueOf(column.valueCents()[column.size() - 1], 2));
+    }
+
+    // Runs before the listeners that drop results derived from this history
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSnapshotsChanged(SnapshotsChangedEvent event) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(event.userId());
+            if (entry == null) return;
+            if (entry.columns() == null || event.changes().isEmpty() || event.syncVersion() <= entry.version()) {
+                entries.remove(event.userId());
+                bytes -= entry.bytes();
+                return;
+            }
+            Map<EntryType, Column> columns = new EnumMap<>(entry.columns());
+            for (SnapshotsChangedEvent.Change change : event.changes()) {
+                int day = (int) change.date().toEpochDay();
+                Column column = columns.get(change.entryType());
+                if (change.isRemoval()) {
+                    if (column == null) continue;
+                    Column remaining = column.without(day);
+                    if (remaining.size() == 0) {
+                        columns.remove(change.entryType());
+                    } else {
+                        columns.put(change.entryType(), remaining);
+                    }
+                } else {
+                    long value = toCents(change.value());
+                    long contribution = change.monthlyContribution() != null
+                            ? toCents(change.monthlyContribution())
+                            : NO_CONTRIBUTION;
+                    columns.put(change.entryType(), column != null
+                            ? column.with(day, value, contribution)
+                            : new Column(new int[]{day}, new long[]{value}, new long[]{contribution}));
+                }
+            }
+            store(event.userId(), new Entry(columns, sizeOf(columns), event.syncVersion()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long bytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    private Map<EntryType, Column> columns(Long userId) {
+        Entry loading;
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.columns() != null) {
+                hits.incrementAndGet();
+                return entry.columns();
+            }
+            // Only the first concurrent load for a user may store its result
+            loading = entry == null ? new Entry(null, 0, 0) : null;
+            if (loading != null) entries.put(userId, loading);
+        } finally {
+            lock.unlock();
+        }
+        misses.incrementAndGet();
+
+        Map<EntryType, Column> loaded = null;
+        long version = 0;
+        try {
+            // Read first: every write up to this version is committed, so the load includes it
+            version = userRepository.findSyncVersion(userId);
+            loaded = load(userId);
+            return loaded;
+        } finally {
+            if (loading != null) {
+                lock.lock();
+                try {
+                    if (entries.get(userId) == loading) {
+                        entries.remove(userId);
+                        if (loaded != null) store(userId, new Entry(loaded, sizeOf(loaded), version));
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private Map<EntryType, Column> load(Long userId) {
+        Map<EntryType, Column> columns = new EnumMap<>(EntryType.class);
+        repository.findSeries(userId, List.of(), null, null).forEach((type, series) -> {
+            int n = series.size();
+            long[] values = new long[n];
+            long[] contributions = new long[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = Math.round(series.values()[i] * 100);
+                double contribution = series.monthlyContributions()[i];
+                contributions[i] = Double.isNaN(contribution) ? NO_CONTRIBUTION : Math.round(contribution * 100);
+            }
+            columns.put(type, new Column(series.epochDays(), values, contributions));
+        });
+        return columns;
+    }
+
+    /** Puts the entry, replacing any previous one, then evicts down to the budget. Caller holds the lock. */
+    private void store(Long userId, Entry entry) {
+        Entry previous = entries.put(userId, entry);
+        if (previous != null) bytes -= previous.bytes();
+        bytes += entry.bytes();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            bytes -= evicted.bytes();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static long sizeOf(Map<EntryType, Column> columns) {
+        long size = ENTRY_OVERHEAD_BYTES;
+        for (Column column : columns.values()) {
+            size += column.size() * POINT_BYTES;
+        }
+        return size;
+    }
+
+    private static SnapshotSeriesRepository.Series slice(EntryType type, Column column,
+                                                         int start, int end) {
+        int n = end - start;
+        double[] values = new double[n];
+        double[] contributions = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = column.valueCents()[start + i] / 100.0;
+            long contribution = column.contributionCents()[start + i];
+            contributions[i] = contribution == NO_CONTRIBUTION ? Double.NaN : contribution / 100.0;
+        }
+        return new SnapshotSeriesRepository.Series(type, Arrays.copyOfRange(column.epochDays(), start, end),
+                values, contributions);
+    }
+
+    /** Index of the first day not before {@code day}. */
+    private static int lowerBound(int[] days, int day) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static int[] insert(int[] array, int at, int value) {
+        int[] copy = new int[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static long[] insert(long[] array, int at, long value) {
+        long[] copy = new long[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static int[] remove(int[] array, int index) {
+        int[] copy = new int[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+
+    private static long[] remove(long[] array, int index) {
+        long[] copy = new long[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+}
@@ -0,0 +1,43 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.model.EntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published whenever a user's portfolio snapshots are created, changed or
+ * deleted, so derived per-user results can be dropped.
+ *
+ * {@code changes} itemises the writes so caches of the raw history can apply
+ * them in place; it is empty when they are not itemised, as after a bulk
+ * import, and the user's history must be reloaded. {@code syncVersion} is the
+ * version the writes were stored under. A user's versions are taken under
+ * the lock on the user's row, so they ascend in commit order, even though
+ * after-commit listeners for two writes may run in either order.
+ */
+public record SnapshotsChangedEvent(Long userId, long syncVersion, List<Change> changes) {
+
+    /** The snapshot stored for a date and entry type; a null value means it was removed. */
+    public record Change(LocalDate date, EntryType entryType, BigDecimal value, BigDecimal monthlyContribution) {
+
+        public static Change written(LocalDate date, EntryType entryType, BigDecimal value,
+                                     BigDecimal monthlyContribution) {
+            return new Change(date, entryType, value, monthlyContribution);
+        }
+
+        public static Change removed(LocalDate date, EntryType entryType) {
+            return new Change(date, entryType, null, null);
+        }
+
+        public boolean isRemoval() {
+            return value == null;
+        }
+    }
+
+    /** Event without itemised changes; the user's history must be reloaded. */
+    public SnapshotsChangedEvent(Long userId) {
+        this(userId, 0, List.of());
+    }
+}
@@ -0,0 +1,123 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.SyncChanges;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.SyncEntityType;
+import ces107.zesFin.model.SyncTombstone;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.AssetRepository;
+import ces107.zesFin.repository.PortfolioSnapshotRepository;
+import ces107.zesFin.repository.SyncTombstoneRepository;
+import ces107.zesFin.repository.TransactionRepository;
+import ces107.zesFin.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user change versions for delta sync of snapshots, transactions and assets.
+ *
+ * Every write stamps the rows it touches with a version taken from the
+ * user's counter, and every delete leaves a {@link SyncTombstone}. Taking a
+ * version locks the user's row until the writing transaction ends, so a
+ * user's versions become visible in the order they were handed out and a
+ * client that has seen version {@code v} never misses a later commit with a
+ * smaller one.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private final UserRepository userRepository;
+    private final PortfolioSnapshotRepository snapshotRepository;
+    private final TransactionRepository transactionRepository;
+    private final AssetRepository assetRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+
+    /**
+     * Advances the user's counter and returns the new version. Must run
+     * inside the transaction that writes the rows the version is stamped on,
+     * before any of them is modified: every write path locks the user's row
+     * first and the data rows after it, so two writers for one user cannot
+     * deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextVersion(Long userId) {
+        userRepository.incrementSyncVersion(userId);
+        return userRepository.findSyncVersion(userId);
+    }
+
+    /**
+     * Records the deletion of one of the user's rows under a new version and
+     * returns that version. Takes the version, so call it before deleting the
+     * row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordDeletion(User user, SyncEntityType entityType, Long entityId) {
+        long version = nextVersion(user.getId());
+        tombstoneRepository.save(SyncTombstone.builder()
+                .user(user)
+                .entityType(entityType)
+                .entityId(entityId)
+                .syncVersion(version)
+                .build());
+        return version;
+    }
+
+    /**
+     * Returns what changed after version {@code since}, the version of the
+     * client's last sync. Every row is returned when it is null or ahead of
+     * the server, for example after a database restore. All reads share one
+     * snapshot of the database, so the rows returned are exactly those up to
+     * the version reported.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncChanges changes(User user, Long since) {
+        if (since != null && since < 0) {
+            throw new InvalidRequestException("since must not be negative");
+        }
+        long version = userRepository.findSyncVersion(user.getId());
+
+        if (since == null || since > version) {
+            return SyncChanges.builder()
+                    .version(version)
+                    .full(true)
+                    .snapshots(snapshotRepository.findAllByUserOrderByDateAsc(user))
+                    .transactions(transactionRepository.findAllByUserOrderByDateDesc(user))
+                    .assets(assetRepository.findAllByUser(user))
+                    .deleted(new SyncChanges.Deleted(List.of(), List.of(), List.of()))
+                    .build();
+        }
+        if (since == version) {
+            return SyncChanges.builder()
+                    .version(version)
+                    .snapshots(List.of())
+                    .transactions(List.of())
+                    .assets(List.of())
+                    .deleted(new SyncChanges.Deleted(List.of(), List.of(), List.of()))
+                    .build();
+        }
+
+        long from = since + 1;
+        SyncChanges.Deleted deleted = new SyncChanges.Deleted(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (SyncTombstone tombstone : tombstoneRepository.findAllByUserAndSyncVersionBetween(user, from, version)) {
+            switch (tombstone.getEntityType()) {
+                case SNAPSHOT -> deleted.getSnapshots().add(tombstone.getEntityId());
+                case TRANSACTION -> deleted.getTransactions().add(tombstone.getEntityId());
+                case ASSET -> deleted.getAssets().add(tombstone.getEntityId());
+            }
+        }
+        return SyncChanges.builder()
+                .version(version)
+                .snapshots(snapshotRepository.findAllByUserAndSyncVersionBetween(user, from, version))
+                .transactions(transactionRepository.findAllByUserAndSyncVersionBetween(user, from, version))
+                .assets(assetRepository.findAllByUserAndSyncVersionBetween(user, from, version))
+                .deleted(deleted)
+                .build();
+    }
+}
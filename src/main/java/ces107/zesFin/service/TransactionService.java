@@ -1,11 +1,18 @@
 package ces107.zesFin.service;
 
+import ces107.zesFin.dto.TransactionPage;
+import ces107.zesFin.exception.InvalidRequestException;
 import ces107.zesFin.exception.ResourceNotFoundException;
+import ces107.zesFin.model.SyncEntityType;
 import ces107.zesFin.model.Transaction;
+import ces107.zesFin.model.TransactionType;
 import ces107.zesFin.model.User;
 import ces107.zesFin.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,24 +22,98 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TransactionService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Sort LIST_ORDER = Sort.by(Sort.Direction.DESC, "date", "id");
+
     private final TransactionRepository repository;
+    private final SyncService syncService;
 
     public List<Transaction> findAll(User user) {
         return repository.findAllByUserOrderByDateDesc(user);
     }
 
+    /**
+     * Returns the user's transactions newest first in (date, id) order, one
+     * keyset page at a time, with the cursor of the next page if any. Each
+     * null filter matches every transaction. The cursor comes from the
+     * previous page, and the limit is between 1 and {@value #MAX_PAGE_SIZE},
+     * or null for no limit.
+     *
+     * @throws InvalidRequestException if a range, the limit or the cursor is invalid
+     */
+    public TransactionPage findPage(User user, LocalDate from, LocalDate to,
+                                    TransactionType type, String category,
+                                    BigDecimal minAmount, BigDecimal maxAmount,
+                                    String cursor, Integer limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("from must not be after to");
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new InvalidRequestException("minAmount must not be greater than maxAmount");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Specification<Transaction> spec = (root, query, cb) -> cb.equal(root.get("user"), user);
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDate>get("date"), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDate>get("date"), to));
+        }
+        if (type != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), type));
+        }
+        if (category != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("category"), category));
+        }
+        if (minAmount != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.<BigDecimal>get("amount"), minAmount));
+        }
+        if (maxAmount != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.<BigDecimal>get("amount"), maxAmount));
+        }
+        if (cursor != null) {
+            PageCursor after = PageCursor.decode(cursor);
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.<LocalDate>get("date"), after.date()),
+                    cb.and(cb.equal(root.get("date"), after.date()),
+                            cb.lessThan(root.<Long>get("id"), after.id()))));
+        }
+
+        if (limit == null) {
+            return new TransactionPage(repository.findAll(spec, LIST_ORDER), null);
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        List<Transaction> rows = repository.findBy(spec,
+                q -> q.sortBy(LIST_ORDER).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> items = rows.subList(0, limit);
+        Transaction last = items.get(limit - 1);
+        return new TransactionPage(items, new PageCursor(last.getDate(), last.getId()).encode());
+    }
+
     public Transaction findById(Long id, User user) {
         return repository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction", id));
     }
 
+    @Transactional
     public Transaction create(Transaction transaction, User user) {
         transaction.setUser(user);
+        transaction.setSyncVersion(syncService.nextVersion(user.getId()));
         return repository.save(transaction);
     }
 
+    @Transactional
     public Transaction update(Long id, Transaction updated, User user) {
         Transaction existing = findById(id, user);
+        existing.setSyncVersion(syncService.nextVersion(user.getId()));
         existing.setAmount(updated.getAmount());
         existing.setDate(updated.getDate());
         existing.setDescription(updated.getDescription());
@@ -41,10 +122,12 @@ public class TransactionService {
         return repository.save(existing);
     }
 
+    @Transactional
     public void delete(Long id, User user) {
         if (!repository.existsByIdAndUser(id, user)) {
             throw new ResourceNotFoundException("Transaction", id);
         }
+        syncService.recordDeletion(user, SyncEntityType.TRANSACTION, id);
         repository.deleteById(id);
     }
 
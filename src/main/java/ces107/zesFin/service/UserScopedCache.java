@@ -0,0 +1,130 @@
+package ces107.zesFin.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small per-user memo of derived results, dropped wholesale when the user's
+ * data changes.
+ *
+ * Bounded three ways, each least recently used first: entries per user,
+ * users, and the estimated size of all entries as given by the weigher.
+ *
+ * Each user's entries live in their own bucket. {@link #evict} detaches that
+ * bucket, so a computation that started before the eviction is returned to
+ * its caller but not stored where a later lookup could find it.
+ */
+final class UserScopedCache<K, V> {
+
+    private static final class Bucket<K, V> {
+        private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+    }
+
+    private final int maxUsers;
+    private final int maxEntriesPerUser;
+    private final long maxBytes;
+    private final ToLongFunction<V> weigher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Bucket<K, V>> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    /** For results of small, fixed size, bounded by count only. */
+    UserScopedCache(int maxUsers, int maxEntriesPerUser) {
+        this(maxUsers, maxEntriesPerUser, Long.MAX_VALUE, value -> 0);
+    }
+
+    /**
+     * Bounds the estimated size of all entries by {@code maxBytes}, with the
+     * weigher giving the heap size of one value in bytes.
+     */
+    UserScopedCache(int maxUsers, int maxEntriesPerUser, long maxBytes,
+                    ToLongFunction<V> weigher) {
+        this.maxUsers = maxUsers;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+    }
+
+    /** Returns the cached value, computing it outside the lock on a miss. */
+    V get(Long userId, K key, Supplier<V> loader) {
+        Bucket<K, V> bucket;
+        lock.lock();
+        try {
+            bucket = buckets.computeIfAbsent(userId, id -> new Bucket<>());
+            V cached = bucket.entries.get(key);
+            if (cached != null) return cached;
+        } finally {
+            lock.unlock();
+        }
+
+        V computed = loader.get();
+        long weight = weigher.applyAsLong(computed);
+        lock.lock();
+        try {
+            // Detached by evict, or pushed out, while we computed
+            if (buckets.get(userId) != bucket) return computed;
+            V previous = bucket.entries.put(key, computed);
+            if (previous != null) subtract(bucket, weigher.applyAsLong(previous));
+            bucket.bytes += weight;
+            bytes += weight;
+            trim(bucket);
+        } finally {
+            lock.unlock();
+        }
+        return computed;
+    }
+
+    void evict(Long userId) {
+        lock.lock();
+        try {
+            Bucket<K, V> bucket = buckets.remove(userId);
+            if (bucket != null) bytes -= bucket.bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int users() {
+        lock.lock();
+        try {
+            return buckets.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Evicts down to every bound after a store into the bucket. Caller holds the lock. */
+    private void trim(Bucket<K, V> bucket) {
+        Iterator<V> eldestEntry = bucket.entries.values().iterator();
+        while (bucket.entries.size() > maxEntriesPerUser && eldestEntry.hasNext()) {
+            V evicted = eldestEntry.next();
+            eldestEntry.remove();
+            subtract(bucket, weigher.applyAsLong(evicted));
+        }
+
+        Iterator<Bucket<K, V>> eldestUser = buckets.values().iterator();
+        while ((buckets.size() > maxUsers || bytes > maxBytes) && eldestUser.hasNext()) {
+            Bucket<K, V> evicted = eldestUser.next();
+            eldestUser.remove();
+            bytes -= evicted.bytes;
+        }
+    }
+
+    private void subtract(Bucket<K, V> bucket, long weight) {
+        bucket.bytes -= weight;
+        bytes -= weight;
+    }
+}
@@ -0,0 +1,61 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Base of the services that derive figures from the {@link PeriodReturns}
+ * of a date window.
+ *
+ * Results are cached per user, window and options until a
+ * {@link SnapshotsChangedEvent} for that user is published.
+ */
+abstract class WindowedReturnsService<V> {
+
+    static final int MAX_CACHED_WINDOWS = 32;
+    static final int MAX_CACHED_USERS = 1_000;
+    private static final List<EntryType> SERIES = List.of(EntryType.PORTFOLIO_VALUE, EntryType.TOTAL_INVESTED);
+
+    /** {@code options} is anything else the result depends on, or null. */
+    private record Window(LocalDate from, LocalDate to, Object options) {}
+
+    private final SnapshotSeriesCache seriesCache;
+    private final UserScopedCache<Window, V> cache = new UserScopedCache<>(MAX_CACHED_USERS, MAX_CACHED_WINDOWS);
+
+    WindowedReturnsService(SnapshotSeriesCache seriesCache) {
+        this.seriesCache = seriesCache;
+    }
+
+    /**
+     * Returns the cached result for the window, computing it from the
+     * window's periods on a miss.
+     *
+     * @throws InvalidRequestException if from is after to
+     */
+    V cached(User user, LocalDate from, LocalDate to, Object options,
+             Function<PeriodReturns, V> compute) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("from must not be after to");
+        }
+        return cache.get(user.getId(), new Window(from, to, options), () -> {
+            // Invested amounts before the window are needed to carry the first one forward
+            Map<EntryType, SnapshotSeriesRepository.Series> series =
+                    seriesCache.findSeries(user.getId(), SERIES, null, to);
+            return compute.apply(new PeriodReturns(series.get(EntryType.PORTFOLIO_VALUE),
+                    series.get(EntryType.TOTAL_INVESTED), from));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSnapshotsChanged(SnapshotsChangedEvent event) {
+        cache.evict(event.userId());
+    }
+}
@@ -0,0 +1,156 @@
+package ces107.zesFin.service;
+
+/**
+ * Internal rate of return of irregularly spaced cash flows: the annual rate
+ * {@code r} at which {@code sum(flow[k] / (1 + r)^years[k]) == 0}.
+ *
+ * Newton's method is tried first from a 10% guess. If it leaves the domain
+ * ({@code r <= -1}), stalls on a flat derivative or does not converge, the
+ * root is bracketed by scanning rates from -99.99% upwards and polished with
+ * Brent's method, which always converges once a sign change is found.
+ */
+final class Xirr {
+
+    enum Method { NEWTON, BRENT }
+
+    record Result(double rate, Method method) {}
+
+    static final double TOLERANCE = 1e-10;
+    private static final int MAX_NEWTON_ITERATIONS = 50;
+    private static final int MAX_BRENT_ITERATIONS = 200;
+    private static final double MIN_RATE = -0.9999;
+    private static final double MAX_RATE = 1e6;
+
+    private Xirr() {
+    }
+
+    /**
+     * Solves for the rate of flows given as signed amounts, negative for money
+     * in, at offsets in years from the first. Returns the rate and the method
+     * that found it, or null if the flows do not change sign or no root exists
+     * in (-99.99%, 10^8 %).
+     */
+    static Result solve(double[] years, double[] flows) {
+        boolean positive = false;
+        boolean negative = false;
+        for (double flow : flows) {
+            positive |= flow > 0;
+            negative |= flow < 0;
+        }
+        if (!positive || !negative) return null;
+
+        double newton = newton(years, flows);
+        if (!Double.isNaN(newton)) return new Result(newton, Method.NEWTON);
+
+        double brent = brent(years, flows);
+        return Double.isNaN(brent) ? null : new Result(brent, Method.BRENT);
+    }
+
+    static double npv(double[] years, double[] flows, double rate) {
+        double base = 1 + rate;
+        double sum = 0;
+        for (int k = 0; k < flows.length; k++) {
+            sum += flows[k] * Math.pow(base, -years[k]);
+        }
+        return sum;
+    }
+
+    private static double newton(double[] years, double[] flows) {
+        double rate = 0.1;
+        for (int i = 0; i < MAX_NEWTON_ITERATIONS; i++) {
+            double base = 1 + rate;
+            double value = 0;
+            double derivative = 0;
+            for (int k = 0; k < flows.length; k++) {
+                double discounted = flows[k] * Math.pow(base, -years[k]);
+                value += discounted;
+                derivative -= years[k] * discounted / base;
+            }
+            if (derivative == 0 || !Double.isFinite(derivative)) return Double.NaN;
+
+            double next = rate - value / derivative;
+            if (!Double.isFinite(next) || next <= -1) return Double.NaN;
+            if (Math.abs(next - rate) < TOLERANCE) return next;
+            rate = next;
+        }
+        return Double.NaN;
+    }
+
+    private static double brent(double[] years, double[] flows) {
+        // Scan an expanding grid for the first sign change
+        double a = MIN_RATE;
+        double fa = npv(years, flows, a);
+        double b = Double.NaN;
+        double fb = Double.NaN;
+        for (double step = 0.01; a < MAX_RATE; step *= 1.5) {
+            double next = Math.min(a + step, MAX_RATE);
+            double fNext = npv(years, flows, next);
+            if (fa == 0) return a;
+            if (Math.signum(fa) != Math.signum(fNext)) {
+                b = next;
+                fb = fNext;
+                break;
+            }
+            a = next;
+            fa = fNext;
+        }
+        if (Double.isNaN(b)) return Double.NaN;
+
+        double c = a;
+        double fc = fa;
+        double d = b - a;
+        double e = d;
+        for (int i = 0; i < MAX_BRENT_ITERATIONS; i++) {
+            if (Math.signum(fb) == Math.signum(fc)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tolerance = 2 * Math.ulp(b) + TOLERANCE / 2;
+            double mid = (c - b) / 2;
+            if (Math.abs(mid) <= tolerance || fb == 0) return b;
+
+            if (Math.abs(e) >= tolerance && Math.abs(fa) > Math.abs(fb)) {
+                // Inverse quadratic interpolation, or secant when only two points differ
+                double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    p = 2 * mid * s;
+                    q = 1 - s;
+                } else {
+                    double qa = fa / fc;
+                    double r = fb / fc;
+                    p = s * (2 * mid * qa * (qa - r) - (b - a) * (r - 1));
+                    q = (qa - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) q = -q;
+                p = Math.abs(p);
+                if (2 * p < Math.min(3 * mid * q - Math.abs(tolerance * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = mid;
+                    e = d;
+                }
+            } else {
+                d = mid;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tolerance ? d : Math.copySign(tolerance, mid);
+            fb = npv(years, flows, b);
+        }
+        return b;
+    }
+}
@@ -0,0 +1,6 @@
+-- Migration V2: Index snapshot history by user, entry type and date
+-- Backs the filtered, keyset-paginated GET /api/portfolio/snapshots so a page
+-- costs an index range scan instead of a sort over the user's whole history.
+
+CREATE INDEX IF NOT EXISTS idx_snapshot_user_type_date
+    ON portfolio_snapshots (user_id, entry_type, date);
@@ -0,0 +1,37 @@
+-- Migration V3: Change versions for delta sync
+-- Every write stamps rows with the next value of the owner's users.sync_version and
+-- every delete leaves a tombstone, so GET /api/sync?since=<version> can return only
+-- what changed. Existing rows start at version 0 and reach clients through their
+-- first full sync.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE portfolio_snapshots ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE portfolio_snapshots ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+ALTER TABLE assets ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE assets ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    sync_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_snapshot_user_sync_version
+    ON portfolio_snapshots (user_id, sync_version);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_sync_version
+    ON transactions (user_id, sync_version);
+
+CREATE INDEX IF NOT EXISTS idx_asset_user_sync_version
+    ON assets (user_id, sync_version);
+
+CREATE INDEX IF NOT EXISTS idx_tombstone_user_sync_version
+    ON sync_tombstones (user_id, sync_version);
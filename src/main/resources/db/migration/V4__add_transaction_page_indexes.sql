@@ -0,0 +1,12 @@
+-- Migration V4: Index transactions for the filtered, keyset-paginated list
+-- GET /api/transactions pages newest first by (date, id); each index serves one
+-- filter shape as a backward range scan so a page never sorts the whole history.
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_date_id
+    ON transactions (user_id, date, id);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_type_date_id
+    ON transactions (user_id, type, date, id);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_category_date_id
+    ON transactions (user_id, category, date, id);
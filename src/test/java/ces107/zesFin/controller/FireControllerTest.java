@@ -0,0 +1,95 @@
+package ces107.zesFin.controller;
+
+import ces107.zesFin.exception.GlobalExceptionHandler;
+import ces107.zesFin.service.AssetService;
+import ces107.zesFin.service.BacktestService;
+import ces107.zesFin.service.DecumulationService;
+import ces107.zesFin.service.EfficientFrontierService;
+import ces107.zesFin.service.FireCalculatorService;
+import ces107.zesFin.service.FireComputeExecutor;
+import ces107.zesFin.service.FireProfileService;
+import ces107.zesFin.service.FireProjectionService;
+import ces107.zesFin.service.FireSweepService;
+import ces107.zesFin.service.GoalSeekService;
+import ces107.zesFin.service.MonteCarloService;
+import ces107.zesFin.service.MultiAssetMonteCarloService;
+import ces107.zesFin.service.SensitivityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for FireController.
+ *
+ * Tests cover:
+ * - Sweeps with out-of-range axis values rejected with 400 before any
+ *   computation is submitted
+ */
+@ExtendWith(MockitoExtension.class)
+class FireControllerTest {
+
+    private static final String PROFILE = """
+        {"currentAge":30,"currentSavings":50000,"monthlyContribution":1500,"monthlyExpenses":2000,
+         "expectedReturnRate":0.07,"inflationRate":0.02,"safeWithdrawalRate":0.04}""";
+
+    @Mock private FireProfileService profileService;
+    @Mock private FireProjectionService projectionService;
+    @Mock private MonteCarloService monteCarloService;
+    @Mock private MultiAssetMonteCarloService multiAssetService;
+    @Mock private EfficientFrontierService frontierService;
+    @Mock private AssetService assetService;
+    @Mock private BacktestService backtestService;
+    @Mock private DecumulationService decumulationService;
+    @Mock private GoalSeekService goalSeekService;
+    @Mock private SensitivityService sensitivityService;
+    @Mock private FireComputeExecutor computeExecutor;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final FireCalculatorService calculatorService = new FireCalculatorService();
+        final FireController controller = new FireController(profileService, projectionService, calculatorService,
+            monteCarloService, multiAssetService, frontierService, assetService, backtestService,
+            decumulationService, new FireSweepService(calculatorService), goalSeekService, sensitivityService,
+            computeExecutor, new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+
+    @Test
+    void sweep_shouldReturnBadRequest_whenAnAxisValueIsOutOfRange() throws Exception {
+        mockMvc.perform(post("/api/fire/projection/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"profile\":" + PROFILE
+                    + ",\"axes\":[{\"parameter\":\"INFLATION_RATE\",\"values\":[0.02,-1]}]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail", containsString("INFLATION_RATE")));
+
+        verifyNoInteractions(computeExecutor);
+    }
+
+    @Test
+    void sweep_shouldReturnBadRequest_whenTheWithdrawalRateIsZero() throws Exception {
+        mockMvc.perform(post("/api/fire/projection/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"profile\":" + PROFILE
+                    + ",\"axes\":[{\"parameter\":\"SAFE_WITHDRAWAL_RATE\",\"values\":[0]}]}"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(computeExecutor);
+    }
+}
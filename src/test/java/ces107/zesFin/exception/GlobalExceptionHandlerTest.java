@@ -0,0 +1,55 @@
+package ces107.zesFin.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for GlobalExceptionHandler.
+ *
+ * Tests cover:
+ * - Request validation failures mapped to 400 with their message
+ * - Other IllegalArgumentExceptions mapped to 500 without their message
+ */
+class GlobalExceptionHandlerTest {
+
+    @RestController
+    static class ThrowingController {
+
+        @GetMapping("/invalid")
+        void invalid() {
+            throw new InvalidRequestException("limit must be between 1 and 500");
+        }
+
+        @GetMapping("/illegal")
+        void illegal() {
+            throw new IllegalArgumentException("No enum constant internal.Type");
+        }
+    }
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ThrowingController())
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+
+    @Test
+    void invalidRequest_shouldReturnBadRequestWithTheMessage() throws Exception {
+        mockMvc.perform(get("/invalid"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("limit must be between 1 and 500"));
+    }
+
+    @Test
+    void unexpectedIllegalArgument_shouldReturnServerErrorWithoutTheMessage() throws Exception {
+        mockMvc.perform(get("/illegal"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.detail", not(containsString("internal"))));
+    }
+}
@@ -0,0 +1,41 @@
+package ces107.zesFin.integration;
+
+import ces107.zesFin.repository.SnapshotBatchRepository;
+import ces107.zesFin.repository.SnapshotBatchRepositoryContract;
+import ces107.zesFin.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the {@link SnapshotBatchRepositoryContract} against PostgreSQL, which
+ * takes the {@code ON CONFLICT ... RETURNING} upsert path. Each test rolls back.
+ */
+@Transactional
+class SnapshotBatchRepositoryIntegrationTest extends IntegrationTestConfig
+        implements SnapshotBatchRepositoryContract {
+
+    @Autowired
+    private SnapshotBatchRepository batchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public SnapshotBatchRepository batchRepository() {
+        return batchRepository;
+    }
+
+    @Override
+    public UserRepository userRepository() {
+        return userRepository;
+    }
+
+    @Override
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,102 @@
+package ces107.zesFin.repository;
+
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.PortfolioSnapshot;
+import ces107.zesFin.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Database-backed tests for SnapshotBatchRepository, run against each
+ * database it has SQL for: H2 in {@link SnapshotBatchRepositoryTest} and
+ * PostgreSQL in the integration tests.
+ *
+ * Tests cover:
+ * - Upsert inserting, then updating the same row in place
+ * - Upsert returning stored values at column precision
+ * - Batched inserts and updates, and the key scan
+ */
+public interface SnapshotBatchRepositoryContract {
+
+    LocalDate DATE = LocalDate.of(2026, 1, 1);
+
+    SnapshotBatchRepository batchRepository();
+
+    UserRepository userRepository();
+
+    JdbcTemplate jdbcTemplate();
+
+    @Test
+    default void upsert_shouldInsert_thenUpdateTheSameRow() {
+        final Long userId = newUser("batch-upsert");
+
+        final PortfolioSnapshot inserted = batchRepository().upsert(userId, 1, new SnapshotBatchRepository.Row(
+            DATE, EntryType.PORTFOLIO_VALUE, new BigDecimal("1000.00"), new BigDecimal("100.00"), 20.0));
+        final PortfolioSnapshot updated = batchRepository().upsert(userId, 2, new SnapshotBatchRepository.Row(
+            DATE, EntryType.PORTFOLIO_VALUE, new BigDecimal("1500.00"), null, null));
+
+        assertThat(updated.getId()).isEqualTo(inserted.getId());
+        assertThat(updated.getValue()).isEqualByComparingTo("1500.00");
+        assertThat(updated.getMonthlyContribution()).isNull();
+        assertThat(updated.getFixedIncomePercentage()).isNull();
+        assertThat(updated.getSyncVersion()).isEqualTo(2L);
+        assertThat(updated.getUpdatedAt()).isNotNull();
+        assertThat(stored(userId)).singleElement().satisfies(row -> {
+            assertThat((BigDecimal) row.get("value")).isEqualByComparingTo("1500.00");
+            assertThat(((Number) row.get("sync_version")).longValue()).isEqualTo(2L);
+        });
+    }
+
+    @Test
+    default void upsert_shouldReturnValuesAsStored() {
+        final Long userId = newUser("batch-upsert-precision");
+
+        final PortfolioSnapshot stored = batchRepository().upsert(userId, 1, new SnapshotBatchRepository.Row(
+            DATE, EntryType.NET_WORTH, new BigDecimal("1234.567"), new BigDecimal("10.004"), 12.5));
+
+        assertThat(stored.getDate()).isEqualTo(DATE);
+        assertThat(stored.getEntryType()).isEqualTo(EntryType.NET_WORTH);
+        assertThat(stored.getValue()).isEqualByComparingTo("1234.57");
+        assertThat(stored.getMonthlyContribution()).isEqualByComparingTo("10.00");
+        assertThat(stored.getFixedIncomePercentage()).isEqualTo(12.5);
+    }
+
+    @Test
+    default void insertAndUpdate_shouldWriteBatches_andForEachKeyShouldListThem() {
+        final Long userId = newUser("batch-writes");
+        final List<SnapshotBatchRepository.Row> rows = List.of(
+            new SnapshotBatchRepository.Row(DATE, EntryType.TOTAL_INVESTED, BigDecimal.TEN, null, null),
+            new SnapshotBatchRepository.Row(DATE.plusDays(1), EntryType.TOTAL_INVESTED, BigDecimal.ONE, null, 5.0));
+
+        batchRepository().insert(userId, 1, rows);
+        batchRepository().update(userId, 2, List.of(
+            new SnapshotBatchRepository.Row(DATE, EntryType.TOTAL_INVESTED, new BigDecimal("11.50"), null, null)));
+
+        final List<String> keys = new ArrayList<>();
+        batchRepository().forEachKey(userId, (date, type) -> keys.add(date + " " + type));
+        assertThat(keys).containsExactlyInAnyOrder("2026-01-01 TOTAL_INVESTED", "2026-01-02 TOTAL_INVESTED");
+        assertThat(stored(userId)).extracting(row -> ((BigDecimal) row.get("value")).stripTrailingZeros().toPlainString())
+            .containsExactly("11.5", "1");
+    }
+
+    private Long newUser(final String googleId) {
+        return userRepository().save(User.builder()
+            .googleId(googleId)
+            .email(googleId + "@example.com")
+            .name(googleId)
+            .build()).getId();
+    }
+
+    private List<Map<String, Object>> stored(final Long userId) {
+        return jdbcTemplate().queryForList(
+            "SELECT value, sync_version FROM portfolio_snapshots WHERE user_id = ? ORDER BY date", userId);
+    }
+}
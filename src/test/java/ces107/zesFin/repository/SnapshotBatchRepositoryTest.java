@@ -0,0 +1,43 @@
+package ces107.zesFin.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the {@link SnapshotBatchRepositoryContract} against H2, using the
+ * test profile's datasource so the schema and URL options match the app's.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SnapshotBatchRepository.class)
+class SnapshotBatchRepositoryTest implements SnapshotBatchRepositoryContract {
+
+    @Autowired
+    private SnapshotBatchRepository batchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public SnapshotBatchRepository batchRepository() {
+        return batchRepository;
+    }
+
+    @Override
+    public UserRepository userRepository() {
+        return userRepository;
+    }
+
+    @Override
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+}
@@ -5,19 +5,22 @@ import ces107.zesFin.model.Transaction;
 import ces107.zesFin.model.TransactionType;
 import ces107.zesFin.model.User;
 import ces107.zesFin.repository.TransactionRepository;
+import ces107.zesFin.service.SyncService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,7 +35,12 @@ class RecurringTransactionSchedulerTest {
     @Mock
     private TransactionRepository repository;
 
-    @InjectMocks
+    @Mock
+    private SyncService syncService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private RecurringTransactionScheduler scheduler;
 
     private User testUser;
@@ -40,6 +48,9 @@ class RecurringTransactionSchedulerTest {
 
     @BeforeEach
     void setUp() {
+        scheduler = new RecurringTransactionScheduler(repository, syncService,
+            new TransactionTemplate(transactionManager));
+
         testUser = User.builder()
             .id(1L)
             .googleId("test-user")
@@ -58,6 +69,7 @@ class RecurringTransactionSchedulerTest {
             .recurrenceType(RecurrenceType.MONTHLY)
             .nextExecutionDate(LocalDate.now().minusDays(1))
             .build();
+        lenient().when(repository.findById(1L)).thenReturn(Optional.of(recurringTransaction));
     }
 
     @Test
@@ -68,6 +80,7 @@ class RecurringTransactionSchedulerTest {
 
         when(repository.findAllByIsRecurringTrueAndNextExecutionDateLessThanEqual(any(LocalDate.class)))
             .thenReturn(List.of(recurringTransaction));
+        when(syncService.nextVersion(1L)).thenReturn(3L);
 
         final ArgumentCaptor<Transaction> transactionCaptor = ArgumentCaptor.forClass(Transaction.class);
 
@@ -91,6 +104,9 @@ class RecurringTransactionSchedulerTest {
         // Second save: updated recurring transaction with new next execution date
         final Transaction updatedRecurring = savedTransactions.get(1);
         assertThat(updatedRecurring.getNextExecutionDate()).isAfter(originalNextDate);
+
+        // Both rows carry the user's new sync version
+        assertThat(savedTransactions).extracting(Transaction::getSyncVersion).containsOnly(3L);
     }
 
     @Test
@@ -198,12 +214,66 @@ class RecurringTransactionSchedulerTest {
 
         when(repository.findAllByIsRecurringTrueAndNextExecutionDateLessThanEqual(any(LocalDate.class)))
             .thenReturn(Arrays.asList(recurringTransaction, recurring2));
+        when(repository.findById(2L)).thenReturn(Optional.of(recurring2));
 
         // Act
         scheduler.processRecurringTransactions();
 
         // Assert
         verify(repository, times(4)).save(any(Transaction.class)); // 2 new + 2 updated
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void processRecurringTransactions_shouldRollBackOnlyTheFailingTransaction() {
+        // Arrange
+        final Transaction recurring2 = Transaction.builder()
+            .id(2L)
+            .user(testUser)
+            .amount(BigDecimal.valueOf(50))
+            .description("Netflix Subscription")
+            .type(TransactionType.EXPENSE)
+            .category("Subscriptions")
+            .isRecurring(true)
+            .recurrenceType(RecurrenceType.MONTHLY)
+            .nextExecutionDate(LocalDate.now().minusDays(5))
+            .build();
+
+        when(repository.findAllByIsRecurringTrueAndNextExecutionDateLessThanEqual(any(LocalDate.class)))
+            .thenReturn(Arrays.asList(recurringTransaction, recurring2));
+        when(repository.findById(2L)).thenReturn(Optional.of(recurring2));
+        when(syncService.nextVersion(1L))
+            .thenThrow(new IllegalStateException("lock timeout"))
+            .thenReturn(4L);
+
+        // Act
+        scheduler.processRecurringTransactions();
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+        verify(repository).save(argThat(tx -> "[AUTO] Netflix Subscription".equals(tx.getDescription())));
+        verify(repository).save(recurring2);
+    }
+
+    @Test
+    void processRecurringTransactions_shouldSkipTransaction_noLongerDue() {
+        // Arrange: the rule was moved forward between the query and its own transaction
+        final Transaction stale = Transaction.builder()
+            .id(1L)
+            .nextExecutionDate(recurringTransaction.getNextExecutionDate())
+            .build();
+        recurringTransaction.setNextExecutionDate(LocalDate.now().plusMonths(1));
+
+        when(repository.findAllByIsRecurringTrueAndNextExecutionDateLessThanEqual(any(LocalDate.class)))
+            .thenReturn(List.of(stale));
+
+        // Act
+        scheduler.processRecurringTransactions();
+
+        // Assert
+        verify(repository, never()).save(any());
+        verify(syncService, never()).nextVersion(any());
     }
 
     @Test
@@ -0,0 +1,88 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.BacktestResult;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BacktestService against the bundled historical dataset.
+ */
+class BacktestServiceTest {
+
+    private final HistoricalReturnsDataset dataset = new HistoricalReturnsDataset();
+    private final BacktestService service = new BacktestService(dataset);
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = FireProfile.builder()
+            .currentAge(30)
+            .currentSavings(BigDecimal.valueOf(100000))
+            .monthlyContribution(BigDecimal.valueOf(2000))
+            .monthlyExpenses(BigDecimal.valueOf(2500))
+            .expectedReturnRate(0.07)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.04)
+            .targetRetirementAge(50)
+            .build();
+    }
+
+    @Test
+    void dataset_shouldLoadConsecutiveYears() {
+        assertThat(dataset.firstYear()).isEqualTo(1928);
+        assertThat(dataset.lastYear()).isGreaterThanOrEqualTo(2023);
+        assertThat(dataset.size()).isEqualTo(dataset.lastYear() - dataset.firstYear() + 1);
+    }
+
+    @Test
+    void backtest_shouldRunEveryStartYearWithFullHorizon() {
+        final BacktestResult result = service.backtest(profile, 0.8, null);
+
+        assertThat(result.getHorizonYears()).isEqualTo(20);
+        assertThat(result.getStartYears()).isEqualTo(dataset.size() - 20 + 1);
+        assertThat(result.getRuns()).hasSize(result.getStartYears());
+        assertThat(result.getRuns().get(0).getStartYear()).isEqualTo(dataset.firstYear());
+        assertThat(result.getSuccessRate()).isBetween(0.0, 1.0);
+        assertThat(result.getWorstTerminalWealth()).isLessThanOrEqualTo(result.getMedianTerminalWealth());
+        assertThat(result.getMedianTerminalWealth()).isLessThanOrEqualTo(result.getBestTerminalWealth());
+        assertThat(result.getWorstStartYear()).isBetween(dataset.firstYear(), dataset.lastYear());
+    }
+
+    @Test
+    void backtest_shouldAlwaysSucceed_whenAlreadyAtFireNumber() {
+        profile.setCurrentSavings(BigDecimal.valueOf(2_000_000));
+
+        final BacktestResult result = service.backtest(profile, 0.6, 10);
+
+        assertThat(result.getSuccessRate()).isEqualTo(1.0);
+        assertThat(result.getRuns()).allSatisfy(run -> assertThat(run.getFireAge()).isEqualTo(30));
+    }
+
+    @Test
+    void backtest_shouldNeverSucceed_withoutSavingsOrContributions() {
+        profile.setCurrentSavings(BigDecimal.ZERO);
+        profile.setMonthlyContribution(BigDecimal.ZERO);
+
+        final BacktestResult result = service.backtest(profile, 1.0, 30);
+
+        assertThat(result.getSuccessRate()).isZero();
+        assertThat(result.getMedianTerminalWealth()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void backtest_shouldRejectInvalidParameters() {
+        assertThatThrownBy(() -> service.backtest(profile, 1.5, null))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.backtest(profile, 0.8, dataset.size() + 1))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.backtest(profile, 0.8, 0))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+}
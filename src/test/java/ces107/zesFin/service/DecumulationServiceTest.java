@@ -0,0 +1,108 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.DecumulationResult;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for DecumulationService.
+ *
+ * Tests cover:
+ * - Deterministic depletion under a constant-dollar rule
+ * - Percentage-of-portfolio never depleting
+ * - Guardrails reducing depletion against constant dollar
+ * - Reproducibility and parameter validation
+ */
+class DecumulationServiceTest {
+
+    private final DecumulationService service = new DecumulationService(new FireCalculatorService());
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        // Nominal return equals inflation, so the real return is exactly zero;
+        // savings already equal the FIRE number (48,000 / 5%)
+        profile = FireProfile.builder()
+            .currentAge(60)
+            .currentSavings(BigDecimal.valueOf(960000))
+            .monthlyContribution(BigDecimal.ZERO)
+            .monthlyExpenses(BigDecimal.valueOf(4000))
+            .expectedReturnRate(0.02)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.05)
+            .build();
+    }
+
+    @Test
+    void constantDollar_shouldDepleteAfterPortfolioOverWithdrawalYears_whenRealReturnIsZero() {
+        final DecumulationResult result = service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.CONSTANT_DOLLAR, 1_000, null, 0.0, 1L, 60, null);
+
+        assertThat(result.getPaths()).isEqualTo(1);
+        assertThat(result.getInitialWithdrawal()).isEqualByComparingTo("48000.00");
+        assertThat(result.getDepletionProbability()).isEqualTo(1.0);
+        assertThat(result.getMedianDepletionAge()).isEqualTo(80);
+        assertThat(result.getSolvencyByYear()).hasSize(41);
+        assertThat(result.getSolvencyByYear()[19]).isEqualTo(1.0);
+        assertThat(result.getSolvencyByYear()[20]).isEqualTo(0.0);
+        assertThat(result.getTerminalP50()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void percentOfPortfolio_shouldNeverDeplete() {
+        final DecumulationResult result = service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.PERCENT_OF_PORTFOLIO, 2_000, 0.05, 0.2, 7L, 60, null);
+
+        assertThat(result.getDepletionProbability()).isZero();
+        assertThat(result.getMedianDepletionAge()).isNull();
+        assertThat(result.getTerminalP10()).isPositive();
+        assertThat(result.getMinimumWithdrawalP10()).isLessThan(result.getInitialWithdrawal());
+    }
+
+    @Test
+    void guardrails_shouldDepleteLessOftenThanConstantDollar_forSameSeed() {
+        final DecumulationResult constant = service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.CONSTANT_DOLLAR, 5_000, 0.06, 0.15, 42L, 60, 800_000.0);
+        final DecumulationResult guardrails = service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.GUARDRAILS, 5_000, 0.06, 0.15, 42L, 60, 800_000.0);
+
+        assertThat(constant.getDepletionProbability()).isGreaterThan(0.0);
+        assertThat(guardrails.getDepletionProbability()).isLessThan(constant.getDepletionProbability());
+    }
+
+    @Test
+    void simulate_shouldBeReproducible_forSameSeed() {
+        final DecumulationResult first = service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.GUARDRAILS, 3_000, 0.05, 0.15, 9L, 60, null);
+        final DecumulationResult second = service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.GUARDRAILS, 3_000, 0.05, 0.15, 9L, 60, null);
+
+        assertThat(second.getDepletionProbability()).isEqualTo(first.getDepletionProbability());
+        assertThat(second.getTerminalP50()).isEqualByComparingTo(first.getTerminalP50());
+        assertThat(second.getSolvencyByYear()).containsExactly(first.getSolvencyByYear());
+    }
+
+    @Test
+    void simulate_shouldDefaultStartAgeToProjectedFireAge() {
+        final DecumulationResult result = service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.CONSTANT_DOLLAR, 1_000, null, 0.0, 1L, null, null);
+
+        assertThat(result.getStartAge()).isEqualTo(60);
+        assertThat(result.getStartingPortfolio()).isEqualByComparingTo("960000.00");
+    }
+
+    @Test
+    void simulate_shouldRejectStartAgeBeforeCurrentAge() {
+        assertThatThrownBy(() -> service.simulate(profile,
+                DecumulationResult.WithdrawalStrategy.CONSTANT_DOLLAR, 1_000, null, 0.15, 1L, 50, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("startAge");
+    }
+}
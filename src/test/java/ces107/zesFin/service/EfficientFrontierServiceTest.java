@@ -0,0 +1,125 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.EfficientFrontier;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.Asset;
+import ces107.zesFin.model.AssetCategory;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for EfficientFrontierService.
+ *
+ * Tests cover:
+ * - Frontier weights are long-only, fully invested and hit the target return
+ * - No random long-only portfolio beats the frontier at the same return
+ * - Comparison with the current allocation and the risk-limited recommendation
+ */
+class EfficientFrontierServiceTest {
+
+    private final CapitalMarketAssumptions assumptions = new CapitalMarketAssumptions(
+            new double[]{0.07, 0.035, 0.08, 0.02, 0.055},
+            new double[]{0.16, 0.06, 0.70, 0.01, 0.12},
+            new double[]{0.1, 0.3, 0.0, 0.6, 0.0, 0.2, 0.2, 0.0, 0.2, 0.0});
+    private final EfficientFrontierService service =
+            new EfficientFrontierService(assumptions, new FireCalculatorService());
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = FireProfile.builder()
+            .currentAge(30)
+            .currentSavings(BigDecimal.valueOf(50000))
+            .monthlyContribution(BigDecimal.valueOf(1500))
+            .monthlyExpenses(BigDecimal.valueOf(2000))
+            .expectedReturnRate(0.07)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.04)
+            .build();
+    }
+
+    @Test
+    void frontier_shouldBeLongOnlyAndFullyInvested() {
+        final List<double[]> frontier = service.frontier(100);
+
+        assertThat(frontier).hasSize(100);
+        for (final double[] weights : frontier) {
+            double sum = 0;
+            for (final double w : weights) {
+                assertThat(w).isGreaterThanOrEqualTo(0);
+                sum += w;
+            }
+            assertThat(sum).isCloseTo(1.0, within(1e-9));
+        }
+    }
+
+    @Test
+    void minimumVariance_shouldNotBeBeatenByRandomPortfoliosWithSameReturn() {
+        final Random random = new Random(7);
+        for (int trial = 0; trial < 2_000; trial++) {
+            final double[] weights = new double[assumptions.size()];
+            double sum = 0;
+            for (int k = 0; k < weights.length; k++) {
+                weights[k] = random.nextDouble();
+                sum += weights[k];
+            }
+            for (int k = 0; k < weights.length; k++) weights[k] /= sum;
+
+            final double target = assumptions.portfolioMean(weights);
+            final double[] optimal = service.minimumVariance(target);
+
+            assertThat(optimal).isNotNull();
+            assertThat(assumptions.portfolioMean(optimal)).isCloseTo(target, within(1e-9));
+            assertThat(assumptions.portfolioVolatility(optimal))
+                    .isLessThanOrEqualTo(assumptions.portfolioVolatility(weights) + 1e-9);
+        }
+    }
+
+    @Test
+    void optimize_shouldCompareCurrentAllocationWithFrontier() {
+        final List<Asset> assets = List.of(asset(AssetCategory.EQUITY, "5000"), asset(AssetCategory.CASH, "5000"));
+
+        final EfficientFrontier result = service.optimize(profile, assets, 50, null);
+
+        assertThat(result.getCurrent().getWeights()).containsKeys(AssetCategory.EQUITY, AssetCategory.CASH);
+        assertThat(result.getMaxVolatility()).isEqualTo(result.getCurrent().getVolatility());
+        assertThat(result.getSameRiskOptimal().getVolatility())
+                .isLessThanOrEqualTo(result.getCurrent().getVolatility() + 1e-12);
+        assertThat(result.getSameRiskOptimal().getExpectedReturn())
+                .isGreaterThanOrEqualTo(result.getCurrent().getExpectedReturn());
+        assertThat(result.getRecommended().getFireAge()).isLessThanOrEqualTo(result.getCurrent().getFireAge());
+    }
+
+    @Test
+    void optimize_shouldRespectExplicitRiskLimit() {
+        final EfficientFrontier result = service.optimize(profile, List.of(), 200, 0.10);
+
+        assertThat(result.getCurrent()).isNull();
+        assertThat(result.getFrontier()).hasSize(200);
+        assertThat(result.getRecommended().getVolatility()).isLessThanOrEqualTo(0.10 + 1e-12);
+    }
+
+    @Test
+    void optimize_shouldRequireRiskLimit_whenThereAreNoAssets() {
+        assertThatThrownBy(() -> service.optimize(profile, List.of(), 50, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("maxVolatility");
+    }
+
+    private static Asset asset(final AssetCategory category, final String value) {
+        return Asset.builder()
+                .name(category.name())
+                .category(category)
+                .currentValue(new BigDecimal(value))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireProjection;
+import ces107.zesFin.dto.MonthlyFireProjection;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Equivalence tests between the BigDecimal (EXACT) and primitive-double (FAST)
+ * FIRE projection engines.
+ *
+ * The EXACT engine rounds intermediate products to 10 significant digits, so
+ * for balances above ~10M it is itself only accurate to a few cents. The
+ * tolerance is therefore one cent, or one part per billion for large amounts.
+ */
+class FireCalculatorServiceTest {
+
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    private final FireCalculatorService service = new FireCalculatorService();
+
+    static Stream<FireProfile> referenceProfiles() {
+        return Stream.of(
+                profile(30, "50000", "1500", "2000", 0.07, 0.02, 0.04, null),
+                profile(25, "0", "500", "1800", 0.06, 0.025, 0.035, 0.05),
+                profile(45, "350000", "3000", "4000", 0.05, 0.03, 0.04, 0.02),
+                profile(60, "1200000", "0", "3500", 0.04, 0.02, 0.04, null),
+                profile(35, "20000", "800", "2500", 0.02, 0.03, 0.04, -0.01),
+                profile(22, "1000", "200", "5000", 0.08, 0.02, 0.03, 0.10),
+                profile(99, "10000", "100", "1000", 0.07, 0.02, 0.04, null));
+    }
+
+    static Stream<FireProfile> randomProfiles() {
+        final Random random = new Random(20240917L);
+        return IntStream.range(0, 500).mapToObj(i -> profile(
+                18 + random.nextInt(50),
+                BigDecimal.valueOf(random.nextInt(100_000_000), 2).toPlainString(),
+                BigDecimal.valueOf(random.nextInt(500_000), 2).toPlainString(),
+                BigDecimal.valueOf(50_000 + random.nextInt(600_000), 2).toPlainString(),
+                random.nextInt(1000) / 10000.0,
+                random.nextInt(400) / 10000.0,
+                0.03 + random.nextInt(200) / 10000.0,
+                random.nextBoolean() ? null : random.nextInt(500) / 10000.0));
+    }
+
+    @ParameterizedTest
+    @MethodSource({"referenceProfiles", "randomProfiles"})
+    void fastEngine_shouldMatchExactEngineWithinOneCent(final FireProfile profile) {
+        final FireProjection exact = service.calculate(profile, FireCalculatorService.Engine.EXACT);
+        final FireProjection fast = service.calculate(profile, FireCalculatorService.Engine.FAST);
+
+        assertThat(fast.getCurrentAge()).isEqualTo(exact.getCurrentAge());
+        assertThat(fast.getFireAge()).isEqualTo(exact.getFireAge());
+        assertThat(fast.getYearsToFire()).isEqualTo(exact.getYearsToFire());
+        assertThat(fast.isFireAchievable()).isEqualTo(exact.isFireAchievable());
+        assertThat(fast.getCurrentSavings()).isEqualByComparingTo(exact.getCurrentSavings());
+        assertWithinTolerance(fast.getFireNumber(), exact.getFireNumber());
+        assertWithinTolerance(fast.getProjectedSavingsAtFire(), exact.getProjectedSavingsAtFire());
+
+        final List<FireProjection.YearlyProjection> exactYears = exact.getYearlyProjections();
+        final List<FireProjection.YearlyProjection> fastYears = fast.getYearlyProjections();
+        assertThat(fastYears).hasSameSizeAs(exactYears);
+
+        for (int i = 0; i < exactYears.size(); i++) {
+            final FireProjection.YearlyProjection e = exactYears.get(i);
+            final FireProjection.YearlyProjection f = fastYears.get(i);
+            assertThat(f.getAge()).isEqualTo(e.getAge());
+            assertThat(f.getYear()).isEqualTo(e.getYear());
+            assertThat(f.isFireMilestone()).isEqualTo(e.isFireMilestone());
+            assertWithinTolerance(f.getTotalSavings(), e.getTotalSavings());
+            assertWithinTolerance(f.getTotalContributions(), e.getTotalContributions());
+            assertWithinTolerance(f.getTotalGrowth(), e.getTotalGrowth());
+            assertWithinTolerance(f.getFireNumber(), e.getFireNumber());
+            assertWithinTolerance(f.getAnnualContribution(), e.getAnnualContribution());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource({"referenceProfiles", "randomProfiles"})
+    void summarize_shouldMatchFastProjectionHeadline(final FireProfile profile) {
+        final FireProjection fast = service.calculateFast(profile);
+
+        final FireSummary summary = service.summarize(FireInputs.from(profile));
+
+        assertThat(summary.achievable()).isEqualTo(fast.isFireAchievable());
+        assertThat(summary.achievable() ? summary.fireAge() : null).isEqualTo(fast.getFireAge());
+        assertWithinTolerance(BigDecimal.valueOf(Math.round(summary.savingsAtFire() * 100), 2),
+                fast.getProjectedSavingsAtFire());
+    }
+
+    @Test
+    void calculate_shouldDefaultToExactEngine() {
+        final FireProfile profile = profile(30, "50000", "1500", "2000", 0.07, 0.02, 0.04, null);
+
+        final FireProjection viaDefault = service.calculate(profile);
+        final FireProjection viaExact = service.calculate(profile, FireCalculatorService.Engine.EXACT);
+
+        assertThat(viaDefault.getFireAge()).isEqualTo(viaExact.getFireAge());
+        assertThat(viaDefault.getProjectedSavingsAtFire()).isEqualTo(viaExact.getProjectedSavingsAtFire());
+    }
+
+    @Test
+    void calculateFast_shouldStopAtAgeOneHundred() {
+        final FireProfile profile = profile(70, "0", "100", "5000", 0.05, 0.02, 0.04, null);
+
+        final FireProjection projection = service.calculateFast(profile);
+
+        assertThat(projection.getYearlyProjections()).hasSize(31);
+        assertThat(projection.getYearlyProjections().get(30).getAge()).isEqualTo(100);
+        assertThat(projection.isFireAchievable()).isFalse();
+        assertThat(projection.getFireAge()).isNull();
+    }
+
+    @Test
+    void calculateFast_shouldReturnMoneyWithScaleTwo() {
+        final FireProfile profile = profile(30, "50000", "1500", "2000", 0.07, 0.02, 0.04, 0.03);
+
+        final FireProjection projection = service.calculateFast(profile);
+
+        assertThat(projection.getFireNumber().scale()).isEqualTo(2);
+        assertThat(projection.getYearlyProjections())
+                .allSatisfy(p -> assertThat(p.getTotalSavings().scale()).isEqualTo(2));
+    }
+
+    @Test
+    void calculateMonthly_shouldReturnOneColumnEntryPerMonth() {
+        final FireProfile profile = profile(30, "50000", "1500", "2000", 0.07, 0.02, 0.04, null);
+
+        final MonthlyFireProjection monthly = service.calculateMonthly(profile);
+
+        assertThat(monthly.getMonths()).isEqualTo(60 * 12 + 1);
+        assertThat(monthly.getTotalSavings()).hasSize(monthly.getMonths());
+        assertThat(monthly.getTotalContributions()).hasSize(monthly.getMonths());
+        assertThat(monthly.getFireNumbers()).hasSize(monthly.getMonths());
+        assertThat(monthly.getMonthlyContributions()).hasSize(monthly.getMonths());
+        assertThat(monthly.getTotalSavings()[0]).isEqualTo(50000.0);
+        assertThat(monthly.getTotalContributions()[12]).isEqualTo(50000.0 + 12 * 1500);
+        assertThat(monthly.getFireNumbers()[12]).isCloseTo(600000 * 1.02, within(0.01));
+    }
+
+    @Test
+    void calculateMonthly_shouldReachFireWithinAYearOfTheYearlyModel() {
+        final FireProfile profile = profile(30, "50000", "1500", "2000", 0.07, 0.02, 0.04, null);
+
+        final MonthlyFireProjection monthly = service.calculateMonthly(profile);
+        final FireProjection yearly = service.calculateFast(profile);
+
+        assertThat(monthly.isFireAchievable()).isTrue();
+        assertThat(monthly.getFireAge()).isBetween(yearly.getFireAge() - 1, yearly.getFireAge());
+        final int fireMonth = monthly.getFireMonth();
+        assertThat(monthly.getTotalSavings()[fireMonth]).isGreaterThanOrEqualTo(monthly.getFireNumbers()[fireMonth]);
+        assertThat(monthly.getTotalSavings()[fireMonth - 1]).isLessThan(monthly.getFireNumbers()[fireMonth - 1]);
+    }
+
+    @Test
+    void calculateMonthly_shouldRaiseContributionsOncePerYear() {
+        final FireProfile profile = profile(30, "0", "1000", "2000", 0.07, 0.02, 0.04, 0.10);
+
+        final MonthlyFireProjection monthly = service.calculateMonthly(profile);
+
+        assertThat(monthly.getMonthlyContributions()[11]).isEqualTo(1000.0);
+        assertThat(monthly.getMonthlyContributions()[12]).isEqualTo(1100.0);
+        assertThat(monthly.getMonthlyContributions()[23]).isEqualTo(1100.0);
+    }
+
+    private static void assertWithinTolerance(final BigDecimal actual, final BigDecimal expected) {
+        final BigDecimal relative = expected.abs().multiply(new BigDecimal("1e-9"));
+        final BigDecimal tolerance = relative.max(CENT);
+        assertThat(actual.subtract(expected).abs()).isLessThanOrEqualTo(tolerance);
+    }
+
+    private static FireProfile profile(final int age, final String savings, final String contribution,
+                                       final String expenses, final double returnRate,
+                                       final double inflation, final double swr,
+                                       final Double increaseRate) {
+        return FireProfile.builder()
+                .currentAge(age)
+                .currentSavings(new BigDecimal(savings))
+                .monthlyContribution(new BigDecimal(contribution))
+                .monthlyExpenses(new BigDecimal(expenses))
+                .expectedReturnRate(returnRate)
+                .inflationRate(inflation)
+                .safeWithdrawalRate(swr)
+                .annualContributionIncreaseRate(increaseRate)
+                .build();
+    }
+}
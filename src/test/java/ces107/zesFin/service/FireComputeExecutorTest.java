@@ -0,0 +1,191 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.exception.ComputeRejectedException;
+import ces107.zesFin.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FireComputeExecutor.
+ *
+ * Tests cover:
+ * - Results and exceptions passed through from the task
+ * - Per-user limit, queue-full and timeout rejections
+ * - Slots released once tasks finish
+ * - Submitted calculations polled, timed out and cancelled by the caller
+ * - Parallel stages confined to the bulkhead's fork-join pool and stopped on timeout
+ */
+class FireComputeExecutorTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private FireComputeExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    void call_shouldReturnTaskResult() {
+        executor = executor(1, 1, 1, Duration.ofSeconds(5));
+
+        assertThat(executor.call(user(1L), () -> 42)).isEqualTo(42);
+    }
+
+    @Test
+    void call_shouldRethrowRuntimeExceptionsUnchanged() {
+        executor = executor(1, 1, 1, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> executor.call(user(1L), () -> {
+            throw new IllegalArgumentException("bad input");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad input");
+    }
+
+    @Test
+    void call_shouldRejectUserOverLimit_whileOtherUsersAreAdmitted() throws Exception {
+        executor = executor(2, 4, 1, Duration.ofSeconds(5));
+        final CompletableFuture<Integer> blocked = CompletableFuture.supplyAsync(
+                () -> executor.call(user(1L), this::awaitRelease));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> executor.call(user(1L), () -> 1))
+                .isInstanceOf(ComputeRejectedException.class)
+                .extracting("reason").isEqualTo(ComputeRejectedException.Reason.USER_LIMIT);
+        assertThat(executor.call(user(2L), () -> 2)).isEqualTo(2);
+
+        release.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo(0);
+        assertThat(executor.call(user(1L), () -> 3)).isEqualTo(3);
+        assertThat(executor.rejections(ComputeRejectedException.Reason.USER_LIMIT)).isEqualTo(1);
+    }
+
+    @Test
+    void call_shouldRejectWhenQueueIsFull() throws Exception {
+        executor = executor(1, 1, 10, Duration.ofSeconds(5));
+        CompletableFuture.supplyAsync(() -> executor.call(user(1L), this::awaitRelease));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.supplyAsync(() -> executor.call(user(2L), this::awaitRelease));
+        while (executor.queueDepth() < 1) Thread.sleep(5);
+
+        assertThatThrownBy(() -> executor.call(user(3L), () -> 1))
+                .isInstanceOf(ComputeRejectedException.class)
+                .extracting("reason").isEqualTo(ComputeRejectedException.Reason.QUEUE_FULL);
+    }
+
+    @Test
+    void call_shouldTimeOutSlowTasks() {
+        executor = executor(1, 1, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> executor.call(user(1L), this::awaitRelease))
+                .isInstanceOf(ComputeRejectedException.class)
+                .extracting("reason").isEqualTo(ComputeRejectedException.Reason.TIMEOUT);
+    }
+
+    @Test
+    void submit_shouldReturnWhileTheTaskRuns_andHoldTheUserSlotUntilItFinishes() throws Exception {
+        executor = executor(1, 1, 1, Duration.ofSeconds(5));
+
+        final FireComputeExecutor.Computation<Integer> computation = executor.submit(user(1L), this::awaitRelease);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(computation.isDone()).isFalse();
+        assertThatThrownBy(() -> executor.submit(user(1L), () -> 1))
+                .isInstanceOf(ComputeRejectedException.class)
+                .extracting("reason").isEqualTo(ComputeRejectedException.Reason.USER_LIMIT);
+
+        release.countDown();
+        assertThat(computation.get()).isEqualTo(0);
+        assertThat(executor.call(user(1L), () -> 1)).isEqualTo(1);
+    }
+
+    @Test
+    void checkTimeout_shouldCancelCalculationsPastTheDeadline() throws Exception {
+        executor = executor(1, 1, 1, Duration.ofMillis(50));
+
+        final FireComputeExecutor.Computation<Integer> computation = executor.submit(user(1L), this::awaitRelease);
+        computation.checkTimeout();
+        Thread.sleep(100);
+
+        assertThatThrownBy(computation::checkTimeout)
+                .isInstanceOf(ComputeRejectedException.class)
+                .extracting("reason").isEqualTo(ComputeRejectedException.Reason.TIMEOUT);
+        assertThat(computation.isDone()).isTrue();
+        assertThat(executor.call(user(1L), () -> 1)).isEqualTo(1);
+    }
+
+    @Test
+    void call_shouldRunParallelStagesOnTheBulkheadPool() {
+        executor = executor(2, 1, 1, Duration.ofSeconds(5));
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        executor.call(user(1L), () -> {
+            ComputeContext.current().run(() -> IntStream.range(0, 64).parallel()
+                    .forEach(i -> threads.add(Thread.currentThread().getName())));
+            ParallelPaths.run(64, 1, 42L, (from, to, random) -> threads.add(Thread.currentThread().getName()));
+            return null;
+        });
+
+        assertThat(threads).isNotEmpty()
+                .allSatisfy(name -> assertThat(name).startsWith("fire-compute-"))
+                .noneSatisfy(name -> assertThat(name).contains("commonPool"));
+    }
+
+    @Test
+    void call_shouldStopParallelSubtasks_whenTheCalculationTimesOut() throws Exception {
+        executor = executor(2, 1, 1, Duration.ofMillis(50));
+        final AtomicInteger blocks = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.call(user(1L), () -> {
+            ParallelPaths.run(10_000, 1, 42L, (from, to, random) -> {
+                blocks.incrementAndGet();
+                sleep(5);
+            });
+            return null;
+        })).isInstanceOf(ComputeRejectedException.class)
+                .extracting("reason").isEqualTo(ComputeRejectedException.Reason.TIMEOUT);
+
+        Thread.sleep(100);
+        final int afterTimeout = blocks.get();
+        Thread.sleep(100);
+        assertThat(blocks.get()).isEqualTo(afterTimeout).isLessThan(10_000);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int awaitRelease() throws InterruptedException {
+        started.countDown();
+        release.await(5, TimeUnit.SECONDS);
+        return 0;
+    }
+
+    private static FireComputeExecutor executor(final int threads, final int queue, final int perUser,
+                                                final Duration timeout) {
+        return new FireComputeExecutor(threads, queue, perUser, timeout, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+    }
+
+    private static User user(final Long id) {
+        final User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
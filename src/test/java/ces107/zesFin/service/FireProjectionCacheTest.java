@@ -0,0 +1,163 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FireProjectionCache.
+ */
+class FireProjectionCacheTest {
+
+    private static final FireCalculatorService.Engine ENGINE = FireCalculatorService.Engine.EXACT;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldHitForEqualInputs() {
+        final FireProjectionCache cache = new FireProjectionCache(10, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        final FireProjection first = cache.get(key(1000), this::load);
+        final FireProjection second = cache.get(key(1000), this::load);
+
+        assertThat(second).isNotSameAs(first).usingRecursiveComparison().isEqualTo(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldSeparateEngines() {
+        final FireProjectionCache cache = new FireProjectionCache(10, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        cache.get(key(1000), this::load);
+        cache.get(FireProjectionCache.Key.of(inputs(1000), FireCalculatorService.Engine.FAST), this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsed_whenFull() {
+        final FireProjectionCache cache = new FireProjectionCache(2, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        cache.get(key(1), this::load);
+        cache.get(key(2), this::load);
+        cache.get(key(1), this::load); // touch 1 so 2 is eldest
+        cache.get(key(3), this::load);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictions()).isEqualTo(1);
+        cache.get(key(1), this::load);
+        assertThat(loads).hasValue(3);
+        cache.get(key(2), this::load);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void get_shouldReloadExpiredEntries() {
+        final FireProjectionCache cache = new FireProjectionCache(10, Duration.ZERO, new SimpleMeterRegistry());
+
+        cache.get(key(1000), this::load);
+        cache.get(key(1000), this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_shouldDropEntriesForInputs() {
+        final FireProjectionCache cache = new FireProjectionCache(10, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        cache.get(key(1000), this::load);
+
+        cache.evict(inputs(1000));
+
+        assertThat(cache.size()).isZero();
+        cache.get(key(1000), this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldHandOutCopies_soCallersCannotChangeTheCachedProjection() {
+        final FireProjectionCache cache = new FireProjectionCache(10, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        final Supplier<FireProjection> loader = () -> FireProjection.builder()
+            .fireAge(45)
+            .yearlyProjections(List.of(FireProjection.YearlyProjection.builder().age(30).build()))
+            .build();
+
+        final FireProjection first = cache.get(key(1000), loader);
+        first.setFireAge(99);
+        first.getYearlyProjections().get(0).setAge(99);
+        first.getYearlyProjections().clear();
+
+        final FireProjection second = cache.get(key(1000), loader);
+        assertThat(second.getFireAge()).isEqualTo(45);
+        assertThat(second.getYearlyProjections()).singleElement()
+            .extracting(FireProjection.YearlyProjection::getAge).isEqualTo(30);
+    }
+
+    @Test
+    void get_shouldShareOneLoad_andStoreItBeforeReleasingWaiters() throws Exception {
+        final FireProjectionCache cache = new FireProjectionCache(10, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final Supplier<FireProjection> slowLoad = () -> {
+            entered.countDown();
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return load();
+        };
+
+        final CompletableFuture<FireProjection> leader = CompletableFuture.supplyAsync(() -> cache.get(key(1000), slowLoad));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        final CompletableFuture<FireProjection> follower = CompletableFuture.supplyAsync(() -> cache.get(key(1000), slowLoad));
+        while (cache.coalesced() < 1) Thread.sleep(5);
+        proceed.countDown();
+
+        final FireProjection shared = follower.get(5, TimeUnit.SECONDS);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isNotSameAs(shared);
+        cache.get(key(1000), this::load);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_shouldRegisterMeters() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final FireProjectionCache cache = new FireProjectionCache(10, Duration.ofMinutes(10), registry);
+
+        cache.get(key(1000), this::load);
+        cache.get(key(1000), this::load);
+
+        assertThat(registry.get("fire.projection.cache.requests").tag("result", "hit").functionCounter().count())
+            .isEqualTo(1.0);
+        assertThat(registry.get("fire.projection.cache.requests").tag("result", "miss").functionCounter().count())
+            .isEqualTo(1.0);
+    }
+
+    private FireProjection load() {
+        loads.incrementAndGet();
+        return FireProjection.builder().build();
+    }
+
+    private static FireProjectionCache.Key key(final double savings) {
+        return FireProjectionCache.Key.of(inputs(savings), ENGINE);
+    }
+
+    private static FireInputs inputs(final double savings) {
+        return new FireInputs(30, savings, 1500, 2000, 0.07, 0.02, 0.04, 0);
+    }
+}
@@ -0,0 +1,130 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireProjection;
+import ces107.zesFin.dto.FireProjectionComparison;
+import ces107.zesFin.model.FireProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FireProjectionService.
+ */
+class FireProjectionServiceTest {
+
+    private static final FireCalculatorService.Engine ENGINE = FireCalculatorService.Engine.FAST;
+
+    private final FireProjectionCache cache =
+            new FireProjectionCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    private final FireProjectionService service =
+            new FireProjectionService(new FireCalculatorService(), cache);
+
+    @Test
+    void compare_shouldAlignProfilesOnSharedYearAxis() {
+        final FireProfile young = profile(1L, 30);
+        final FireProfile old = profile(2L, 70);
+
+        final FireProjectionComparison comparison = service.compare(List.of(young, old), ENGINE);
+
+        final int thisYear = LocalDate.now().getYear();
+        assertThat(comparison.getYears()).hasSize(61);
+        assertThat(comparison.getYears().get(0)).isEqualTo(thisYear);
+        assertThat(comparison.getProfiles()).extracting(FireProjectionComparison.ProfileSeries::getProfileId)
+                .containsExactly(1L, 2L);
+
+        final FireProjectionComparison.ProfileSeries oldSeries = comparison.getProfiles().get(1);
+        assertThat(oldSeries.getTotalSavings()).hasSize(61);
+        assertThat(oldSeries.getTotalSavings().get(30)).isNotNull();
+        assertThat(oldSeries.getTotalSavings().get(31)).isNull();
+    }
+
+    @Test
+    void compare_shouldMatchIndividualProjections() {
+        final FireProfile profile = profile(1L, 30);
+        final FireProjection single = service.project(profile, ENGINE);
+
+        final FireProjectionComparison comparison = service.compare(List.of(profile), ENGINE);
+
+        final FireProjectionComparison.ProfileSeries series = comparison.getProfiles().get(0);
+        assertThat(series.getFireAge()).isEqualTo(single.getFireAge());
+        assertThat(series.getFireYear()).isEqualTo(LocalDate.now().getYear() + single.getYearsToFire());
+        assertThat(series.getTotalSavings().get(10))
+                .isEqualByComparingTo(single.getYearlyProjections().get(10).getTotalSavings());
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void compare_shouldReturnEmptyAxis_whenNoProfiles() {
+        final FireProjectionComparison comparison = service.compare(List.of(), ENGINE);
+
+        assertThat(comparison.getYears()).isEmpty();
+        assertThat(comparison.getProfiles()).isEmpty();
+    }
+
+    @Test
+    void project_shouldShareOneCalculation_forConcurrentIdenticalRequests() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final AtomicInteger calculations = new AtomicInteger();
+        final FireCalculatorService slowCalculator = new FireCalculatorService() {
+            @Override
+            public FireProjection calculate(final FireProfile profile, final Engine engine) {
+                calculations.incrementAndGet();
+                entered.countDown();
+                try {
+                    proceed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.calculate(profile, engine);
+            }
+        };
+        final FireProjectionService coalescing =
+                new FireProjectionService(slowCalculator, cache);
+        final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        try {
+            final Future<FireProjection> leader = callers.submit(() -> coalescing.project(profile(1L, 30), ENGINE));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            final List<Future<FireProjection>> followers = List.of(
+                    callers.submit(() -> coalescing.project(profile(2L, 30), ENGINE)),
+                    callers.submit(() -> coalescing.project(profile(3L, 30), ENGINE)));
+            while (coalescing.coalescedCalls() < 2) Thread.sleep(5);
+            proceed.countDown();
+
+            final FireProjection result = leader.get(5, TimeUnit.SECONDS);
+            for (final Future<FireProjection> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isNotSameAs(result).usingRecursiveComparison().isEqualTo(result);
+            }
+            assertThat(calculations).hasValue(1);
+        } finally {
+            proceed.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    private static FireProfile profile(final Long id, final int age) {
+        return FireProfile.builder()
+                .id(id)
+                .currentAge(age)
+                .currentSavings(BigDecimal.valueOf(50000))
+                .monthlyContribution(BigDecimal.valueOf(1500))
+                .monthlyExpenses(BigDecimal.valueOf(2000))
+                .expectedReturnRate(0.07)
+                .inflationRate(0.02)
+                .safeWithdrawalRate(0.04)
+                .build();
+    }
+}
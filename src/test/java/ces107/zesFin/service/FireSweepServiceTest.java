@@ -0,0 +1,113 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireSweepRequest;
+import ces107.zesFin.dto.FireSweepSlice;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FireSweepService.
+ */
+class FireSweepServiceTest {
+
+    private final FireCalculatorService calculator = new FireCalculatorService();
+    private final FireSweepService service = new FireSweepService(calculator);
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = FireProfile.builder()
+            .currentAge(30)
+            .currentSavings(BigDecimal.valueOf(50000))
+            .monthlyContribution(BigDecimal.valueOf(1500))
+            .monthlyExpenses(BigDecimal.valueOf(2000))
+            .expectedReturnRate(0.07)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.04)
+            .build();
+    }
+
+    @Test
+    void sweep_shouldEmitOneSlicePerFirstAxisValue_withRowMajorCells() throws Exception {
+        final FireSweepRequest request = request(
+            axis(FireParameter.EXPECTED_RETURN_RATE, 0.03, 0.05, 0.07, 0.09),
+            axis(FireParameter.MONTHLY_CONTRIBUTION, 500.0, 1500.0, 3000.0),
+            axis(FireParameter.SAFE_WITHDRAWAL_RATE, 0.035, 0.04));
+
+        final List<FireSweepSlice> slices = Collections.synchronizedList(new ArrayList<>());
+        service.sweep(request, slices::add);
+
+        assertThat(slices).hasSize(4);
+        slices.sort(Comparator.comparing(FireSweepSlice::getIndex));
+        final FireSweepSlice slice = slices.get(2);
+        assertThat(slice.getValue()).isEqualTo(0.07);
+        assertThat(slice.getFireAge()).hasSize(6);
+
+        // cell 3 = contribution index 1 (1500), SWR index 1 (0.04)
+        final FireInputs expectedInputs = FireParameter.SAFE_WITHDRAWAL_RATE.apply(
+            FireParameter.MONTHLY_CONTRIBUTION.apply(
+                FireParameter.EXPECTED_RETURN_RATE.apply(FireInputs.from(profile), 0.07), 1500.0), 0.04);
+        final FireSummary expected = calculator.summarize(expectedInputs);
+        assertThat(slice.getFireAge()[3]).isEqualTo(expected.fireAge());
+        assertThat(slice.getFireAge()[3]).isEqualTo(calculator.calculateFast(profile).getFireAge());
+    }
+
+    @Test
+    void sweep_shouldReportNullFireAge_whenUnreachable() throws Exception {
+        final FireSweepRequest request = request(axis(FireParameter.MONTHLY_CONTRIBUTION, 0.0));
+        profile.setCurrentSavings(BigDecimal.ZERO);
+
+        final List<FireSweepSlice> slices = new ArrayList<>();
+        service.sweep(request, slices::add);
+
+        assertThat(slices).hasSize(1);
+        assertThat(slices.get(0).getFireAge()).containsExactly((Integer) null);
+        assertThat(slices.get(0).getSavingsAtFire()[0]).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void sweep_shouldRejectDuplicateAxesAndOversizedGrids() {
+        assertThatThrownBy(() -> service.sweep(request(
+                axis(FireParameter.INFLATION_RATE, 0.01),
+                axis(FireParameter.INFLATION_RATE, 0.02)), slice -> { }))
+            .isInstanceOf(InvalidRequestException.class);
+
+        final Double[] many = new Double[100];
+        for (int i = 0; i < many.length; i++) many[i] = 0.01 + i / 1000.0;
+        assertThatThrownBy(() -> service.sweep(request(
+                axis(FireParameter.EXPECTED_RETURN_RATE, many),
+                axis(FireParameter.INFLATION_RATE, many),
+                axis(FireParameter.SAFE_WITHDRAWAL_RATE, many)), slice -> { }))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void validate_shouldRejectValuesOutsideTheParameterRange() {
+        assertThatThrownBy(() -> service.validate(request(axis(FireParameter.INFLATION_RATE, 0.02, -1.0))))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("INFLATION_RATE");
+        assertThatThrownBy(() -> service.validate(request(axis(FireParameter.SAFE_WITHDRAWAL_RATE, 0.0))))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.validate(request(axis(FireParameter.EXPECTED_RETURN_RATE, Double.NaN))))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private FireSweepRequest request(final FireSweepRequest.Axis... axes) {
+        return FireSweepRequest.builder().profile(profile).axes(List.of(axes)).build();
+    }
+
+    private static FireSweepRequest.Axis axis(final FireParameter parameter, final Double... values) {
+        return FireSweepRequest.Axis.builder().parameter(parameter).values(List.of(values)).build();
+    }
+}
@@ -0,0 +1,111 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.GoalSeekResult;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for GoalSeekService.
+ *
+ * Each solved value is checked against the summary projection: the answer
+ * must reach FIRE by the target age, and one resolution step on the wrong
+ * side must not.
+ */
+class GoalSeekServiceTest {
+
+    private final FireCalculatorService calculator = new FireCalculatorService();
+    private final GoalSeekService service = new GoalSeekService(calculator);
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = FireProfile.builder()
+            .currentAge(30)
+            .currentSavings(BigDecimal.valueOf(50000))
+            .monthlyContribution(BigDecimal.valueOf(1500))
+            .monthlyExpenses(BigDecimal.valueOf(2000))
+            .expectedReturnRate(0.07)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.04)
+            .targetRetirementAge(45)
+            .build();
+    }
+
+    @Test
+    void solve_shouldFindMinimumMonthlyContribution() {
+        final GoalSeekResult result = service.solve(profile, FireParameter.MONTHLY_CONTRIBUTION, null);
+
+        assertThat(result.isAchievable()).isTrue();
+        assertThat(result.getTargetAge()).isEqualTo(45);
+        assertThat(result.getFireAge()).isLessThanOrEqualTo(45);
+        assertThat(result.getRequiredValue()).isGreaterThan(BigDecimal.valueOf(1500));
+        assertBoundary(FireParameter.MONTHLY_CONTRIBUTION, result, -0.01);
+        assertThat(result.getEvaluations()).isLessThan(40);
+    }
+
+    @Test
+    void solve_shouldFindMaximumMonthlyExpenses() {
+        final GoalSeekResult result = service.solve(profile, FireParameter.MONTHLY_EXPENSES, 60);
+
+        assertThat(result.isAchievable()).isTrue();
+        assertThat(result.getRequiredValue()).isGreaterThan(BigDecimal.valueOf(2000));
+        assertBoundary(FireParameter.MONTHLY_EXPENSES, result, 0.01);
+    }
+
+    @Test
+    void solve_shouldFindRequiredReturn() {
+        final GoalSeekResult result = service.solve(profile, FireParameter.EXPECTED_RETURN_RATE, 50);
+
+        assertThat(result.isAchievable()).isTrue();
+        assertBoundary(FireParameter.EXPECTED_RETURN_RATE, result, -0.00001);
+    }
+
+    @Test
+    void solve_shouldReturnDomainBound_whenTargetAlreadyMetWithoutContributions() {
+        profile.setCurrentSavings(BigDecimal.valueOf(1_000_000));
+
+        final GoalSeekResult result = service.solve(profile, FireParameter.MONTHLY_CONTRIBUTION, 31);
+
+        assertThat(result.isAchievable()).isTrue();
+        assertThat(result.getRequiredValue()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void solve_shouldReportUnachievable_whenNoValueReachesTarget() {
+        profile.setCurrentSavings(BigDecimal.ZERO);
+
+        final GoalSeekResult result = service.solve(profile, FireParameter.SAFE_WITHDRAWAL_RATE, 30);
+
+        assertThat(result.isAchievable()).isFalse();
+        assertThat(result.getRequiredValue()).isNull();
+    }
+
+    @Test
+    void solve_shouldRejectMissingOrPastTargetAge() {
+        profile.setTargetRetirementAge(null);
+
+        assertThatThrownBy(() -> service.solve(profile, FireParameter.MONTHLY_CONTRIBUTION, null))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.solve(profile, FireParameter.MONTHLY_CONTRIBUTION, 20))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private void assertBoundary(final FireParameter parameter, final GoalSeekResult result, final double step) {
+        final FireInputs base = FireInputs.from(profile);
+        final double value = result.getRequiredValue().doubleValue();
+
+        final FireSummary atAnswer = calculator.summarize(parameter.apply(base, value));
+        assertThat(atAnswer.achievable()).isTrue();
+        assertThat(atAnswer.fireAge()).isLessThanOrEqualTo(result.getTargetAge());
+
+        final FireSummary pastAnswer = calculator.summarize(parameter.apply(base, value + step * 2));
+        assertThat(!pastAnswer.achievable() || pastAnswer.fireAge() > result.getTargetAge()).isTrue();
+    }
+}
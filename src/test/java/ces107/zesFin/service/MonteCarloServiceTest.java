@@ -0,0 +1,104 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireProjection;
+import ces107.zesFin.dto.MonteCarloProjection;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for MonteCarloService.
+ *
+ * Tests cover:
+ * - Zero volatility collapses to the deterministic projection
+ * - Reproducibility for a fixed seed
+ * - Band ordering and probability bounds
+ * - Parameter validation
+ */
+class MonteCarloServiceTest {
+
+    private final MonteCarloService service = new MonteCarloService();
+    private final FireCalculatorService calculator = new FireCalculatorService();
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = FireProfile.builder()
+            .currentAge(30)
+            .currentSavings(BigDecimal.valueOf(50000))
+            .monthlyContribution(BigDecimal.valueOf(1500))
+            .monthlyExpenses(BigDecimal.valueOf(2000))
+            .expectedReturnRate(0.07)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.04)
+            .targetRetirementAge(55)
+            .build();
+    }
+
+    @Test
+    void simulate_shouldMatchDeterministicProjection_whenVolatilityIsZero() {
+        final FireProjection deterministic = calculator.calculate(profile);
+
+        final MonteCarloProjection result = service.simulate(profile, 1_000, null, 0.0, 1L);
+
+        assertThat(result.getMedianFireAge()).isEqualTo(deterministic.getFireAge());
+        assertThat(result.getSuccessProbability()).isEqualTo(1.0);
+        assertThat(result.getYearlyBands()).hasSameSizeAs(deterministic.getYearlyProjections());
+        final MonteCarloProjection.YearlyBand band = result.getYearlyBands().get(10);
+        final BigDecimal expected = deterministic.getYearlyProjections().get(10).getTotalSavings();
+        assertThat(band.getP10()).isEqualByComparingTo(band.getP90());
+        assertThat(band.getP50().subtract(expected).abs()).isLessThan(BigDecimal.ONE);
+    }
+
+    @Test
+    void simulate_shouldBeReproducible_forSameSeed() {
+        final MonteCarloProjection first = service.simulate(profile, 5_000, null, 0.15, 42L);
+        final MonteCarloProjection second = service.simulate(profile, 5_000, null, 0.15, 42L);
+
+        assertThat(first.getSuccessProbability()).isEqualTo(second.getSuccessProbability());
+        assertThat(first.getYearlyBands().get(20).getP50())
+            .isEqualByComparingTo(second.getYearlyBands().get(20).getP50());
+    }
+
+    @Test
+    void simulate_shouldProduceOrderedBandsAndValidProbabilities() {
+        final MonteCarloProjection result = service.simulate(profile, 10_000, null, 0.15, 7L);
+
+        assertThat(result.getPaths()).isEqualTo(10_000);
+        assertThat(result.getSeed()).isEqualTo(7L);
+        assertThat(result.getSuccessProbability()).isBetween(0.0, 1.0);
+        assertThat(result.getYearlyBands()).allSatisfy(band -> {
+            assertThat(band.getP10()).isLessThanOrEqualTo(band.getP50());
+            assertThat(band.getP50()).isLessThanOrEqualTo(band.getP90());
+            assertThat(band.getFireProbability()).isBetween(0.0, 1.0);
+        });
+        // Volatility spreads the outcome around the deterministic path
+        final MonteCarloProjection.YearlyBand band = result.getYearlyBands().get(20);
+        assertThat(band.getP10()).isLessThan(band.getP90());
+    }
+
+    @Test
+    void simulate_shouldReportZeroSuccess_whenTargetAgeAlreadyPassed() {
+        profile.setTargetRetirementAge(25);
+
+        final MonteCarloProjection result = service.simulate(profile, 1_000, null, 0.15, 1L);
+
+        assertThat(result.getSuccessProbability()).isZero();
+    }
+
+    @Test
+    void simulate_shouldRejectOutOfRangeParameters() {
+        assertThatThrownBy(() -> service.simulate(profile, 10, null, 0.15, 1L))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.simulate(profile, 1_000_000, null, 0.15, 1L))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.simulate(profile, 1_000, null, -0.1, 1L))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+}
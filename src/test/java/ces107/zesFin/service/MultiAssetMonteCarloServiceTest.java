@@ -0,0 +1,136 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.FireProjection;
+import ces107.zesFin.dto.MultiAssetRequest;
+import ces107.zesFin.dto.MultiAssetSimulation;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.Asset;
+import ces107.zesFin.model.AssetCategory;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for MultiAssetMonteCarloService and CapitalMarketAssumptions.
+ *
+ * Tests cover:
+ * - Current weights derived from asset values per category
+ * - A riskless allocation collapsing to the deterministic projection
+ * - Candidate allocations compared on the same seed
+ * - Cholesky factor and matrix validation
+ */
+class MultiAssetMonteCarloServiceTest {
+
+    // Cash returns exactly the profile's 7% with no volatility
+    private final CapitalMarketAssumptions assumptions = new CapitalMarketAssumptions(
+            new double[]{0.08, 0.03, 0.10, 0.07, 0.05},
+            new double[]{0.18, 0.06, 0.70, 0.0, 0.12},
+            new double[]{0.1, 0.3, 0.0, 0.6, 0.0, 0.2, 0.2, 0.0, 0.2, 0.0});
+    private final MultiAssetMonteCarloService service = new MultiAssetMonteCarloService(assumptions);
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = FireProfile.builder()
+            .currentAge(30)
+            .currentSavings(BigDecimal.valueOf(50000))
+            .monthlyContribution(BigDecimal.valueOf(1500))
+            .monthlyExpenses(BigDecimal.valueOf(2000))
+            .expectedReturnRate(0.07)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.04)
+            .targetRetirementAge(55)
+            .build();
+    }
+
+    @Test
+    void currentWeights_shouldSumAssetValuesPerCategory() {
+        final List<Asset> assets = List.of(
+                asset(AssetCategory.EQUITY, "6000"),
+                asset(AssetCategory.EQUITY, "2000"),
+                asset(AssetCategory.BONDS, "2000"));
+
+        final double[] weights = MultiAssetMonteCarloService.currentWeights(assets);
+
+        assertThat(weights[AssetCategory.EQUITY.ordinal()]).isCloseTo(0.8, within(1e-12));
+        assertThat(weights[AssetCategory.BONDS.ordinal()]).isCloseTo(0.2, within(1e-12));
+        assertThat(MultiAssetMonteCarloService.currentWeights(List.of())).isNull();
+    }
+
+    @Test
+    void simulate_shouldMatchDeterministicProjection_forRisklessAllocation() {
+        final FireProjection deterministic = new FireCalculatorService().calculate(profile);
+
+        final MultiAssetSimulation result = service.simulate(
+                profile, List.of(asset(AssetCategory.CASH, "1000")), List.of(), 1_000, 1L);
+
+        final MultiAssetSimulation.AllocationResult current = result.getAllocations().get(0);
+        assertThat(current.getName()).isEqualTo("current");
+        assertThat(current.getVolatility()).isZero();
+        assertThat(current.getMedianFireAge()).isEqualTo(deterministic.getFireAge());
+        assertThat(current.getSuccessProbability()).isEqualTo(1.0);
+    }
+
+    @Test
+    void simulate_shouldReportEachCandidateAfterCurrentAllocation() {
+        final List<MultiAssetRequest.Allocation> candidates = List.of(
+                new MultiAssetRequest.Allocation("conservative", Map.of(AssetCategory.BONDS, 80.0, AssetCategory.EQUITY, 20.0)),
+                new MultiAssetRequest.Allocation("aggressive", Map.of(AssetCategory.EQUITY, 1.0)));
+
+        final MultiAssetSimulation result = service.simulate(
+                profile, List.of(asset(AssetCategory.EQUITY, "1000")), candidates, 2_000, 42L);
+
+        assertThat(result.getAllocations()).extracting(MultiAssetSimulation.AllocationResult::getName)
+                .containsExactly("current", "conservative", "aggressive");
+        final MultiAssetSimulation.AllocationResult conservative = result.getAllocations().get(1);
+        assertThat(conservative.getWeights().get(AssetCategory.BONDS)).isCloseTo(0.8, within(1e-12));
+        assertThat(conservative.getVolatility()).isLessThan(result.getAllocations().get(2).getVolatility());
+        // Identical weights and seed give identical results
+        assertThat(result.getAllocations().get(2).getSuccessProbability())
+                .isEqualTo(result.getAllocations().get(0).getSuccessProbability());
+    }
+
+    @Test
+    void simulate_shouldRequireAssetsOrCandidates() {
+        assertThatThrownBy(() -> service.simulate(profile, List.of(), List.of(), 1_000, 1L))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void cholesky_shouldReproduceCovariance() {
+        final double[][] lower = assumptions.cholesky();
+
+        for (int i = 0; i < assumptions.size(); i++) {
+            for (int j = 0; j < assumptions.size(); j++) {
+                double product = 0;
+                for (int k = 0; k < assumptions.size(); k++) product += lower[i][k] * lower[j][k];
+                assertThat(product).isCloseTo(assumptions.covariance(i, j), within(1e-12));
+            }
+        }
+    }
+
+    @Test
+    void assumptions_shouldRejectInconsistentCorrelations() {
+        final double[] ones = {1, 1, 1, 1, 1};
+
+        assertThatThrownBy(() -> new CapitalMarketAssumptions(ones, ones,
+                new double[]{0.9, -0.9, 0, 0, 0.9, 0, 0, 0, 0, 0}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Asset asset(final AssetCategory category, final String value) {
+        return Asset.builder()
+                .name(category.name())
+                .category(category)
+                .currentValue(new BigDecimal(value))
+                .currency("EUR")
+                .build();
+    }
+}
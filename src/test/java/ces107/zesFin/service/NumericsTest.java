@@ -0,0 +1,31 @@
+package ces107.zesFin.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Numerics.
+ */
+class NumericsTest {
+
+    @Test
+    void toMoney_shouldRoundHalfAwayFromZero() {
+        assertThat(Numerics.toMoney(1234.565)).isEqualTo(new BigDecimal("1234.57"));
+        assertThat(Numerics.toMoney(0.005)).isEqualTo(new BigDecimal("0.01"));
+        assertThat(Numerics.toMoney(-0.005)).isEqualTo(new BigDecimal("-0.01"));
+        assertThat(Numerics.toMoney(-2.5)).isEqualTo(new BigDecimal("-2.50"));
+    }
+
+    @Test
+    void percentile_shouldUseNearestRank() {
+        final double[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        assertThat(Numerics.percentile(sorted, 0.10)).isEqualTo(1);
+        assertThat(Numerics.percentile(sorted, 0.50)).isEqualTo(5);
+        assertThat(Numerics.percentile(sorted, 0.95)).isEqualTo(10);
+        assertThat(Numerics.percentile(new float[]{3f}, 0.0)).isEqualTo(3f);
+    }
+}
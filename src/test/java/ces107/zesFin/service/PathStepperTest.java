@@ -0,0 +1,63 @@
+package ces107.zesFin.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+/**
+ * Unit tests for the PathStepper implementations.
+ *
+ * The vector stepper is only checked when the build includes it and the JVM
+ * resolved jdk.incubator.vector ({@code -Pvector}). It is reached through
+ * {@link PathStepper#detect()} so this class compiles without it.
+ */
+class PathStepperTest {
+
+    @Test
+    void scalar_shouldCompoundAndFloorGrowthAtZero() {
+        final double[] savings = {100, 100, 100};
+        final double[] shocks = {0, 1, -10};
+
+        new ScalarPathStepper().step(savings, shocks, 3, 1.05, 0.2, 10);
+
+        assertThat(savings[0]).isCloseTo(115, within(1e-9));
+        assertThat(savings[1]).isCloseTo(135, within(1e-9));
+        assertThat(savings[2]).isEqualTo(10);
+    }
+
+    @Test
+    void detect_shouldPickVectorStepper_whenBuiltAndModuleIsPresent() {
+        final boolean vectorAvailable = ModuleLayer.boot().findModule(PathStepper.VECTOR_MODULE).isPresent()
+            && getClass().getClassLoader().getResource("ces107/zesFin/service/VectorPathStepper.class") != null;
+
+        final PathStepper stepper = PathStepper.detect();
+
+        assertThat(stepper.name()).startsWith(vectorAvailable ? "vector" : "scalar");
+    }
+
+    @Test
+    void vector_shouldMatchScalarBitForBit() {
+        final PathStepper detected = PathStepper.detect();
+        assumeThat(detected.name()).startsWith("vector");
+        final SplittableRandom random = new SplittableRandom(7);
+        final int length = 1_027; // not a multiple of any lane count, so the tail runs too
+        final double[] shocks = new double[length];
+        final double[] scalar = new double[length];
+        for (int i = 0; i < length; i++) {
+            shocks[i] = random.nextGaussian() * 3;
+            scalar[i] = random.nextDouble() * 1e6;
+        }
+        final double[] vector = Arrays.copyOf(scalar, length);
+
+        for (int year = 0; year < 30; year++) {
+            new ScalarPathStepper().step(scalar, shocks, length, 1.0487, 0.147, 18_000);
+            detected.step(vector, shocks, length, 1.0487, 0.147, 18_000);
+        }
+
+        assertThat(vector).containsExactly(scalar);
+    }
+}
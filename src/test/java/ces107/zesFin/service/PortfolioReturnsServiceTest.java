@@ -0,0 +1,118 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.PortfolioReturns;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static ces107.zesFin.service.SnapshotSeriesFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PortfolioReturnsService and the XIRR solver.
+ *
+ * Tests cover:
+ * - TWR and XIRR without cash flows
+ * - Cash flows from TOTAL_INVESTED and from monthlyContribution
+ * - Brent fallback when Newton leaves the domain
+ * - Per-user caching and eviction
+ */
+@ExtendWith(MockitoExtension.class)
+class PortfolioReturnsServiceTest {
+
+    @Mock
+    private SnapshotSeriesCache seriesCache;
+
+    @InjectMocks
+    private PortfolioReturnsService service;
+
+    private final User user = User.builder().id(1L).googleId("test-user").build();
+
+    @Test
+    void compute_shouldMatchCompoundGrowth_withoutCashFlows() {
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 365, 730}, new double[]{100, 110, 121});
+
+        final PortfolioReturns returns = PortfolioReturnsService.compute(value, null, null);
+
+        assertThat(returns.getPeriods()).isEqualTo(2);
+        assertThat(returns.getTimeWeightedReturn()).isCloseTo(0.21, within(1e-12));
+        assertThat(returns.getAnnualizedTimeWeightedReturn()).isCloseTo(0.10, within(1e-3));
+        assertThat(returns.getMoneyWeightedReturn()).isCloseTo(0.10, within(1e-3));
+        assertThat(returns.getMoneyWeightedMethod()).isEqualTo("NEWTON");
+    }
+
+    @Test
+    void compute_shouldTakeCashFlowsFromTotalInvested() {
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 365, 730}, new double[]{1000, 2100, 3300});
+        final SnapshotSeriesRepository.Series invested = series(EntryType.TOTAL_INVESTED,
+            new int[]{0, 365, 730}, new double[]{1000, 2000, 3000});
+
+        final PortfolioReturns returns = PortfolioReturnsService.compute(value, invested, null);
+
+        assertThat(returns.getNetContributions()).isEqualByComparingTo("2000.00");
+        assertThat(returns.getGain()).isEqualByComparingTo("300.00");
+        final double[] years = {0, 365 / 365.25, 730 / 365.25};
+        final double[] flows = {-1000, -1000, -1000 + 3300};
+        assertThat(Xirr.npv(years, flows, returns.getMoneyWeightedReturn())).isCloseTo(0, within(1e-6));
+        // Contributing into a rising market: money-weighted beats time-weighted per year
+        assertThat(returns.getMoneyWeightedReturn()).isGreaterThan(returns.getAnnualizedTimeWeightedReturn());
+    }
+
+    @Test
+    void compute_shouldFallBackToMonthlyContribution_whenInvestedIsUnknown() {
+        final SnapshotSeriesRepository.Series value = new SnapshotSeriesRepository.Series(EntryType.PORTFOLIO_VALUE,
+            new int[]{START, START + 365}, new double[]{10_000, 22_000}, new double[]{1_000, Double.NaN});
+
+        final PortfolioReturns returns = PortfolioReturnsService.compute(value, null, null);
+
+        assertThat(returns.getNetContributions().doubleValue()).isCloseTo(12_000 * 365 / 365.25, within(0.01));
+    }
+
+    @Test
+    void xirr_shouldFallBackToBrent_whenNewtonLeavesTheDomain() {
+        final Xirr.Result result = Xirr.solve(new double[]{0, 1}, new double[]{-100, 1});
+
+        assertThat(result.method()).isEqualTo(Xirr.Method.BRENT);
+        assertThat(result.rate()).isCloseTo(-0.99, within(1e-9));
+        assertThat(Xirr.solve(new double[]{0, 1}, new double[]{100, 1})).isNull();
+    }
+
+    @Test
+    void returns_shouldCacheUntilSnapshotsChange() {
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 365}, new double[]{100, 110});
+        when(seriesCache.findSeries(eq(1L), any(), any(), any()))
+            .thenReturn(Map.of(EntryType.PORTFOLIO_VALUE, value));
+
+        final PortfolioReturns first = service.returns(user, null, null);
+        final PortfolioReturns second = service.returns(user, null, null);
+        service.onSnapshotsChanged(new SnapshotsChangedEvent(1L));
+        service.returns(user, null, null);
+
+        assertThat(second).isSameAs(first);
+        verify(seriesCache, times(2)).findSeries(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void returns_shouldLeaveRatesEmpty_withFewerThanTwoValuations() {
+        when(seriesCache.findSeries(eq(1L), any(), any(), any())).thenReturn(Map.of());
+
+        final PortfolioReturns returns = service.returns(user, null, null);
+
+        assertThat(returns.getPeriods()).isZero();
+        assertThat(returns.getTimeWeightedReturn()).isNull();
+        assertThat(returns.getMoneyWeightedReturn()).isNull();
+    }
+}
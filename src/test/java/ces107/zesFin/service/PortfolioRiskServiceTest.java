@@ -0,0 +1,130 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.PortfolioRisk;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static ces107.zesFin.service.SnapshotSeriesFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PortfolioRiskService.
+ *
+ * Tests cover:
+ * - Drawdown depth, duration and recovery
+ * - Contribution adjustment from TOTAL_INVESTED
+ * - Annualised volatility and Sharpe ratio
+ * - Validation, per-user caching and eviction
+ */
+@ExtendWith(MockitoExtension.class)
+class PortfolioRiskServiceTest {
+
+    @Mock
+    private SnapshotSeriesCache seriesCache;
+
+    @InjectMocks
+    private PortfolioRiskService service;
+
+    private final User user = User.builder().id(1L).googleId("test-user").build();
+
+    @Test
+    void compute_shouldMeasureDrawdownFromPeakToRecovery() {
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 30, 60, 90, 120}, new double[]{100, 120, 90, 100, 130});
+
+        final PortfolioRisk risk = PortfolioRiskService.compute(value, null, null, 0);
+
+        assertThat(risk.getPeriods()).isEqualTo(4);
+        assertThat(risk.getMaxDrawdown()).isCloseTo(0.25, within(1e-12));
+        assertThat(risk.getDrawdownPeakDate()).isEqualTo(START_DATE.plusDays(30));
+        assertThat(risk.getDrawdownTroughDate()).isEqualTo(START_DATE.plusDays(60));
+        assertThat(risk.getDrawdownRecoveryDate()).isEqualTo(START_DATE.plusDays(120));
+        assertThat(risk.getDrawdownDays()).isEqualTo(90);
+        assertThat(risk.getRecoveryDays()).isEqualTo(60);
+        assertThat(risk.getLongestDrawdownDays()).isEqualTo(90);
+        assertThat(risk.getCurrentDrawdown()).isZero();
+    }
+
+    @Test
+    void compute_shouldNotCountContributionsAsGains() {
+        // The value rises by 500 but 600 was deposited: a loss, still unrecovered
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 30, 60}, new double[]{1000, 1500, 1550});
+        final SnapshotSeriesRepository.Series invested = series(EntryType.TOTAL_INVESTED,
+            new int[]{0, 30}, new double[]{1000, 1600});
+
+        final PortfolioRisk risk = PortfolioRiskService.compute(value, invested, null, 0);
+
+        assertThat(risk.getMaxDrawdown()).isCloseTo(100.0 / 1300, within(1e-12));
+        assertThat(risk.getDrawdownPeakDate()).isEqualTo(START_DATE);
+        assertThat(risk.getDrawdownRecoveryDate()).isNull();
+        assertThat(risk.getRecoveryDays()).isNull();
+        assertThat(risk.getDrawdownDays()).isEqualTo(60);
+        assertThat(risk.getCurrentDrawdown()).isCloseTo(1 - (1200.0 / 1300) * (1550.0 / 1500), within(1e-12));
+    }
+
+    @Test
+    void compute_shouldAnnualiseVolatilityAndSharpe() {
+        // Quarterly returns of +10%, -5%, +10%, -5%
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 91, 182, 273, 365}, new double[]{100, 110, 104.5, 114.95, 109.2025});
+
+        final PortfolioRisk risk = PortfolioRiskService.compute(value, null, null, 0.02);
+
+        final double periodsPerYear = 4 * 365.25 / 365;
+        final double volatility = Math.sqrt(0.0075 * periodsPerYear);
+        assertThat(risk.getAnnualizedVolatility()).isCloseTo(volatility, within(1e-12));
+        assertThat(risk.getSharpeRatio()).isCloseTo((0.025 * periodsPerYear - 0.02) / volatility, within(1e-9));
+        assertThat(risk.getLongestDrawdownDays()).isEqualTo(182);
+    }
+
+    @Test
+    void compute_shouldLeaveFiguresEmpty_withFewerThanTwoValuations() {
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 30}, new double[]{100, 90});
+
+        final PortfolioRisk risk = PortfolioRiskService.compute(value, null, START_DATE.plusDays(1), 0);
+
+        assertThat(risk.getPeriods()).isZero();
+        assertThat(risk.getMaxDrawdown()).isNull();
+        assertThat(risk.getAnnualizedVolatility()).isNull();
+    }
+
+    @Test
+    void risk_shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> service.risk(user, START_DATE.plusDays(1), START_DATE, 0))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.risk(user, null, null, Double.NaN))
+            .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(seriesCache);
+    }
+
+    @Test
+    void risk_shouldCacheUntilSnapshotsChange() {
+        final SnapshotSeriesRepository.Series value = series(EntryType.PORTFOLIO_VALUE,
+            new int[]{0, 365}, new double[]{100, 110});
+        when(seriesCache.findSeries(eq(1L), any(), any(), any()))
+            .thenReturn(Map.of(EntryType.PORTFOLIO_VALUE, value));
+
+        final PortfolioRisk first = service.risk(user, null, null, 0);
+        final PortfolioRisk second = service.risk(user, null, null, 0);
+        service.risk(user, null, null, 0.03);
+        service.onSnapshotsChanged(new SnapshotsChangedEvent(1L));
+        service.risk(user, null, null, 0);
+
+        assertThat(second).isSameAs(first);
+        verify(seriesCache, times(3)).findSeries(eq(1L), any(), any(), any());
+    }
+}
@@ -0,0 +1,141 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.AlignedPortfolioSeries;
+import ces107.zesFin.dto.PortfolioSeries;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static ces107.zesFin.service.SnapshotSeriesFixtures.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PortfolioSeriesService.
+ *
+ * Tests cover:
+ * - LTTB downsampling
+ * - Grid alignment with carry-forward and linear fill
+ * - Per-user caching of aligned series
+ */
+@ExtendWith(MockitoExtension.class)
+class PortfolioSeriesServiceTest {
+
+    @Mock
+    private SnapshotSeriesCache seriesCache;
+
+    @InjectMocks
+    private PortfolioSeriesService service;
+
+    private final User user = User.builder().id(1L).googleId("test-user").build();
+
+    @Test
+    void series_shouldKeepEndpointsAndPeaks_whenDownsampling() {
+        final int n = 2_000;
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i++) values[i] = 10_000 + i;
+        values[777] = 50_000;   // spike
+        values[1_500] = 1_000;  // crash
+        stubSeries(EntryType.PORTFOLIO_VALUE, values);
+
+        final PortfolioSeries result = service.series(user, List.of(), null, null, 100);
+
+        final PortfolioSeries.EntryTypeSeries series = result.getSeries().get(0);
+        assertThat(series.getTotalPoints()).isEqualTo(n);
+        assertThat(series.getDates()).hasSize(100).isSorted();
+        assertThat(series.getDates().get(0)).isEqualTo(START_DATE);
+        assertThat(series.getDates().get(99)).isEqualTo(START_DATE.plusDays(n - 1));
+        assertThat(series.getValues()).contains(50_000.0, 1_000.0);
+    }
+
+    @Test
+    void series_shouldReturnEveryPoint_whenWithinBudget() {
+        stubSeries(EntryType.TOTAL_INVESTED, new double[]{1, 2, 3, 4, 5});
+
+        final PortfolioSeries result = service.series(user, List.of(EntryType.TOTAL_INVESTED), null, null, 10);
+
+        assertThat(result.getSeries().get(0).getValues()).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void series_shouldRejectInvalidBudget() {
+        assertThatThrownBy(() -> service.series(user, List.of(), null, null, 2))
+            .isInstanceOf(InvalidRequestException.class);
+
+        verifyNoInteractions(seriesCache);
+    }
+
+    @Test
+    void align_shouldCarryForwardOntoGridEndingAtTo() {
+        final Map<EntryType, SnapshotSeriesRepository.Series> raw = Map.of(
+            EntryType.TOTAL_INVESTED, series(EntryType.TOTAL_INVESTED, new int[]{0, 20}, new double[]{1000, 2000}),
+            EntryType.PORTFOLIO_VALUE, series(EntryType.PORTFOLIO_VALUE, new int[]{5, 25}, new double[]{1100, 2300}));
+
+        final AlignedPortfolioSeries aligned = PortfolioSeriesService.align(raw,
+            AlignedPortfolioSeries.Interval.WEEKLY, AlignedPortfolioSeries.Fill.CARRY_FORWARD, null, null);
+
+        // Grid steps back a week at a time from the last snapshot: days 4, 11, 18, 25
+        assertThat(aligned.getDates()).containsExactly(
+            START_DATE.plusDays(4), START_DATE.plusDays(11), START_DATE.plusDays(18), START_DATE.plusDays(25));
+        assertThat(aligned.getSeries().get(EntryType.TOTAL_INVESTED)).containsExactly(1000.0, 1000.0, 1000.0, 2000.0);
+        assertThat(aligned.getSeries().get(EntryType.PORTFOLIO_VALUE)).containsExactly(null, 1100.0, 1100.0, 2300.0);
+        assertThat(aligned.getSeries().get(EntryType.NET_WORTH)).containsOnlyNulls();
+        assertThat(aligned.getYield()).containsExactly(null, 100.0, 100.0, 300.0);
+    }
+
+    @Test
+    void align_shouldInterpolateLinearlyBetweenSnapshots() {
+        final Map<EntryType, SnapshotSeriesRepository.Series> raw = Map.of(
+            EntryType.NET_WORTH, series(EntryType.NET_WORTH, new int[]{0, 10}, new double[]{100, 200}));
+
+        final AlignedPortfolioSeries aligned = PortfolioSeriesService.align(raw,
+            AlignedPortfolioSeries.Interval.DAILY, AlignedPortfolioSeries.Fill.LINEAR, null, START_DATE.plusDays(12));
+
+        final Double[] netWorth = aligned.getSeries().get(EntryType.NET_WORTH);
+        assertThat(netWorth).hasSize(13);
+        assertThat(netWorth[3]).isCloseTo(130.0, within(1e-9));
+        assertThat(netWorth[12]).isEqualTo(200.0);
+    }
+
+    @Test
+    void aligned_shouldCacheUntilSnapshotsChange() {
+        stubSeries(EntryType.PORTFOLIO_VALUE, new double[]{1, 2, 3});
+
+        final AlignedPortfolioSeries first = service.aligned(user,
+            AlignedPortfolioSeries.Interval.DAILY, AlignedPortfolioSeries.Fill.LINEAR, null, null);
+        final AlignedPortfolioSeries second = service.aligned(user,
+            AlignedPortfolioSeries.Interval.DAILY, AlignedPortfolioSeries.Fill.LINEAR, null, null);
+        service.onSnapshotsChanged(new SnapshotsChangedEvent(1L));
+        service.aligned(user, AlignedPortfolioSeries.Interval.DAILY, AlignedPortfolioSeries.Fill.LINEAR, null, null);
+
+        assertThat(second).isSameAs(first);
+        verify(seriesCache, times(2)).findSeries(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void aligned_shouldRejectOversizedGrid() {
+        assertThatThrownBy(() -> PortfolioSeriesService.align(Map.of(),
+                AlignedPortfolioSeries.Interval.DAILY, AlignedPortfolioSeries.Fill.LINEAR,
+                LocalDate.of(1900, 1, 1), LocalDate.of(2000, 1, 1)))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private void stubSeries(final EntryType type, final double[] values) {
+        final int[] days = new int[values.length];
+        for (int i = 0; i < days.length; i++) days[i] = (int) START_DATE.plusDays(i).toEpochDay();
+        when(seriesCache.findSeries(eq(1L), any(), any(), any()))
+            .thenReturn(Map.of(type, new SnapshotSeriesRepository.Series(type, days, values, new double[values.length])));
+    }
+}
@@ -1,17 +1,25 @@
 package ces107.zesFin.service;
 
+import ces107.zesFin.dto.SnapshotPage;
+import ces107.zesFin.dto.SnapshotValues;
 import ces107.zesFin.exception.DuplicateEntryException;
+import ces107.zesFin.exception.InvalidRequestException;
 import ces107.zesFin.exception.ResourceNotFoundException;
 import ces107.zesFin.model.EntryType;
 import ces107.zesFin.model.PortfolioSnapshot;
+import ces107.zesFin.model.SyncEntityType;
 import ces107.zesFin.model.User;
 import ces107.zesFin.repository.PortfolioSnapshotRepository;
+import ces107.zesFin.repository.SnapshotBatchRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -21,6 +29,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.doNothing;
 
@@ -31,6 +40,8 @@ import static org.mockito.Mockito.doNothing;
  * - CRUD operations
  * - Duplicate entry validation
  * - User scoping
+ * - Keyset pagination
+ * - Natural-key upsert
  * - Edge cases
  */
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +50,15 @@ class PortfolioServiceTest {
     @Mock
     private PortfolioSnapshotRepository repository;
 
+    @Mock
+    private SnapshotBatchRepository batchRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private SyncService syncService;
+
     @InjectMocks
     private PortfolioService service;
 
@@ -150,6 +170,55 @@ class PortfolioServiceTest {
         verify(repository).findAllByUserOrderByDateAsc(testUser);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPage_shouldReturnCursorOfLastItem_whenMoreRowsRemain() {
+        // Arrange
+        final List<PortfolioSnapshot> rows = List.of(
+            snapshot(1L, LocalDate.of(2026, 1, 1)),
+            snapshot(2L, LocalDate.of(2026, 2, 1)),
+            snapshot(3L, LocalDate.of(2026, 3, 1)));
+        when(repository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        // Act
+        final SnapshotPage page = service.findPage(testUser, null, null, EntryType.TOTAL_INVESTED, null, 2);
+
+        // Assert
+        assertThat(page.getItems()).extracting(PortfolioSnapshot::getId).containsExactly(1L, 2L);
+        assertThat(PageCursor.decode(page.getNextCursor()))
+            .isEqualTo(new PageCursor(LocalDate.of(2026, 2, 1), 2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPage_shouldReturnNoCursor_onLastPage() {
+        // Arrange
+        when(repository.findBy(any(Specification.class), any()))
+            .thenReturn(List.of(snapshot(3L, LocalDate.of(2026, 3, 1))));
+        final String cursor = new PageCursor(LocalDate.of(2026, 2, 1), 2L).encode();
+
+        // Act
+        final SnapshotPage page = service.findPage(testUser, null, null, null, cursor, 2);
+
+        // Assert
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> service.findPage(testUser, null, null, null, "not-a-cursor", 10))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> service.findPage(testUser, null, null, null, null, 0))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.findPage(testUser,
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1), null, null, null))
+            .isInstanceOf(InvalidRequestException.class);
+
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void findLatest_shouldReturnMostRecentSnapshot() {
         // Arrange
@@ -196,6 +265,12 @@ class PortfolioServiceTest {
             .thenReturn(Optional.empty());
         when(repository.save(any(PortfolioSnapshot.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
+        final BigDecimal originalValue = testSnapshot.getValue();
+        // The user's sync row must be locked before the snapshot row is modified
+        when(syncService.nextVersion(1L)).thenAnswer(invocation -> {
+            assertThat(testSnapshot.getValue()).isEqualTo(originalValue);
+            return 5L;
+        });
 
         // Act
         final PortfolioSnapshot result = service.update(1L, updatedSnapshot, testUser);
@@ -205,6 +280,10 @@ class PortfolioServiceTest {
         assertThat(result.getMonthlyContribution()).isEqualTo(BigDecimal.valueOf(600));
         assertThat(result.getFixedIncomePercentage()).isEqualTo(25.0);
         verify(repository).save(testSnapshot);
+        verify(events).publishEvent(new SnapshotsChangedEvent(1L, 5L, List.of(
+            SnapshotsChangedEvent.Change.removed(LocalDate.of(2026, 1, 1), EntryType.TOTAL_INVESTED),
+            SnapshotsChangedEvent.Change.written(LocalDate.of(2026, 1, 2), EntryType.TOTAL_INVESTED,
+                BigDecimal.valueOf(11000), BigDecimal.valueOf(600)))));
     }
 
     @Test
@@ -281,30 +360,65 @@ class PortfolioServiceTest {
     @Test
     void delete_shouldDeleteSnapshot() {
         // Arrange
-        when(repository.existsByIdAndUser(1L, testUser))
-            .thenReturn(true);
+        when(repository.findByIdAndUser(1L, testUser))
+            .thenReturn(Optional.of(testSnapshot));
         doNothing().when(repository).deleteById(1L);
 
         // Act
         service.delete(1L, testUser);
 
-        // Assert
-        verify(repository).existsByIdAndUser(1L, testUser);
-        verify(repository).deleteById(1L);
+        // Assert: the tombstone takes the sync version before the row is deleted
+        final InOrder order = inOrder(syncService, repository);
+        order.verify(syncService).recordDeletion(testUser, SyncEntityType.SNAPSHOT, 1L);
+        order.verify(repository).deleteById(1L);
+        verify(events).publishEvent(new SnapshotsChangedEvent(1L, 0L, List.of(
+            SnapshotsChangedEvent.Change.removed(testSnapshot.getDate(), testSnapshot.getEntryType()))));
     }
 
     @Test
     void delete_shouldThrowResourceNotFoundException_whenSnapshotNotFound() {
         // Arrange
-        when(repository.existsByIdAndUser(999L, testUser))
-            .thenReturn(false);
+        when(repository.findByIdAndUser(999L, testUser))
+            .thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> service.delete(999L, testUser))
             .isInstanceOf(ResourceNotFoundException.class);
 
-        verify(repository).existsByIdAndUser(999L, testUser);
         verify(repository, never()).deleteById(any());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void upsert_shouldWriteInOneStatement_andReturnTheStoredValues() {
+        // Arrange
+        when(syncService.nextVersion(1L)).thenReturn(7L);
+        when(batchRepository.upsert(eq(1L), eq(7L), any())).thenReturn(PortfolioSnapshot.builder()
+            .id(42L)
+            .date(LocalDate.of(2026, 1, 1))
+            .entryType(EntryType.PORTFOLIO_VALUE)
+            .value(new BigDecimal("12000.13"))
+            .monthlyContribution(new BigDecimal("500.00"))
+            .syncVersion(7L)
+            .build());
+        final SnapshotValues values = SnapshotValues.builder()
+            .value(new BigDecimal("12000.125"))
+            .monthlyContribution(BigDecimal.valueOf(500))
+            .build();
+
+        // Act
+        final PortfolioSnapshot result = service.upsert(LocalDate.of(2026, 1, 1), EntryType.PORTFOLIO_VALUE, values, testUser);
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(42L);
+        assertThat(result.getUser()).isSameAs(testUser);
+        assertThat(result.getValue()).isEqualTo(new BigDecimal("12000.13"));
+        assertThat(result.getSyncVersion()).isEqualTo(7L);
+        verify(batchRepository).upsert(1L, 7L, new SnapshotBatchRepository.Row(
+            LocalDate.of(2026, 1, 1), EntryType.PORTFOLIO_VALUE, new BigDecimal("12000.125"), BigDecimal.valueOf(500), null));
+        verify(events).publishEvent(new SnapshotsChangedEvent(1L, 7L, List.of(SnapshotsChangedEvent.Change.written(
+            LocalDate.of(2026, 1, 1), EntryType.PORTFOLIO_VALUE, new BigDecimal("12000.13"), new BigDecimal("500.00")))));
+        verifyNoInteractions(repository);
     }
 
     @Test
@@ -334,4 +448,14 @@ class PortfolioServiceTest {
         assertThat(result.getUser()).isEqualTo(testUser);
         assertThat(result.getUser()).isNotEqualTo(wrongUser);
     }
+
+    private PortfolioSnapshot snapshot(final Long id, final LocalDate date) {
+        return PortfolioSnapshot.builder()
+            .id(id)
+            .user(testUser)
+            .date(date)
+            .entryType(EntryType.TOTAL_INVESTED)
+            .value(BigDecimal.valueOf(10000))
+            .build();
+    }
 }
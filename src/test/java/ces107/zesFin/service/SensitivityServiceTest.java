@@ -0,0 +1,108 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.SensitivityAnalysis;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.FireProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SensitivityService.
+ *
+ * Tests cover:
+ * - One entry per default parameter, ranked by swing
+ * - Perturbed values and directions of effect
+ * - Agreement with direct summary evaluation
+ * - Parameter validation
+ */
+class SensitivityServiceTest {
+
+    private final FireCalculatorService calculator = new FireCalculatorService();
+    private final SensitivityService service = new SensitivityService(calculator);
+
+    private FireProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = FireProfile.builder()
+            .currentAge(30)
+            .currentSavings(BigDecimal.valueOf(50000))
+            .monthlyContribution(BigDecimal.valueOf(1500))
+            .monthlyExpenses(BigDecimal.valueOf(2000))
+            .expectedReturnRate(0.07)
+            .inflationRate(0.02)
+            .safeWithdrawalRate(0.04)
+            .annualContributionIncreaseRate(0.02)
+            .build();
+    }
+
+    @Test
+    void analyze_shouldReturnDefaultParametersRankedBySwing() {
+        final SensitivityAnalysis result = service.analyze(profile, 0.01, 0.10);
+
+        assertThat(result.getEntries())
+                .extracting(SensitivityAnalysis.Entry::getParameter)
+                .containsExactlyInAnyOrderElementsOf(SensitivityService.DEFAULT_PARAMETERS);
+        assertThat(result.getEntries())
+                .extracting(SensitivityAnalysis.Entry::getSwingYears)
+                .isSortedAccordingTo((a, b) -> Integer.compare(b, a));
+        assertThat(result.getBaseYearsToFire()).isEqualTo(result.getBaseFireAge() - 30);
+    }
+
+    @Test
+    void analyze_shouldMoveFireAgeInTheDirectionOfEachParameter() {
+        final SensitivityAnalysis result = service.analyze(profile, 0.01, 0.10);
+
+        final SensitivityAnalysis.Entry returns = entry(result, FireParameter.EXPECTED_RETURN_RATE);
+        assertThat(returns.getLowValue()).isCloseTo(0.06, within(1e-12));
+        assertThat(returns.getHighValue()).isCloseTo(0.08, within(1e-12));
+        assertThat(returns.getLowDeltaYears()).isPositive();
+        assertThat(returns.getHighDeltaYears()).isNegative();
+
+        final SensitivityAnalysis.Entry expenses = entry(result, FireParameter.MONTHLY_EXPENSES);
+        assertThat(expenses.getLowValue()).isCloseTo(1800, within(1e-9));
+        assertThat(expenses.getHighValue()).isCloseTo(2200, within(1e-9));
+        assertThat(expenses.getLowDeltaYears()).isNegative();
+        assertThat(expenses.getHighDeltaYears()).isPositive();
+    }
+
+    @Test
+    void analyze_shouldMatchDirectSummaryOfPerturbedInputs() {
+        final SensitivityAnalysis result = service.analyze(profile, 0.01, 0.10);
+        final FireInputs base = FireInputs.from(profile);
+
+        final SensitivityAnalysis.Entry swr = entry(result, FireParameter.SAFE_WITHDRAWAL_RATE);
+        final FireSummary high = calculator.summarize(FireParameter.SAFE_WITHDRAWAL_RATE.apply(base, 0.05));
+
+        assertThat(swr.getHighFireAge()).isEqualTo(high.fireAge());
+    }
+
+    @Test
+    void analyze_shouldClampPerturbationToParameterRange() {
+        profile.setAnnualContributionIncreaseRate(null);
+
+        final SensitivityAnalysis result = service.analyze(profile, 0.01, 0.10);
+
+        final SensitivityAnalysis.Entry growth = entry(result, FireParameter.CONTRIBUTION_INCREASE_RATE);
+        assertThat(growth.getLowValue()).isZero();
+        assertThat(growth.getLowDeltaYears()).isZero();
+    }
+
+    @Test
+    void analyze_shouldRejectNonPositiveDelta() {
+        assertThatThrownBy(() -> service.analyze(profile, 0, 0.10))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("rateDelta");
+    }
+
+    private static SensitivityAnalysis.Entry entry(final SensitivityAnalysis result, final FireParameter parameter) {
+        return result.getEntries().stream()
+                .filter(e -> e.getParameter() == parameter)
+                .findFirst()
+                .orElseThrow();
+    }
+}
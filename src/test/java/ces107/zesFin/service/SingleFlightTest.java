@@ -0,0 +1,92 @@
+package ces107.zesFin.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>();
+
+    @Test
+    void run_shouldComputeAgain_onceThePreviousCallHasFinished() {
+        assertThat(flights.run("a", () -> 1)).isEqualTo(1);
+        assertThat(flights.run("a", () -> 2)).isEqualTo(2);
+        assertThat(flights.coalesced()).isZero();
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    void run_shouldShareLeaderException_withWaitingCallers() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch fail = new CountDownLatch(1);
+        final CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flights.run("a", () -> {
+            entered.countDown();
+            await(fail);
+            throw new IllegalArgumentException("boom");
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(() -> flights.run("a", () -> 0));
+        while (flights.coalesced() < 1) Thread.sleep(5);
+        fail.countDown();
+
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(follower::join).hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasRootCauseMessage("boom");
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    void run_shouldStopWaiting_whenTheWaitingCallerIsInterrupted() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flights.run("a", () -> {
+            entered.countDown();
+            await(release);
+            return 1;
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+        final AtomicReference<Boolean> interrupted = new AtomicReference<>();
+        final Thread follower = new Thread(() -> {
+            try {
+                flights.run("a", () -> 0);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        follower.start();
+        while (flights.coalesced() < 1) Thread.sleep(5);
+        follower.interrupt();
+        follower.join(5_000);
+
+        // The follower returned while the leader is still computing
+        assertThat(follower.isAlive()).isFalse();
+        assertThat(leader).isNotDone();
+        assertThat(thrown.get()).isInstanceOf(CancellationException.class);
+        assertThat(interrupted.get()).isTrue();
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.SnapshotImportReport;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.SnapshotBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SnapshotImportService.
+ *
+ * Tests cover:
+ * - CSV and NDJSON parsing, including quoted CSV fields
+ * - Row validation and error reporting
+ * - Duplicate resolution against stored and in-file rows
+ * - Batched writes, started only once the body has been read
+ */
+@ExtendWith(MockitoExtension.class)
+class SnapshotImportServiceTest {
+
+    @Mock
+    private SnapshotBatchRepository batchRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private SyncService syncService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SnapshotImportService service;
+
+    private final User user = User.builder().id(1L).googleId("test-user").build();
+    private final List<SnapshotBatchRepository.Row> inserted = new ArrayList<>();
+    private final List<Integer> insertBatchSizes = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new SnapshotImportService(batchRepository, new ObjectMapper(), events, syncService,
+            new TransactionTemplate(transactionManager));
+        // One snapshot is already stored
+        lenient().doAnswer(invocation -> {
+            invocation.<BiConsumer<LocalDate, EntryType>>getArgument(1)
+                .accept(LocalDate.of(2024, 1, 1), EntryType.PORTFOLIO_VALUE);
+            return null;
+        }).when(batchRepository).forEachKey(eq(1L), any(BiConsumer.class));
+        lenient().doAnswer(invocation -> {
+            final List<SnapshotBatchRepository.Row> rows = invocation.getArgument(2);
+            insertBatchSizes.add(rows.size());
+            inserted.addAll(rows);
+            return null;
+        }).when(batchRepository).insert(eq(1L), anyLong(), any());
+    }
+
+    @Test
+    void importCsv_shouldInsertValidRowsAndReportTheRest() throws IOException {
+        final String csv = """
+            value,date,entryType,fixedIncomePercentage
+            1000.50,2024-01-01,TOTAL_INVESTED,20
+            1200,2024-01-01,PORTFOLIO_VALUE,
+            abc,2024-02-01,TOTAL_INVESTED,
+            1100,2024-02-01,portfolio_value,
+            1300,2024-02-01,PORTFOLIO_VALUE,
+            """;
+
+        final SnapshotImportReport report = service.importSnapshots(user, body(csv),
+            SnapshotImportService.Format.CSV, SnapshotImportService.DuplicatePolicy.SKIP);
+
+        assertThat(report.getRowsRead()).isEqualTo(5);
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(SnapshotImportReport.RowError::getLine).containsExactly(4L, 6L);
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("Duplicate of line 5");
+        assertThat(inserted.get(0).value()).isEqualByComparingTo(new BigDecimal("1000.50"));
+        assertThat(inserted.get(0).fixedIncomePercentage()).isEqualTo(20.0);
+        assertThat(inserted.get(1).entryType()).isEqualTo(EntryType.PORTFOLIO_VALUE);
+        verify(batchRepository, never()).update(any(), anyLong(), any());
+    }
+
+    @Test
+    void importNdjson_shouldOverwriteStoredRows_whenRequested() throws IOException {
+        final String ndjson = """
+            {"date":"2024-01-01","entryType":"PORTFOLIO_VALUE","value":1500}
+            not json
+            {"date":"2024-03-01","entryType":"NET_WORTH","value":"2500.25","monthlyContribution":300}
+            """;
+
+        final SnapshotImportReport report = service.importSnapshots(user, body(ndjson),
+            SnapshotImportService.Format.NDJSON, SnapshotImportService.DuplicatePolicy.OVERWRITE);
+
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(inserted.get(0).monthlyContribution()).isEqualByComparingTo("300");
+        verify(batchRepository).update(eq(1L), anyLong(), any());
+    }
+
+    @Test
+    void importCsv_shouldRejectAmountsThatDoNotFitTheColumn() throws IOException {
+        final String csv = """
+            date,entryType,value,monthlyContribution
+            2024-01-01,NET_WORTH,1000,0
+            2024-02-01,NET_WORTH,1e18,
+            2024-03-01,NET_WORTH,0.001,
+            2024-04-01,NET_WORTH,-5,
+            2024-05-01,NET_WORTH,1200,-1
+            2024-06-01,NET_WORTH,99999999999999999.99,100.50
+            """;
+
+        final SnapshotImportReport report = service.importSnapshots(user, body(csv),
+            SnapshotImportService.Format.CSV, SnapshotImportService.DuplicatePolicy.SKIP);
+
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(inserted).extracting(SnapshotBatchRepository.Row::date)
+            .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 1));
+        assertThat(report.getErrors()).extracting(SnapshotImportReport.RowError::getLine)
+            .containsExactly(3L, 4L, 5L, 6L);
+        assertThat(report.getErrors()).extracting(SnapshotImportReport.RowError::getMessage)
+            .containsExactly("value is too large: 1e18", "value has more than 2 decimals: 0.001",
+                "value must be positive", "monthlyContribution must not be negative");
+    }
+
+    @Test
+    void importNdjson_shouldRejectOverlongLines_andKeepReading() throws IOException {
+        final String ndjson = "{\"date\":\"2024-01-01\",\"entryType\":\"NET_WORTH\",\"value\":\""
+            + "1".repeat(SnapshotImportService.MAX_LINE_LENGTH) + "\"}\n"
+            + "{\"date\":\"2024-02-01\",\"entryType\":\"NET_WORTH\",\"value\":1}\n";
+
+        final SnapshotImportReport report = service.importSnapshots(user, body(ndjson),
+            SnapshotImportService.Format.NDJSON, SnapshotImportService.DuplicatePolicy.SKIP);
+
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(SnapshotImportReport.RowError::getLine).containsExactly(1L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("Line is longer than");
+    }
+
+    @Test
+    void importCsv_shouldWriteInBatches() throws IOException {
+        final StringBuilder csv = new StringBuilder("date,entryType,value\n");
+        LocalDate date = LocalDate.of(2000, 1, 1);
+        for (int i = 0; i < 2_500; i++, date = date.plusDays(1)) {
+            csv.append(date).append(",NET_WORTH,").append(i + 1).append('\n');
+        }
+
+        final SnapshotImportReport report = service.importSnapshots(user, body(csv.toString()),
+            SnapshotImportService.Format.CSV, SnapshotImportService.DuplicatePolicy.SKIP);
+
+        assertThat(report.getInserted()).isEqualTo(2_500);
+        assertThat(insertBatchSizes).containsExactly(1_000, 1_000, 500);
+        verify(events).publishEvent(new SnapshotsChangedEvent(1L));
+    }
+
+    @Test
+    void importCsv_shouldRejectHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> service.importSnapshots(user, body("date,value\n2024-01-01,1\n"),
+                SnapshotImportService.Format.CSV, SnapshotImportService.DuplicatePolicy.SKIP))
+            .isInstanceOf(InvalidRequestException.class);
+
+        verify(batchRepository, never()).insert(any(), anyLong(), any());
+    }
+
+    @Test
+    void importCsv_shouldUnquoteFields_andRejectGroupedNumbers() throws IOException {
+        final String csv = "date,\"entryType\",value\n"
+            + "\"2024-05-01\",NET_WORTH,\"1000.50\"\n"
+            + "2024-06-01,NET_WORTH,\"1,000.50\"\n"
+            + "2024-07-01,\"NET_\n\"\"WORTH\",1\n"
+            + "2024-08-01,NET_WORTH,2\r\n";
+
+        final SnapshotImportReport report = service.importSnapshots(user, body(csv),
+            SnapshotImportService.Format.CSV, SnapshotImportService.DuplicatePolicy.SKIP);
+
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(inserted).extracting(SnapshotBatchRepository.Row::date)
+            .containsExactly(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 8, 1));
+        assertThat(inserted.get(0).value()).isEqualByComparingTo("1000.50");
+        assertThat(report.getErrors()).extracting(SnapshotImportReport.RowError::getLine).containsExactly(3L, 4L);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("value is not a number: 1,000.50");
+    }
+
+    @Test
+    void importCsv_shouldRejectUnterminatedQuotes_withoutWriting() {
+        assertThatThrownBy(() -> service.importSnapshots(user, body("date,entryType,value\n2024-01-01,\"NET_WORTH,1\n"),
+                SnapshotImportService.Format.CSV, SnapshotImportService.DuplicatePolicy.SKIP))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("line 2");
+
+        verifyNoInteractions(syncService, transactionManager);
+        verify(batchRepository, never()).insert(any(), anyLong(), any());
+    }
+
+    @Test
+    void importCsv_shouldTakeTheSyncVersion_onlyAfterTheBodyIsRead() throws IOException {
+        final AtomicBoolean bodyRead = new AtomicBoolean();
+        final InputStream in = new ByteArrayInputStream(
+                "date,entryType,value\n2024-05-01,NET_WORTH,1\n".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                final int n = super.read(b, off, len);
+                if (n < 0) bodyRead.set(true);
+                return n;
+            }
+        };
+        when(syncService.nextVersion(1L)).thenAnswer(invocation -> {
+            assertThat(bodyRead).isTrue();
+            return 7L;
+        });
+
+        service.importSnapshots(user, in, SnapshotImportService.Format.CSV, SnapshotImportService.DuplicatePolicy.SKIP);
+
+        verify(transactionManager).getTransaction(any());
+        verify(batchRepository).insert(eq(1L), eq(7L), any());
+    }
+
+    private static InputStream body(final String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,175 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+import ces107.zesFin.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SnapshotSeriesCache.
+ *
+ * Tests cover:
+ * - Lazy loading and range slicing
+ * - Write-through of itemised changes
+ * - Reloads after unitemised changes, including during a load
+ * - Reloads after changes that arrive out of commit order
+ * - LRU eviction by heap budget
+ */
+@ExtendWith(MockitoExtension.class)
+class SnapshotSeriesCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private SnapshotSeriesRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SnapshotSeriesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SnapshotSeriesCache(repository, userRepository, DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void findSeries_shouldLoadOnceAndSliceByDate() {
+        stubHistory();
+
+        final Map<EntryType, SnapshotSeriesRepository.Series> first =
+            cache.findSeries(1L, List.of(), START.plusDays(1), START.plusDays(60));
+        final Map<EntryType, SnapshotSeriesRepository.Series> second =
+            cache.findSeries(1L, List.of(EntryType.NET_WORTH), null, null);
+
+        final SnapshotSeriesRepository.Series value = first.get(EntryType.PORTFOLIO_VALUE);
+        assertThat(value.values()).containsExactly(1100.25, 1200.0);
+        assertThat(value.monthlyContributions()).containsExactly(100.0, 100.0);
+        assertThat(second).isEmpty();
+        assertThat(cache.latestValue(1L, EntryType.PORTFOLIO_VALUE)).contains(new BigDecimal("1200.00"));
+        verify(repository, times(1)).findSeries(anyLong(), any(), any(), any());
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void onSnapshotsChanged_shouldApplyItemisedChangesWithoutReloading() {
+        stubHistory();
+        cache.findSeries(1L, List.of(), null, null);
+
+        cache.onSnapshotsChanged(new SnapshotsChangedEvent(1L, 1L, List.of(
+            SnapshotsChangedEvent.Change.written(START.plusDays(45), EntryType.PORTFOLIO_VALUE,
+                new BigDecimal("1150.55"), null),
+            SnapshotsChangedEvent.Change.removed(START, EntryType.PORTFOLIO_VALUE),
+            SnapshotsChangedEvent.Change.written(START.plusDays(90), EntryType.NET_WORTH,
+                new BigDecimal("5000"), new BigDecimal("10.50")))));
+
+        final Map<EntryType, SnapshotSeriesRepository.Series> series = cache.findSeries(1L, List.of(), null, null);
+        assertThat(series.get(EntryType.PORTFOLIO_VALUE).values()).containsExactly(1100.25, 1150.55, 1200.0);
+        assertThat(series.get(EntryType.PORTFOLIO_VALUE).monthlyContributions()[1]).isNaN();
+        assertThat(series.get(EntryType.NET_WORTH).monthlyContributions()).containsExactly(10.5);
+        assertThat(cache.latestValue(1L, EntryType.NET_WORTH)).contains(new BigDecimal("5000.00"));
+        verify(repository, times(1)).findSeries(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void onSnapshotsChanged_shouldReload_whenChangesAreNotItemised() {
+        stubHistory();
+        cache.findSeries(1L, List.of(), null, null);
+
+        cache.onSnapshotsChanged(new SnapshotsChangedEvent(1L));
+        cache.findSeries(1L, List.of(), null, null);
+
+        verify(repository, times(2)).findSeries(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void onSnapshotsChanged_shouldReload_whenChangesArriveOutOfOrder() {
+        stubHistory();
+        when(userRepository.findSyncVersion(1L)).thenReturn(3L);
+        cache.findSeries(1L, List.of(), null, null);
+
+        // Version 5 is merged before the listener for version 4 runs
+        cache.onSnapshotsChanged(new SnapshotsChangedEvent(1L, 5L, List.of(SnapshotsChangedEvent.Change.written(
+            START.plusDays(45), EntryType.PORTFOLIO_VALUE, new BigDecimal("1150"), null))));
+        cache.findSeries(1L, List.of(), null, null);
+        verify(repository, times(1)).findSeries(anyLong(), any(), any(), any());
+
+        cache.onSnapshotsChanged(new SnapshotsChangedEvent(1L, 4L, List.of(SnapshotsChangedEvent.Change.written(
+            START.plusDays(45), EntryType.PORTFOLIO_VALUE, new BigDecimal("1140"), null))));
+        cache.findSeries(1L, List.of(), null, null);
+        verify(repository, times(2)).findSeries(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void onSnapshotsChanged_shouldReload_whenChangeIsAlreadyInTheLoad() {
+        stubHistory();
+        when(userRepository.findSyncVersion(1L)).thenReturn(3L);
+        cache.findSeries(1L, List.of(), null, null);
+
+        cache.onSnapshotsChanged(new SnapshotsChangedEvent(1L, 3L, List.of(
+            SnapshotsChangedEvent.Change.removed(START, EntryType.PORTFOLIO_VALUE))));
+        cache.findSeries(1L, List.of(), null, null);
+
+        verify(repository, times(2)).findSeries(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void findSeries_shouldNotStoreLoadThatOverlapsAChange() {
+        when(repository.findSeries(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            // A write commits while the history is being read
+            cache.onSnapshotsChanged(new SnapshotsChangedEvent(1L));
+            return Map.of();
+        }).thenReturn(Map.of());
+
+        cache.findSeries(1L, List.of(), null, null);
+        cache.findSeries(1L, List.of(), null, null);
+        cache.findSeries(1L, List.of(), null, null);
+
+        verify(repository, times(2)).findSeries(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void findSeries_shouldEvictLeastRecentlyUsedUsers_whenOverBudget() {
+        cache = new SnapshotSeriesCache(repository, userRepository, DataSize.ofBytes(2_048), new SimpleMeterRegistry());
+        stubHistory();
+
+        cache.findSeries(1L, List.of(), null, null);
+        cache.findSeries(2L, List.of(), null, null);
+        cache.findSeries(3L, List.of(), null, null);
+        cache.findSeries(1L, List.of(), null, null); // touch 1 so 2 is eldest
+        cache.findSeries(4L, List.of(), null, null);
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.bytes()).isLessThanOrEqualTo(2_048);
+        assertThat(cache.evictions()).isEqualTo(1);
+        cache.findSeries(1L, List.of(), null, null);
+        verify(repository, times(4)).findSeries(anyLong(), any(), any(), any());
+        cache.findSeries(2L, List.of(), null, null);
+        verify(repository, times(5)).findSeries(anyLong(), any(), any(), any());
+    }
+
+    private void stubHistory() {
+        final int start = (int) START.toEpochDay();
+        when(repository.findSeries(anyLong(), any(), any(), any())).thenReturn(Map.of(
+            EntryType.PORTFOLIO_VALUE, new SnapshotSeriesRepository.Series(EntryType.PORTFOLIO_VALUE,
+                new int[]{start, start + 31, start + 60},
+                new double[]{1000.10, 1100.25, 1200},
+                new double[]{Double.NaN, 100, 100})));
+    }
+}
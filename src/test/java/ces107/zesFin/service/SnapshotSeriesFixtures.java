@@ -0,0 +1,27 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.repository.SnapshotSeriesRepository;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Columnar snapshot series for the analytics service tests.
+ */
+final class SnapshotSeriesFixtures {
+
+    static final LocalDate START_DATE = LocalDate.of(2020, 1, 1);
+    static final int START = (int) START_DATE.toEpochDay();
+
+    private SnapshotSeriesFixtures() {
+    }
+
+    /** Series with one snapshot per offset, in days from {@link #START_DATE}, and no monthly contributions. */
+    static SnapshotSeriesRepository.Series series(final EntryType type, final int[] offsets, final double[] values) {
+        final int[] days = Arrays.stream(offsets).map(d -> START + d).toArray();
+        final double[] contributions = new double[values.length];
+        Arrays.fill(contributions, Double.NaN);
+        return new SnapshotSeriesRepository.Series(type, days, values, contributions);
+    }
+}
@@ -0,0 +1,142 @@
+package ces107.zesFin.service;
+
+import ces107.zesFin.dto.SyncChanges;
+import ces107.zesFin.exception.InvalidRequestException;
+import ces107.zesFin.model.Asset;
+import ces107.zesFin.model.EntryType;
+import ces107.zesFin.model.PortfolioSnapshot;
+import ces107.zesFin.model.SyncEntityType;
+import ces107.zesFin.model.SyncTombstone;
+import ces107.zesFin.model.Transaction;
+import ces107.zesFin.model.User;
+import ces107.zesFin.repository.AssetRepository;
+import ces107.zesFin.repository.PortfolioSnapshotRepository;
+import ces107.zesFin.repository.SyncTombstoneRepository;
+import ces107.zesFin.repository.TransactionRepository;
+import ces107.zesFin.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SyncService.
+ *
+ * Tests cover:
+ * - Full copies for first syncs and clients ahead of the server
+ * - Deltas bounded by the client's and the server's versions
+ * - Tombstones for deleted rows
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PortfolioSnapshotRepository snapshotRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @InjectMocks
+    private SyncService service;
+
+    private final User user = User.builder().id(1L).googleId("test-user").build();
+
+    @Test
+    void changes_shouldReturnEveryRow_whenSinceMissing() {
+        final PortfolioSnapshot snapshot = PortfolioSnapshot.builder()
+            .id(1L).date(LocalDate.of(2026, 1, 1)).entryType(EntryType.NET_WORTH).value(BigDecimal.TEN).build();
+        when(userRepository.findSyncVersion(1L)).thenReturn(12L);
+        when(snapshotRepository.findAllByUserOrderByDateAsc(user)).thenReturn(List.of(snapshot));
+
+        final SyncChanges changes = service.changes(user, null);
+
+        assertThat(changes.isFull()).isTrue();
+        assertThat(changes.getVersion()).isEqualTo(12L);
+        assertThat(changes.getSnapshots()).containsExactly(snapshot);
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void changes_shouldReturnRowsAndTombstonesAfterSince() {
+        final Transaction transaction = Transaction.builder().id(5L).syncVersion(9L).build();
+        when(userRepository.findSyncVersion(1L)).thenReturn(10L);
+        when(transactionRepository.findAllByUserAndSyncVersionBetween(user, 8L, 10L)).thenReturn(List.of(transaction));
+        when(tombstoneRepository.findAllByUserAndSyncVersionBetween(user, 8L, 10L)).thenReturn(List.of(
+            SyncTombstone.builder().entityType(SyncEntityType.ASSET).entityId(3L).syncVersion(8L).build(),
+            SyncTombstone.builder().entityType(SyncEntityType.SNAPSHOT).entityId(4L).syncVersion(10L).build()));
+
+        final SyncChanges changes = service.changes(user, 7L);
+
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getVersion()).isEqualTo(10L);
+        assertThat(changes.getTransactions()).containsExactly(transaction);
+        assertThat(changes.getSnapshots()).isEmpty();
+        assertThat(changes.getDeleted().getAssets()).containsExactly(3L);
+        assertThat(changes.getDeleted().getSnapshots()).containsExactly(4L);
+        assertThat(changes.getDeleted().getTransactions()).isEmpty();
+    }
+
+    @Test
+    void changes_shouldSkipQueries_whenClientIsUpToDate() {
+        when(userRepository.findSyncVersion(1L)).thenReturn(10L);
+
+        final SyncChanges changes = service.changes(user, 10L);
+
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getSnapshots()).isEmpty();
+        assertThat(changes.getTransactions()).isEmpty();
+        assertThat(changes.getAssets()).isEmpty();
+        verifyNoInteractions(snapshotRepository, transactionRepository, assetRepository, tombstoneRepository);
+    }
+
+    @Test
+    void changes_shouldReturnFullCopy_whenClientIsAheadOfServer() {
+        final Asset asset = Asset.builder().id(2L).name("World ETF").build();
+        when(userRepository.findSyncVersion(1L)).thenReturn(3L);
+        when(assetRepository.findAllByUser(user)).thenReturn(List.of(asset));
+
+        final SyncChanges changes = service.changes(user, 50L);
+
+        assertThat(changes.isFull()).isTrue();
+        assertThat(changes.getAssets()).containsExactly(asset);
+    }
+
+    @Test
+    void changes_shouldRejectNegativeSince() {
+        assertThatThrownBy(() -> service.changes(user, -1L))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void recordDeletion_shouldStampTombstoneWithNextVersion() {
+        when(userRepository.findSyncVersion(1L)).thenReturn(21L);
+
+        service.recordDeletion(user, SyncEntityType.TRANSACTION, 8L);
+
+        final ArgumentCaptor<SyncTombstone> captor = ArgumentCaptor.forClass(SyncTombstone.class);
+        verify(userRepository).incrementSyncVersion(1L);
+        verify(tombstoneRepository).save(captor.capture());
+        assertThat(captor.getValue().getEntityType()).isEqualTo(SyncEntityType.TRANSACTION);
+        assertThat(captor.getValue().getEntityId()).isEqualTo(8L);
+        assertThat(captor.getValue().getSyncVersion()).isEqualTo(21L);
+        assertThat(captor.getValue().getUser()).isEqualTo(user);
+    }
+}
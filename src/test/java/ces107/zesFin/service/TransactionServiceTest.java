@@ -1,7 +1,10 @@
 package ces107.zesFin.service;
 
+import ces107.zesFin.dto.TransactionPage;
+import ces107.zesFin.exception.InvalidRequestException;
 import ces107.zesFin.exception.ResourceNotFoundException;
 import ces107.zesFin.model.RecurrenceType;
+import ces107.zesFin.model.SyncEntityType;
 import ces107.zesFin.model.Transaction;
 import ces107.zesFin.model.TransactionType;
 import ces107.zesFin.model.User;
@@ -9,9 +12,11 @@ import ces107.zesFin.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,6 +39,9 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository repository;
 
+    @Mock
+    private SyncService syncService;
+
     @InjectMocks
     private TransactionService service;
 
@@ -127,6 +135,58 @@ class TransactionServiceTest {
         verify(repository).findAllByUserOrderByDateDesc(testUser);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPage_shouldReturnCursorOfLastItem_whenMoreRowsRemain() {
+        // Arrange
+        final List<Transaction> rows = List.of(
+            transaction(3L, LocalDate.of(2026, 3, 1)),
+            transaction(2L, LocalDate.of(2026, 2, 1)),
+            transaction(1L, LocalDate.of(2026, 1, 1)));
+        when(repository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        // Act
+        final TransactionPage page = service.findPage(testUser, null, null, TransactionType.EXPENSE,
+            "Groceries", BigDecimal.TEN, null, null, 2);
+
+        // Assert
+        assertThat(page.getItems()).extracting(Transaction::getId).containsExactly(3L, 2L);
+        assertThat(PageCursor.decode(page.getNextCursor()))
+            .isEqualTo(new PageCursor(LocalDate.of(2026, 2, 1), 2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPage_shouldReturnNoCursor_onLastPage() {
+        // Arrange
+        when(repository.findBy(any(Specification.class), any()))
+            .thenReturn(List.of(transaction(1L, LocalDate.of(2026, 1, 1))));
+        final String cursor = new PageCursor(LocalDate.of(2026, 2, 1), 2L).encode();
+
+        // Act
+        final TransactionPage page = service.findPage(testUser, null, null, null, null, null, null, cursor, 2);
+
+        // Assert
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> service.findPage(testUser, null, null, null, null, null, null, "not-a-cursor", 10))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> service.findPage(testUser, null, null, null, null, null, null, null, 501))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.findPage(testUser, null, null, null, null,
+                BigDecimal.TEN, BigDecimal.ONE, null, null))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.findPage(testUser,
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1), null, null, null, null, null, null))
+            .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void findById_shouldReturnTransaction() {
         // Arrange
@@ -164,10 +224,16 @@ class TransactionServiceTest {
             .category("Salary")
             .build();
 
+        final BigDecimal originalAmount = testTransaction.getAmount();
         when(repository.findByIdAndUser(1L, testUser))
             .thenReturn(Optional.of(testTransaction));
         when(repository.save(any(Transaction.class)))
             .thenAnswer(invocation -> invocation.getArgument(0));
+        // The user's sync row must be locked before the transaction row is modified
+        when(syncService.nextVersion(1L)).thenAnswer(invocation -> {
+            assertThat(testTransaction.getAmount()).isEqualTo(originalAmount);
+            return 5L;
+        });
 
         // Act
         final Transaction result = service.update(1L, updatedTransaction, testUser);
@@ -175,6 +241,7 @@ class TransactionServiceTest {
         // Assert
         assertThat(result.getAmount()).isEqualTo(BigDecimal.valueOf(3000));
         assertThat(result.getDescription()).isEqualTo("Updated Salary");
+        assertThat(result.getSyncVersion()).isEqualTo(5L);
         verify(repository).save(testTransaction);
     }
 
@@ -205,9 +272,11 @@ class TransactionServiceTest {
         // Act
         service.delete(1L, testUser);
 
-        // Assert
+        // Assert: the tombstone takes the sync version before the row is deleted
         verify(repository).existsByIdAndUser(1L, testUser);
-        verify(repository).deleteById(1L);
+        final InOrder order = inOrder(syncService, repository);
+        order.verify(syncService).recordDeletion(testUser, SyncEntityType.TRANSACTION, 1L);
+        order.verify(repository).deleteById(1L);
     }
 
     @Test
@@ -258,4 +327,16 @@ class TransactionServiceTest {
         // Assert
         assertThat(result).isEqualTo(BigDecimal.ZERO);
     }
+
+    private Transaction transaction(final Long id, final LocalDate date) {
+        return Transaction.builder()
+            .id(id)
+            .user(testUser)
+            .amount(BigDecimal.valueOf(50))
+            .date(date)
+            .description("Weekly shop")
+            .type(TransactionType.EXPENSE)
+            .category("Groceries")
+            .build();
+    }
 }
@@ -0,0 +1,86 @@
+package ces107.zesFin.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for UserScopedCache.
+ *
+ * Tests cover:
+ * - Least recently used eviction per user, across users and by size
+ * - Results computed across an eviction not being stored
+ */
+class UserScopedCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldEvictTheLeastRecentlyUsedEntryOfAUser() {
+        final UserScopedCache<String, Integer> cache = new UserScopedCache<>(10, 2);
+
+        cache.get(1L, "a", () -> load(1));
+        cache.get(1L, "b", () -> load(2));
+        cache.get(1L, "a", () -> load(1));
+        cache.get(1L, "c", () -> load(3));
+
+        assertThat(cache.get(1L, "a", () -> load(1))).isEqualTo(1);
+        assertThat(loads).hasValue(3);
+        cache.get(1L, "b", () -> load(2));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void get_shouldEvictTheLeastRecentlyUsedUser_overTheUserLimit() {
+        final UserScopedCache<String, Integer> cache = new UserScopedCache<>(2, 10);
+
+        cache.get(1L, "a", () -> load(1));
+        cache.get(2L, "a", () -> load(2));
+        cache.get(1L, "a", () -> load(1));
+        cache.get(3L, "a", () -> load(3));
+
+        assertThat(cache.users()).isEqualTo(2);
+        cache.get(1L, "a", () -> load(1));
+        assertThat(loads).hasValue(3);
+        cache.get(2L, "a", () -> load(2));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void get_shouldEvictUsers_untilTheEstimatedSizeFitsTheBudget() {
+        final UserScopedCache<String, Integer> cache = new UserScopedCache<>(10, 10, 100, value -> value);
+
+        cache.get(1L, "a", () -> load(40));
+        cache.get(2L, "a", () -> load(40));
+        assertThat(cache.bytes()).isEqualTo(80);
+
+        cache.get(3L, "a", () -> load(40));
+
+        assertThat(cache.users()).isEqualTo(2);
+        assertThat(cache.bytes()).isEqualTo(80);
+        cache.get(1L, "a", () -> load(40));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void get_shouldNotStoreAResultComputedAcrossAnEviction() {
+        final UserScopedCache<String, Integer> cache = new UserScopedCache<>(10, 10, 100, value -> value);
+
+        cache.get(1L, "a", () -> {
+            cache.evict(1L);
+            return load(5);
+        });
+
+        assertThat(cache.bytes()).isZero();
+        cache.get(1L, "a", () -> load(5));
+        assertThat(loads).hasValue(2);
+        assertThat(cache.bytes()).isEqualTo(5);
+    }
+
+    private int load(final int value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
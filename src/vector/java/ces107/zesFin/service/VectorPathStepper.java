@@ -0,0 +1,43 @@
+package ces107.zesFin.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of {@link PathStepper} on the JDK Vector API, one path
+ * per lane at the platform's preferred width with a scalar tail.
+ *
+ * Uses separate multiply and add rather than a fused multiply-add so every
+ * lane rounds exactly like {@link ScalarPathStepper}. Only instantiated by
+ * {@link PathStepper#detect()} when {@code jdk.incubator.vector} is resolved.
+ */
+final class VectorPathStepper implements PathStepper {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void step(final double[] savings, final double[] shocks, final int length,
+                     final double base, final double scale, final double contribution) {
+        final int upper = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            final DoubleVector growth = DoubleVector.fromArray(SPECIES, shocks, i)
+                    .mul(scale)
+                    .add(base)
+                    .max(0);
+            DoubleVector.fromArray(SPECIES, savings, i)
+                    .mul(growth)
+                    .add(contribution)
+                    .intoArray(savings, i);
+        }
+        for (; i < length; i++) {
+            final double growth = Math.max(0, base + scale * shocks[i]);
+            savings[i] = savings[i] * growth + contribution;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+}